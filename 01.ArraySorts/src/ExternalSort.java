@@ -0,0 +1,368 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Внешняя сортировка слиянием файла, который не помещается в память.
+ * Файл состоит из записей фиксированной длины. Сортировка выполняется в два этапа:
+ * <ol>
+ * <li>файл читается участками (сериями) заданного размера, каждая серия
+ * сортируется в памяти параллельной сортировкой слиянием
+ * ({@link Sort#parallelMergeSort(int[], Sort.IntComparator)}) и записывается
+ * во временный файл. Сортируются не объекты-записи, а массив смещений записей
+ * в серии, так что на запись приходится 8 байтов сверх самих данных;</li>
+ * <li>серии сливаются по fanIn штук за раз. Серии читаются через отображаемые
+ * в память окна (MappedByteBuffer), очередная запись выбирается с помощью
+ * кучи. Если серий больше, чем fanIn, слияние выполняется в несколько проходов.</li>
+ * </ol>
+ * Отображение освобождается только сборщиком мусора, а в Windows отображенный
+ * файл удалить нельзя. Поэтому слитые серии удаляются после слияния, когда
+ * окна уже недостижимы, а если файл удалить не удалось - вместе с каталогом
+ * серий в конце сортировки (после сборки мусора).
+ * Записи сравниваются компаратором над ByteBuffer: записи передаются ему
+ * в виде буферов, у которых между position и limit находятся байты одной записи.
+ */
+public class ExternalSort {
+	// Размер окна отображения серии в память при слиянии (но не меньше одной записи).
+	private static final int WINDOW_SIZE = 1 << 24;
+	// Размер буфера записи.
+	private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+	private final int recordSize;
+	private final long runSize;
+	private final int fanIn;
+	private final Comparator<? super ByteBuffer> comparator;
+
+	/**
+	 * Лексикографическое сравнение записей по байтам без знака (0x00 < 0x7F < 0x80 < 0xFF),
+	 * как сравниваются двоичные ключи. ByteBuffer.compareTo сравнивает байты со знаком,
+	 * и байты 0x80..0xFF в нем оказываются меньше 0x00. Записи одинаковой длины
+	 * в порядке big-endian сравниваются по 8 байтов за раз.
+	 */
+	public static final Comparator<ByteBuffer> UNSIGNED_ORDER = (a, b) -> {
+		int pa = a.position(), pb = b.position();
+		int n = Math.min(a.remaining(), b.remaining());
+		int i = 0;
+		if (a.order() == ByteOrder.BIG_ENDIAN && b.order() == ByteOrder.BIG_ENDIAN) {
+			for (; i + Long.BYTES <= n; i += Long.BYTES) {
+				int cmp = Long.compareUnsigned(a.getLong(pa + i), b.getLong(pb + i));
+				if (cmp != 0) return cmp;
+			}
+		}
+		for (; i < n; i++) {
+			int cmp = (a.get(pa + i) & 0xFF) - (b.get(pb + i) & 0xFF);
+			if (cmp != 0) return cmp;
+		}
+		return a.remaining() - b.remaining();
+	};
+
+	/**
+	 * Создает сортировщик с побайтовым сравнением записей без знака ({@link #UNSIGNED_ORDER}).
+	 * @param recordSize Длина записи в байтах
+	 * @param runSize Размер серии в байтах, сортируемой в памяти
+	 * @param fanIn Число серий, сливаемых за один раз
+	 */
+	public ExternalSort(int recordSize, long runSize, int fanIn) {
+		this(recordSize, runSize, fanIn, UNSIGNED_ORDER);
+	}
+
+	/**
+	 * Создает сортировщик.
+	 * @param recordSize Длина записи в байтах
+	 * @param runSize Размер серии в байтах, сортируемой в памяти
+	 * @param fanIn Число серий, сливаемых за один раз (не меньше 2)
+	 * @param comparator Способ сравнения записей
+	 */
+	public ExternalSort(int recordSize, long runSize, int fanIn,
+			Comparator<? super ByteBuffer> comparator) {
+		if (recordSize <= 0) {
+			throw new IllegalArgumentException("recordSize must be positive: " + recordSize);
+		}
+		if (runSize < recordSize) {
+			throw new IllegalArgumentException("runSize is less than one record: " + runSize);
+		}
+		if (fanIn < 2) {
+			throw new IllegalArgumentException("fanIn must be at least 2: " + fanIn);
+		}
+		this.recordSize = recordSize;
+		// Серия должна помещаться в один массив байтов.
+		this.runSize = Math.min(runSize, Integer.MAX_VALUE - 8) / recordSize * recordSize;
+		this.fanIn = fanIn;
+		this.comparator = comparator;
+	}
+
+	/**
+	 * Итоги сортировки файла.
+	 */
+	public static class Report {
+		/** Число записей в файле */
+		public final long records;
+		/** Размер файла в байтах */
+		public final long bytes;
+		/** Число серий, отсортированных в памяти */
+		public final int runs;
+		/** Число проходов слияния */
+		public final int mergePasses;
+		/** Время сортировки в наносекундах */
+		public final long nanos;
+
+		Report(long records, long bytes, int runs, int mergePasses, long nanos) {
+			this.records = records;
+			this.bytes = bytes;
+			this.runs = runs;
+			this.mergePasses = mergePasses;
+			this.nanos = nanos;
+		}
+
+		/**
+		 * Пропускная способность сортировки: мегабайты исходного файла в секунду.
+		 */
+		public double megabytesPerSecond() {
+			return nanos == 0 ? 0 : bytes / (1024.0 * 1024.0) / (nanos / 1e9);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%d records (%d bytes), %d runs, %d merge passes, %.1f ms, %.1f MB/s",
+					records, bytes, runs, mergePasses, nanos / 1e6, megabytesPerSecond());
+		}
+	}
+
+	/**
+	 * Сортирует файл input и записывает результат в файл output.
+	 * Временные файлы серий создаются в каталоге файла output.
+	 * @param input Исходный файл
+	 * @param output Файл результата
+	 * @return Итоги сортировки
+	 * @throws IOException при ошибке чтения или записи
+	 */
+	public Report sort(Path input, Path output) throws IOException {
+		long start = System.nanoTime();
+		long size = Files.size(input);
+		if (size % recordSize != 0) {
+			throw new IllegalArgumentException(
+					"File size " + size + " is not a multiple of record size " + recordSize);
+		}
+		Path parent = output.toAbsolutePath().getParent();
+		Path tempDir = Files.createTempDirectory(parent, "runs");
+		try {
+			List<Path> runs = createRuns(input, size, tempDir);
+			int runCount = runs.size();
+			int passes = 0;
+			// Промежуточные проходы: сливаем группы по fanIn серий, пока их слишком много.
+			while (runs.size() > fanIn) {
+				List<Path> merged = new ArrayList<>();
+				for (int i = 0; i < runs.size(); i += fanIn) {
+					List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+					if (group.size() == 1) {
+						merged.add(group.get(0));
+						continue;
+					}
+					Path target = Files.createTempFile(tempDir, "run", ".bin");
+					merge(group, target);
+					// Окна слитых серий уже недостижимы; не удаленные сейчас файлы
+					// будут удалены в конце сортировки.
+					for (Path run : group) tryDelete(run);
+					merged.add(target);
+				}
+				runs = merged;
+				passes++;
+			}
+			if (runs.size() == 1) {
+				Files.move(runs.get(0), output, StandardCopyOption.REPLACE_EXISTING);
+			} else {
+				merge(runs, output);
+				passes++;
+			}
+			return new Report(size / recordSize, size, runCount, passes, System.nanoTime() - start);
+		} finally {
+			deleteRecursively(tempDir);
+		}
+	}
+
+	/**
+	 * Первый этап: разбиение файла на отсортированные серии.
+	 * Для всех серий используется один и тот же массив байтов.
+	 */
+	private List<Path> createRuns(Path input, long size, Path tempDir) throws IOException {
+		List<Path> runs = new ArrayList<>();
+		if (size == 0) {
+			Path empty = Files.createTempFile(tempDir, "run", ".bin");
+			runs.add(empty);
+			return runs;
+		}
+		byte[] run = new byte[(int) Math.min(runSize, size)];
+		// Записи передаются компаратору двумя буферами-окнами в массиве серии;
+		// сортировка параллельная, поэтому у каждого потока свои окна.
+		ThreadLocal<ByteBuffer[]> windows = ThreadLocal.withInitial(
+				() -> new ByteBuffer[] { ByteBuffer.wrap(run), ByteBuffer.wrap(run) });
+		try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+			for (long offset = 0; offset < size; ) {
+				int length = (int) Math.min(run.length, size - offset);
+				ByteBuffer buffer = ByteBuffer.wrap(run, 0, length);
+				while (buffer.hasRemaining()) {
+					if (in.read(buffer, offset + buffer.position()) < 0) {
+						throw new IOException("Unexpected end of file " + input);
+					}
+				}
+				offset += length;
+
+				// Сортируем смещения записей в массиве run.
+				int[] records = new int[length / recordSize];
+				for (int i = 0; i < records.length; ++i) {
+					records[i] = i * recordSize;
+				}
+				Sort.parallelMergeSort(records, (record1, record2) -> {
+					ByteBuffer[] pair = windows.get();
+					pair[0].limit(record1 + recordSize).position(record1);
+					pair[1].limit(record2 + recordSize).position(record2);
+					return comparator.compare(pair[0], pair[1]);
+				});
+
+				Path target = Files.createTempFile(tempDir, "run", ".bin");
+				try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE)) {
+					ByteBuffer writeBuffer = newWriteBuffer(length);
+					for (int record : records) {
+						if (writeBuffer.remaining() < recordSize) flush(out, writeBuffer);
+						writeBuffer.put(run, record, recordSize);
+					}
+					flush(out, writeBuffer);
+				}
+				runs.add(target);
+			}
+		}
+		return runs;
+	}
+
+	/**
+	 * Курсор чтения серии через отображаемое в память окно.
+	 * Окно вмещает целое число записей (не меньше одной).
+	 */
+	private class Cursor {
+		private final FileChannel channel;
+		private final long end;
+		private long windowStart;
+		private MappedByteBuffer window;
+		// Текущая запись: участок окна между position и limit.
+		private ByteBuffer record;
+		private int offset;
+
+		Cursor(FileChannel channel) throws IOException {
+			this.channel = channel;
+			this.end = channel.size();
+			this.windowStart = 0;
+			this.offset = 0;
+			mapWindow();
+		}
+
+		private void mapWindow() throws IOException {
+			long length = Math.min((long) Math.max(1, WINDOW_SIZE / recordSize) * recordSize, end - windowStart);
+			window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+			record = window.duplicate();
+		}
+
+		boolean hasRecord() {
+			return windowStart + offset < end;
+		}
+
+		ByteBuffer record() {
+			record.limit(offset + recordSize).position(offset);
+			return record;
+		}
+
+		void advance() throws IOException {
+			offset += recordSize;
+			if (offset == window.capacity() && windowStart + offset < end) {
+				windowStart += offset;
+				offset = 0;
+				mapWindow();
+			}
+		}
+	}
+
+	/**
+	 * Слияние нескольких серий в файл target с выбором очередной записи по куче.
+	 */
+	private void merge(List<Path> runs, Path target) throws IOException {
+		List<FileChannel> channels = new ArrayList<>();
+		try {
+			PriorityQueue<Cursor> heap = new PriorityQueue<>(runs.size(),
+					(a, b) -> comparator.compare(a.record(), b.record()));
+			for (Path run : runs) {
+				FileChannel channel = FileChannel.open(run, StandardOpenOption.READ);
+				channels.add(channel);
+				if (channel.size() > 0) {
+					heap.add(new Cursor(channel));
+				}
+			}
+			try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+				ByteBuffer writeBuffer = newWriteBuffer(WRITE_BUFFER_SIZE);
+				while (!heap.isEmpty()) {
+					Cursor cursor = heap.poll();
+					if (writeBuffer.remaining() < recordSize) flush(out, writeBuffer);
+					writeBuffer.put(cursor.record());
+					cursor.advance();
+					if (cursor.hasRecord()) heap.add(cursor);
+				}
+				flush(out, writeBuffer);
+			}
+		} finally {
+			for (FileChannel channel : channels) channel.close();
+		}
+	}
+
+	/**
+	 * Буфер записи, вмещающий целое число записей, но не больше limit байтов
+	 * (и не меньше одной записи).
+	 */
+	private ByteBuffer newWriteBuffer(int limit) {
+		return ByteBuffer.allocateDirect(Math.max(1, Math.min(WRITE_BUFFER_SIZE, limit) / recordSize) * recordSize);
+	}
+
+	private static void flush(FileChannel out, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) out.write(buffer);
+		buffer.clear();
+	}
+
+	private static boolean tryDelete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Удаляет каталог серий. Если файл удалить не удалось (он еще отображен в память),
+	 * сборщик мусора освобождает недостижимые отображения, и удаление повторяется.
+	 */
+	private static void deleteRecursively(Path dir) throws IOException {
+		if (!Files.exists(dir)) return;
+		boolean deleted = true;
+		try (Stream<Path> files = Files.list(dir)) {
+			for (Path file : (Iterable<Path>) files::iterator) deleted &= tryDelete(file);
+		}
+		if (!deleted) {
+			System.gc();
+			System.runFinalization();
+			try (Stream<Path> files = Files.list(dir)) {
+				for (Path file : (Iterable<Path>) files::iterator) Files.delete(file);
+			}
+		}
+		Files.delete(dir);
+	}
+}
@@ -0,0 +1,313 @@
+/**
+ * Поразрядная сортировка (LSD radix sort) массивов примитивных ключей
+ * int[], long[] и double[]. Ключи сортируются по байтам, начиная с младшего,
+ * без упаковки в объекты и без сравнений. Для всех проходов используется
+ * один промежуточный массив; проходы, в которых все ключи имеют одинаковый
+ * байт, пропускаются.
+ */
+public abstract class RadixSort {
+	// Ширина разряда в битах и число различных значений разряда.
+	private static final int BITS = 8;
+	private static final int RADIX = 1 << BITS;
+	private static final int MASK = RADIX - 1;
+
+	/**
+	 * Сортировка массива целых чисел.
+	 * @param array Сортируемый массив
+	 */
+	public static void sort(int[] array) {
+		sort(array, (Object[]) null);
+	}
+
+	/**
+	 * Сортировка массива целых чисел вместе с параллельным массивом данных:
+	 * элемент payload[i] перемещается вместе с ключом array[i].
+	 * Сортировка устойчива.
+	 * @param array Сортируемый массив ключей
+	 * @param payload Массив данных той же длины (или null)
+	 */
+	public static <T> void sort(int[] array, T[] payload) {
+		int n = array.length;
+		checkPayload(n, payload);
+		if (n < 2) return;
+		int digits = Integer.SIZE / BITS;
+		int[][] count = new int[digits][RADIX];
+		for (int x : array) {
+			int key = x ^ Integer.MIN_VALUE;
+			for (int d = 0; d < digits; ++d) {
+				count[d][(key >>> (d * BITS)) & MASK]++;
+			}
+		}
+		int[] src = array, dst = new int[n];
+		Object[] srcP = payload, dstP = payload == null ? null : new Object[n];
+		for (int d = 0; d < digits; ++d) {
+			int shift = d * BITS;
+			if (!toOffsets(count[d], ((src[0] ^ Integer.MIN_VALUE) >>> shift) & MASK, n)) continue;
+			int[] offset = count[d];
+			for (int i = 0; i < n; ++i) {
+				int pos = offset[((src[i] ^ Integer.MIN_VALUE) >>> shift) & MASK]++;
+				dst[pos] = src[i];
+				if (srcP != null) dstP[pos] = srcP[i];
+			}
+			int[] t = src; src = dst; dst = t;
+			Object[] tP = srcP; srcP = dstP; dstP = tP;
+		}
+		if (src != array) {
+			System.arraycopy(src, 0, array, 0, n);
+			if (payload != null) System.arraycopy(srcP, 0, payload, 0, n);
+		}
+	}
+
+	/**
+	 * Сортировка подсчетом массива целых чисел из небольшого диапазона.
+	 * Если разность между наибольшим и наименьшим элементом больше длины
+	 * массива, выполняется обычная поразрядная сортировка.
+	 * @param array Сортируемый массив
+	 */
+	public static void countingSort(int[] array) {
+		int n = array.length;
+		if (n < 2) return;
+		int min = array[0], max = array[0];
+		for (int x : array) {
+			if (x < min) min = x; else if (x > max) max = x;
+		}
+		if ((long) max - min >= n) {
+			sort(array);
+			return;
+		}
+		int[] count = new int[max - min + 1];
+		for (int x : array) count[x - min]++;
+		int i = 0;
+		for (int v = 0; v < count.length; ++v) {
+			for (int c = count[v]; c > 0; --c) array[i++] = v + min;
+		}
+	}
+
+	/**
+	 * Сортировка массива длинных целых чисел.
+	 * @param array Сортируемый массив
+	 */
+	public static void sort(long[] array) {
+		sort(array, (Object[]) null);
+	}
+
+	/**
+	 * Сортировка массива длинных целых чисел вместе с параллельным массивом данных.
+	 * Сортировка устойчива.
+	 * @param array Сортируемый массив ключей
+	 * @param payload Массив данных той же длины (или null)
+	 */
+	public static <T> void sort(long[] array, T[] payload) {
+		int n = array.length;
+		checkPayload(n, payload);
+		if (n < 2) return;
+		int digits = Long.SIZE / BITS;
+		int[][] count = new int[digits][RADIX];
+		for (long x : array) {
+			long key = x ^ Long.MIN_VALUE;
+			for (int d = 0; d < digits; ++d) {
+				count[d][(int) (key >>> (d * BITS)) & MASK]++;
+			}
+		}
+		long[] src = array, dst = new long[n];
+		Object[] srcP = payload, dstP = payload == null ? null : new Object[n];
+		for (int d = 0; d < digits; ++d) {
+			int shift = d * BITS;
+			if (!toOffsets(count[d], (int) ((src[0] ^ Long.MIN_VALUE) >>> shift) & MASK, n)) continue;
+			int[] offset = count[d];
+			for (int i = 0; i < n; ++i) {
+				int pos = offset[(int) ((src[i] ^ Long.MIN_VALUE) >>> shift) & MASK]++;
+				dst[pos] = src[i];
+				if (srcP != null) dstP[pos] = srcP[i];
+			}
+			long[] t = src; src = dst; dst = t;
+			Object[] tP = srcP; srcP = dstP; dstP = tP;
+		}
+		if (src != array) {
+			System.arraycopy(src, 0, array, 0, n);
+			if (payload != null) System.arraycopy(srcP, 0, payload, 0, n);
+		}
+	}
+
+	/**
+	 * Сортировка массива вещественных чисел. Порядок совпадает с порядком
+	 * {@link java.util.Arrays#sort(double[])}: -0.0 предшествует 0.0,
+	 * значения NaN помещаются в конец массива.
+	 * @param array Сортируемый массив
+	 */
+	public static void sort(double[] array) {
+		sort(array, (Object[]) null);
+	}
+
+	/**
+	 * Сортировка массива вещественных чисел вместе с параллельным массивом данных.
+	 * Сортировка устойчива.
+	 * @param array Сортируемый массив ключей
+	 * @param payload Массив данных той же длины (или null)
+	 */
+	public static <T> void sort(double[] array, T[] payload) {
+		int n = array.length;
+		checkPayload(n, payload);
+		if (n < 2) return;
+		int digits = Long.SIZE / BITS;
+		int[][] count = new int[digits][RADIX];
+		for (double x : array) {
+			long key = sortableBits(x);
+			for (int d = 0; d < digits; ++d) {
+				count[d][(int) (key >>> (d * BITS)) & MASK]++;
+			}
+		}
+		double[] src = array, dst = new double[n];
+		Object[] srcP = payload, dstP = payload == null ? null : new Object[n];
+		for (int d = 0; d < digits; ++d) {
+			int shift = d * BITS;
+			if (!toOffsets(count[d], (int) (sortableBits(src[0]) >>> shift) & MASK, n)) continue;
+			int[] offset = count[d];
+			for (int i = 0; i < n; ++i) {
+				int pos = offset[(int) (sortableBits(src[i]) >>> shift) & MASK]++;
+				dst[pos] = src[i];
+				if (srcP != null) dstP[pos] = srcP[i];
+			}
+			double[] t = src; src = dst; dst = t;
+			Object[] tP = srcP; srcP = dstP; dstP = tP;
+		}
+		if (src != array) {
+			System.arraycopy(src, 0, array, 0, n);
+			if (payload != null) System.arraycopy(srcP, 0, payload, 0, n);
+		}
+	}
+
+	/**
+	 * Перестановка индексов, упорядочивающая массив ключей: keys[order[0]],
+	 * keys[order[1]], ... образуют неубывающую последовательность. Сам массив
+	 * ключей не изменяется; перестановку можно применить к любому числу
+	 * параллельных массивов данных, в том числе примитивных.
+	 * @param keys Массив ключей
+	 * @return Устойчивая упорядочивающая перестановка индексов
+	 */
+	public static int[] order(int[] keys) {
+		int n = keys.length;
+		int[] src = identity(n);
+		if (n < 2) return src;
+		int digits = Integer.SIZE / BITS;
+		int[][] count = new int[digits][RADIX];
+		for (int x : keys) {
+			int key = x ^ Integer.MIN_VALUE;
+			for (int d = 0; d < digits; ++d) {
+				count[d][(key >>> (d * BITS)) & MASK]++;
+			}
+		}
+		int[] dst = new int[n];
+		for (int d = 0; d < digits; ++d) {
+			int shift = d * BITS;
+			if (!toOffsets(count[d], ((keys[0] ^ Integer.MIN_VALUE) >>> shift) & MASK, n)) continue;
+			int[] offset = count[d];
+			for (int i = 0; i < n; ++i) {
+				dst[offset[((keys[src[i]] ^ Integer.MIN_VALUE) >>> shift) & MASK]++] = src[i];
+			}
+			int[] t = src; src = dst; dst = t;
+		}
+		return src;
+	}
+
+	/**
+	 * Перестановка индексов, упорядочивающая массив длинных целых ключей.
+	 * @param keys Массив ключей
+	 * @return Устойчивая упорядочивающая перестановка индексов
+	 */
+	public static int[] order(long[] keys) {
+		int n = keys.length;
+		int[] src = identity(n);
+		if (n < 2) return src;
+		int digits = Long.SIZE / BITS;
+		int[][] count = new int[digits][RADIX];
+		for (long x : keys) {
+			long key = x ^ Long.MIN_VALUE;
+			for (int d = 0; d < digits; ++d) {
+				count[d][(int) (key >>> (d * BITS)) & MASK]++;
+			}
+		}
+		int[] dst = new int[n];
+		for (int d = 0; d < digits; ++d) {
+			int shift = d * BITS;
+			if (!toOffsets(count[d], (int) ((keys[0] ^ Long.MIN_VALUE) >>> shift) & MASK, n)) continue;
+			int[] offset = count[d];
+			for (int i = 0; i < n; ++i) {
+				dst[offset[(int) ((keys[src[i]] ^ Long.MIN_VALUE) >>> shift) & MASK]++] = src[i];
+			}
+			int[] t = src; src = dst; dst = t;
+		}
+		return src;
+	}
+
+	/**
+	 * Перестановка индексов, упорядочивающая массив вещественных ключей.
+	 * @param keys Массив ключей
+	 * @return Устойчивая упорядочивающая перестановка индексов
+	 */
+	public static int[] order(double[] keys) {
+		int n = keys.length;
+		int[] src = identity(n);
+		if (n < 2) return src;
+		int digits = Long.SIZE / BITS;
+		int[][] count = new int[digits][RADIX];
+		for (double x : keys) {
+			long key = sortableBits(x);
+			for (int d = 0; d < digits; ++d) {
+				count[d][(int) (key >>> (d * BITS)) & MASK]++;
+			}
+		}
+		int[] dst = new int[n];
+		for (int d = 0; d < digits; ++d) {
+			int shift = d * BITS;
+			if (!toOffsets(count[d], (int) (sortableBits(keys[0]) >>> shift) & MASK, n)) continue;
+			int[] offset = count[d];
+			for (int i = 0; i < n; ++i) {
+				dst[offset[(int) (sortableBits(keys[src[i]]) >>> shift) & MASK]++] = src[i];
+			}
+			int[] t = src; src = dst; dst = t;
+		}
+		return src;
+	}
+
+	/**
+	 * Преобразование вещественного числа в длинное целое, беззнаковый порядок
+	 * которого совпадает с порядком вещественных чисел. У неотрицательных чисел
+	 * инвертируется знаковый бит, у отрицательных - все биты.
+	 */
+	private static long sortableBits(double x) {
+		long bits = Double.doubleToLongBits(x);
+		return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+	}
+
+	/**
+	 * Превращает счетчики значений разряда в начальные позиции групп.
+	 * @param count Счетчики значений разряда
+	 * @param first Значение разряда у какого-нибудь ключа
+	 * @param n Общее число ключей
+	 * @return false, если у всех ключей разряд одинаков и проход не нужен
+	 */
+	private static boolean toOffsets(int[] count, int first, int n) {
+		if (count[first] == n) return false;
+		int sum = 0;
+		for (int i = 0; i < RADIX; ++i) {
+			int c = count[i];
+			count[i] = sum;
+			sum += c;
+		}
+		return true;
+	}
+
+	private static int[] identity(int n) {
+		int[] index = new int[n];
+		for (int i = 0; i < n; ++i) index[i] = i;
+		return index;
+	}
+
+	private static void checkPayload(int n, Object[] payload) {
+		if (payload != null && payload.length != n) {
+			throw new IllegalArgumentException(
+					"payload length " + payload.length + " differs from keys length " + n);
+		}
+	}
+}
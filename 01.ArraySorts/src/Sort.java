@@ -1,10 +1,18 @@
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Calendar;
-import java.util.Random;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * Эффективность работы сортировок. Сравнение производительности
- * Двух методов: сортировки простыми вставками и сортировки слиянием.
+ * Сортировки массива: простыми вставками и слиянием (последовательная
+ * и параллельная). Сравнение производительности сортировок выполняется
+ * тестами JMH в модуле Benchmarks (bench.sorts.SortBenchmark).
  */
 public class Sort {
 	/**
@@ -71,52 +79,956 @@ public class Sort {
 	public static <T extends Comparable<T>> void mergeSort(T[] array) {
 		mergeSort(array, 0, array.length);
 	}
-	
-	// Генератор случайных чисел
-	private static Random rnd = new Random();
-	
+
+	/**
+	 * Длина участка, начиная с которой параллельная сортировка слиянием
+	 * переходит к сортировке простыми вставками (по умолчанию).
+	 */
+	public static final int PARALLEL_INSERT_CUTOFF = 32;
+
+	/**
+	 * Длина участка, короче которого параллельная сортировка
+	 * не порождает новых задач и работает в текущем потоке.
+	 */
+	private static final int PARALLEL_SEQUENTIAL_THRESHOLD = 1 << 13;
+
+	/**
+	 * Сортировка простыми вставками участка массива array[p:r]
+	 * с заданным способом сравнения элементов.
+	 * @param array Исходный массив
+	 * @param p Индекс начала сортируемого участка
+	 * @param r Индекс конца сортируемого участка
+	 * @param c Компаратор, задающий порядок элементов
+	 */
+	private static <T> void insertSort(T[] array, int p, int r, Comparator<? super T> c) {
+		for (int j = p + 1; j < r; ++j) {
+			T key = array[j];
+			int i = j-1;
+			while (i >= p && c.compare(array[i], key) > 0) {
+				array[i+1] = array[i];
+				--i;
+			}
+			array[i+1] = key;
+		}
+	}
+
 	/**
-	 * Типы сортировок
+	 * Параллельная сортировка массива методом слияния с помощью ForkJoinPool.
+	 * @param array Сортируемый массив
+	 * @param c Компаратор, задающий порядок элементов
 	 */
-	private static enum SortType {
-		INSERT_SORT,
-		MERGE_SORT
+	public static <T> void parallelMergeSort(T[] array, Comparator<? super T> c) {
+		parallelMergeSort(array, c, PARALLEL_INSERT_CUTOFF);
 	}
 
 	/**
-	 * Функция тестирования времени работы сортировок.
-	 * @param testType Какую из двух сортировок выбрать
-	 * @param length
-	 * @return
+	 * Параллельная сортировка массива методом слияния с помощью ForkJoinPool.
+	 * Промежуточный массив создается один раз; на каждом уровне рекурсии
+	 * исходный и промежуточный массивы меняются ролями, так что результат
+	 * слияния никогда не копируется обратно. Участки длиной не больше
+	 * cutoff сортируются простыми вставками.
+	 * @param array Сортируемый массив
+	 * @param c Компаратор, задающий порядок элементов
+	 * @param cutoff Длина участка, сортируемого простыми вставками
 	 */
-	public static long testSort(SortType testType, int length) {
-		Integer[] array = new Integer[length];
-		for (int i = 0; i < length; ++i) {
-			array[i] = rnd.nextInt(10 * length);
+	public static <T> void parallelMergeSort(T[] array, Comparator<? super T> c, int cutoff) {
+		parallelMergeSort(array, c, cutoff, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Параллельная сортировка массива методом слияния в заданном пуле потоков.
+	 * @param array Сортируемый массив
+	 * @param c Компаратор, задающий порядок элементов
+	 * @param cutoff Длина участка, сортируемого простыми вставками
+	 * @param pool Пул потоков, выполняющий сортировку
+	 */
+	public static <T> void parallelMergeSort(T[] array, Comparator<? super T> c, int cutoff,
+			ForkJoinPool pool) {
+		if (cutoff < 1) {
+			throw new IllegalArgumentException("cutoff must be positive: " + cutoff);
 		}
-		long startTime = Calendar.getInstance().getTimeInMillis();
-		if (testType == SortType.INSERT_SORT) insertSort(array); else mergeSort(array);
-		long finishTime = Calendar.getInstance().getTimeInMillis();
-		return finishTime - startTime;
+		if (array.length < 2) return;
+		// Оба массива в начале содержат одни и те же элементы.
+		T[] buffer = array.clone();
+		pool.invoke(new MergeSortTask<>(buffer, array, 0, array.length, c, cutoff));
 	}
-	
+
 	/**
-	 * Тестирует время работы двух методов сортировки с различным числом
-	 * элементов в сортируемом массиве. 
-	 * @param args
-	 */
-	public static void main(String[] args) {
-		// Числа можно подобрать по своему вкусу.
-		int count = 100;
-		System.out.format("Повторяем сортировки %d раз%n", count);
-		for (int test : new int[] { 50, 300, 10000 }) {
-			long millisMerge = 0;
-			long millisInsert = 0;
-			for (int i = 0; i < count; i++) millisMerge += testSort(SortType.MERGE_SORT, test);
-			for (int i = 0; i < count; i++) millisInsert += testSort(SortType.INSERT_SORT, test);
-			System.out.format("Сортируем %d элементов%n  Вставками: %d ms, слиянием: %d ms%n",
-					test, millisInsert, millisMerge);
+	 * Задача сортировки участка [p:r]. Исходные элементы участка находятся
+	 * и в src, и в dst; отсортированный результат помещается в dst.
+	 */
+	private static class MergeSortTask<T> extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final T[] src, dst;
+		private final int p, r;
+		private final Comparator<? super T> c;
+		private final int cutoff;
+
+		MergeSortTask(T[] src, T[] dst, int p, int r, Comparator<? super T> c, int cutoff) {
+			this.src = src;
+			this.dst = dst;
+			this.p = p;
+			this.r = r;
+			this.c = c;
+			this.cutoff = cutoff;
+		}
+
+		@Override
+		protected void compute() {
+			if (r - p <= cutoff) {
+				insertSort(dst, p, r, c);
+				return;
+			}
+			int q = (p + r) >>> 1;
+			// Половины сортируются в src, чтобы затем слить их в dst.
+			MergeSortTask<T> left = new MergeSortTask<>(dst, src, p, q, c, cutoff);
+			MergeSortTask<T> right = new MergeSortTask<>(dst, src, q, r, c, cutoff);
+			if (r - p <= PARALLEL_SEQUENTIAL_THRESHOLD) {
+				left.compute();
+				right.compute();
+				merge(src, p, q, q, r, dst, p, c);
+			} else {
+				invokeAll(left, right);
+				new MergeTask<>(src, p, q, q, r, dst, p, c).compute();
+			}
 		}
 	}
 
+	/**
+	 * Задача слияния участков src[p1:r1] и src[p2:r2] в dst, начиная с индекса p3.
+	 * Большие участки делятся пополам: середина большего участка
+	 * ищется двоичным поиском в меньшем, и обе половины сливаются параллельно.
+	 * Благодаря этому верхние уровни слияния не становятся последовательными.
+	 */
+	private static class MergeTask<T> extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final T[] src, dst;
+		private final int p1, r1, p2, r2, p3;
+		private final Comparator<? super T> c;
+
+		MergeTask(T[] src, int p1, int r1, int p2, int r2, T[] dst, int p3, Comparator<? super T> c) {
+			this.src = src;
+			this.p1 = p1;
+			this.r1 = r1;
+			this.p2 = p2;
+			this.r2 = r2;
+			this.dst = dst;
+			this.p3 = p3;
+			this.c = c;
+		}
+
+		@Override
+		protected void compute() {
+			int n1 = r1 - p1, n2 = r2 - p2;
+			if (n1 + n2 <= PARALLEL_SEQUENTIAL_THRESHOLD) {
+				merge(src, p1, r1, p2, r2, dst, p3, c);
+				return;
+			}
+			if (n1 >= n2) {
+				int q1 = (p1 + r1) >>> 1;
+				// Элементы второго участка, строго меньшие src[q1], идут левее него.
+				int q2 = lowerBound(src, p2, r2, src[q1], c);
+				int q3 = p3 + (q1 - p1) + (q2 - p2);
+				dst[q3] = src[q1];
+				invokeAll(new MergeTask<>(src, p1, q1, p2, q2, dst, p3, c),
+						new MergeTask<>(src, q1 + 1, r1, q2, r2, dst, q3 + 1, c));
+			} else {
+				int q2 = (p2 + r2) >>> 1;
+				// Равные src[q2] элементы первого участка остаются левее (устойчивость).
+				int q1 = upperBound(src, p1, r1, src[q2], c);
+				int q3 = p3 + (q1 - p1) + (q2 - p2);
+				dst[q3] = src[q2];
+				invokeAll(new MergeTask<>(src, p1, q1, p2, q2, dst, p3, c),
+						new MergeTask<>(src, q1, r1, q2 + 1, r2, dst, q3 + 1, c));
+			}
+		}
+	}
+
+	/**
+	 * Последовательное слияние участков src[p1:r1] и src[p2:r2] в dst,
+	 * начиная с индекса p3. При равенстве элементов первым идет элемент
+	 * первого участка, поэтому сортировка устойчива.
+	 */
+	private static <T> void merge(T[] src, int p1, int r1, int p2, int r2,
+			T[] dst, int p3, Comparator<? super T> c) {
+		while (p1 < r1 && p2 < r2) {
+			dst[p3++] = c.compare(src[p2], src[p1]) < 0 ? src[p2++] : src[p1++];
+		}
+		while (p1 < r1) dst[p3++] = src[p1++];
+		while (p2 < r2) dst[p3++] = src[p2++];
+	}
+
+	/**
+	 * Индекс первого элемента участка array[p:r], не меньшего key.
+	 */
+	private static <T> int lowerBound(T[] array, int p, int r, T key, Comparator<? super T> c) {
+		while (p < r) {
+			int m = (p + r) >>> 1;
+			if (c.compare(array[m], key) < 0) p = m + 1; else r = m;
+		}
+		return p;
+	}
+
+	/**
+	 * Индекс первого элемента участка array[p:r], строго большего key.
+	 */
+	private static <T> int upperBound(T[] array, int p, int r, T key, Comparator<? super T> c) {
+		while (p < r) {
+			int m = (p + r) >>> 1;
+			if (c.compare(array[m], key) <= 0) p = m + 1; else r = m;
+		}
+		return p;
+	}
+
+	/**
+	 * Сравнение целых чисел, задающее их порядок. Используется для сортировки
+	 * индексов (смещений) элементов, хранящихся вне сортируемого массива.
+	 */
+	@FunctionalInterface
+	public interface IntComparator {
+		int compare(int a, int b);
+	}
+
+	/**
+	 * Параллельная сортировка слиянием массива целых чисел в порядке, заданном
+	 * компаратором. Так можно отсортировать индексы элементов, не создавая
+	 * объекта на каждый элемент. Компаратор вызывается одновременно из нескольких потоков.
+	 * @param array Сортируемый массив
+	 * @param c Компаратор, задающий порядок элементов
+	 */
+	public static void parallelMergeSort(int[] array, IntComparator c) {
+		parallelMergeSort(array, c, PARALLEL_INSERT_CUTOFF, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Параллельная сортировка слиянием массива целых чисел в заданном пуле потоков.
+	 * Алгоритм тот же, что и в {@link #parallelMergeSort(Object[], Comparator, int, ForkJoinPool)}:
+	 * массивы меняются ролями на каждом уровне рекурсии, верхние уровни слияния
+	 * выполняются параллельно, сортировка устойчива.
+	 * @param array Сортируемый массив
+	 * @param c Компаратор, задающий порядок элементов
+	 * @param cutoff Длина участка, сортируемого простыми вставками
+	 * @param pool Пул потоков, выполняющий сортировку
+	 */
+	public static void parallelMergeSort(int[] array, IntComparator c, int cutoff, ForkJoinPool pool) {
+		if (cutoff < 1) {
+			throw new IllegalArgumentException("cutoff must be positive: " + cutoff);
+		}
+		if (array.length < 2) return;
+		int[] buffer = array.clone();
+		pool.invoke(new IntMergeSortTask(buffer, array, 0, array.length, c, cutoff));
+	}
+
+	private static void insertSort(int[] array, int p, int r, IntComparator c) {
+		for (int j = p + 1; j < r; ++j) {
+			int key = array[j];
+			int i = j-1;
+			while (i >= p && c.compare(array[i], key) > 0) {
+				array[i+1] = array[i];
+				--i;
+			}
+			array[i+1] = key;
+		}
+	}
+
+	/**
+	 * Задача сортировки участка [p:r] массива целых чисел, см. {@link MergeSortTask}.
+	 */
+	private static class IntMergeSortTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int[] src, dst;
+		private final int p, r;
+		private final IntComparator c;
+		private final int cutoff;
+
+		IntMergeSortTask(int[] src, int[] dst, int p, int r, IntComparator c, int cutoff) {
+			this.src = src;
+			this.dst = dst;
+			this.p = p;
+			this.r = r;
+			this.c = c;
+			this.cutoff = cutoff;
+		}
+
+		@Override
+		protected void compute() {
+			if (r - p <= cutoff) {
+				insertSort(dst, p, r, c);
+				return;
+			}
+			int q = (p + r) >>> 1;
+			IntMergeSortTask left = new IntMergeSortTask(dst, src, p, q, c, cutoff);
+			IntMergeSortTask right = new IntMergeSortTask(dst, src, q, r, c, cutoff);
+			if (r - p <= PARALLEL_SEQUENTIAL_THRESHOLD) {
+				left.compute();
+				right.compute();
+				merge(src, p, q, q, r, dst, p, c);
+			} else {
+				invokeAll(left, right);
+				new IntMergeTask(src, p, q, q, r, dst, p, c).compute();
+			}
+		}
+	}
+
+	/**
+	 * Задача слияния участков массива целых чисел, см. {@link MergeTask}.
+	 */
+	private static class IntMergeTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int[] src, dst;
+		private final int p1, r1, p2, r2, p3;
+		private final IntComparator c;
+
+		IntMergeTask(int[] src, int p1, int r1, int p2, int r2, int[] dst, int p3, IntComparator c) {
+			this.src = src;
+			this.p1 = p1;
+			this.r1 = r1;
+			this.p2 = p2;
+			this.r2 = r2;
+			this.dst = dst;
+			this.p3 = p3;
+			this.c = c;
+		}
+
+		@Override
+		protected void compute() {
+			int n1 = r1 - p1, n2 = r2 - p2;
+			if (n1 + n2 <= PARALLEL_SEQUENTIAL_THRESHOLD) {
+				merge(src, p1, r1, p2, r2, dst, p3, c);
+				return;
+			}
+			if (n1 >= n2) {
+				int q1 = (p1 + r1) >>> 1;
+				int q2 = lowerBound(src, p2, r2, src[q1], c);
+				int q3 = p3 + (q1 - p1) + (q2 - p2);
+				dst[q3] = src[q1];
+				invokeAll(new IntMergeTask(src, p1, q1, p2, q2, dst, p3, c),
+						new IntMergeTask(src, q1 + 1, r1, q2, r2, dst, q3 + 1, c));
+			} else {
+				int q2 = (p2 + r2) >>> 1;
+				int q1 = upperBound(src, p1, r1, src[q2], c);
+				int q3 = p3 + (q1 - p1) + (q2 - p2);
+				dst[q3] = src[q2];
+				invokeAll(new IntMergeTask(src, p1, q1, p2, q2, dst, p3, c),
+						new IntMergeTask(src, q1, r1, q2 + 1, r2, dst, q3 + 1, c));
+			}
+		}
+	}
+
+	private static void merge(int[] src, int p1, int r1, int p2, int r2,
+			int[] dst, int p3, IntComparator c) {
+		while (p1 < r1 && p2 < r2) {
+			dst[p3++] = c.compare(src[p2], src[p1]) < 0 ? src[p2++] : src[p1++];
+		}
+		while (p1 < r1) dst[p3++] = src[p1++];
+		while (p2 < r2) dst[p3++] = src[p2++];
+	}
+
+	private static int lowerBound(int[] array, int p, int r, int key, IntComparator c) {
+		while (p < r) {
+			int m = (p + r) >>> 1;
+			if (c.compare(array[m], key) < 0) p = m + 1; else r = m;
+		}
+		return p;
+	}
+
+	private static int upperBound(int[] array, int p, int r, int key, IntComparator c) {
+		while (p < r) {
+			int m = (p + r) >>> 1;
+			if (c.compare(array[m], key) <= 0) p = m + 1; else r = m;
+		}
+		return p;
+	}
+
+	/**
+	 * Адаптивная сортировка слиянием естественных серий.
+	 * @param array Сортируемый массив
+	 */
+	public static <T extends Comparable<T>> void adaptiveMergeSort(T[] array) {
+		adaptiveMergeSort(array, Comparator.<T>naturalOrder());
+	}
+
+	/**
+	 * Адаптивная сортировка слиянием естественных серий. В массиве выделяются
+	 * уже упорядоченные участки (убывающие участки переворачиваются), короткие
+	 * участки дополняются до минимальной длины сортировкой вставками. Участки
+	 * заносятся в стек и сливаются так, чтобы длины участков в стеке убывали
+	 * не медленнее чисел Фибоначчи. Если при слиянии один участок много раз
+	 * подряд оказывается меньше, то дальше его элементы переносятся блоками,
+	 * граница которых находится экспоненциальным поиском ("галопом").
+	 * Почти упорядоченный массив сортируется за время, близкое к O(n).
+	 * Промежуточный массив создается не более одного раза. Сортировка устойчива.
+	 * @param array Сортируемый массив
+	 * @param c Компаратор, задающий порядок элементов
+	 */
+	public static <T> void adaptiveMergeSort(T[] array, Comparator<? super T> c) {
+		if (array.length < 2) return;
+		new RunMerger<>(array, c).sort();
+	}
+
+	/**
+	 * Состояние адаптивной сортировки слиянием: стек серий и промежуточный массив.
+	 */
+	private static class RunMerger<T> {
+		// Серии короче этой длины дополняются сортировкой вставками
+		// (фактическая минимальная длина выбирается от MIN_RUN / 2 до MIN_RUN).
+		private static final int MIN_RUN = 32;
+		// Число побед одного участка подряд, после которого начинается "галоп".
+		private static final int MIN_GALLOP = 7;
+		// Длины серий в стеке растут не медленнее чисел Фибоначчи,
+		// поэтому для массивов длиной до 2^31 хватает 49 элементов стека.
+		private static final int MAX_STACK = 49;
+
+		private final T[] a;
+		private final Comparator<? super T> c;
+		private T[] tmp;
+		private final int[] runBase = new int[MAX_STACK];
+		private final int[] runLen = new int[MAX_STACK];
+		private int stackSize = 0;
+
+		RunMerger(T[] a, Comparator<? super T> c) {
+			this.a = a;
+			this.c = c;
+		}
+
+		void sort() {
+			int n = a.length;
+			int minRun = minRunLength(n);
+			for (int lo = 0; lo < n; ) {
+				int len = countRunAndMakeAscending(lo, n);
+				if (len < minRun) {
+					int force = Math.min(n - lo, minRun);
+					insertSort(a, lo, lo + force, c);
+					len = force;
+				}
+				runBase[stackSize] = lo;
+				runLen[stackSize] = len;
+				stackSize++;
+				mergeCollapse();
+				lo += len;
+			}
+			while (stackSize > 1) {
+				int i = stackSize - 2;
+				if (i > 0 && runLen[i - 1] < runLen[i + 1]) i--;
+				mergeAt(i);
+			}
+		}
+
+		/**
+		 * Минимальная длина серии: число от MIN_RUN / 2 до MIN_RUN, при котором
+		 * n / minRun близко к степени двойки (и слияния получаются сбалансированными).
+		 */
+		private static int minRunLength(int n) {
+			int r = 0;
+			while (n >= MIN_RUN) {
+				r |= n & 1;
+				n >>= 1;
+			}
+			return n + r;
+		}
+
+		/**
+		 * Длина упорядоченного участка, начинающегося с индекса lo.
+		 * Строго убывающий участок переворачивается (строгость сохраняет устойчивость).
+		 */
+		private int countRunAndMakeAscending(int lo, int hi) {
+			int i = lo + 1;
+			if (i == hi) return 1;
+			if (c.compare(a[i++], a[lo]) < 0) {
+				while (i < hi && c.compare(a[i], a[i - 1]) < 0) i++;
+				for (int p = lo, r = i - 1; p < r; p++, r--) {
+					T t = a[p]; a[p] = a[r]; a[r] = t;
+				}
+			} else {
+				while (i < hi && c.compare(a[i], a[i - 1]) >= 0) i++;
+			}
+			return i - lo;
+		}
+
+		/**
+		 * Сливает серии на вершине стека, пока не выполнены условия
+		 * runLen[i - 2] > runLen[i - 1] + runLen[i] и runLen[i - 1] > runLen[i]
+		 * (проверяются четыре верхних серии).
+		 */
+		private void mergeCollapse() {
+			while (stackSize > 1) {
+				int i = stackSize - 2;
+				if (i > 0 && runLen[i - 1] <= runLen[i] + runLen[i + 1]
+						|| i > 1 && runLen[i - 2] <= runLen[i] + runLen[i - 1]) {
+					if (runLen[i - 1] < runLen[i + 1]) i--;
+				} else if (runLen[i] > runLen[i + 1]) {
+					break;
+				}
+				mergeAt(i);
+			}
+		}
+
+		/**
+		 * Слияние i-й и (i+1)-й серий стека.
+		 */
+		private void mergeAt(int i) {
+			int base1 = runBase[i], len1 = runLen[i];
+			int base2 = runBase[i + 1], len2 = runLen[i + 1];
+			runLen[i] = len1 + len2;
+			if (i == stackSize - 3) {
+				runBase[i + 1] = runBase[i + 2];
+				runLen[i + 1] = runLen[i + 2];
+			}
+			stackSize--;
+
+			// Начало первой серии, не большее a[base2], уже стоит на месте.
+			int k = gallopRight(a[base2], a, base1, len1, 0);
+			base1 += k;
+			len1 -= k;
+			if (len1 == 0) return;
+			// Конец второй серии, не меньший последнего элемента первой, тоже.
+			len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1);
+			if (len2 == 0) return;
+
+			if (tmp == null) {
+				@SuppressWarnings("unchecked")
+				T[] buffer = (T[]) new Object[a.length >>> 1];
+				tmp = buffer;
+			}
+			if (len1 <= len2) mergeLo(base1, len1, base2, len2);
+			else mergeHi(base1, len1, base2, len2);
+		}
+
+		/**
+		 * Слияние слева направо; первая (более короткая) серия копируется в tmp.
+		 */
+		private void mergeLo(int base1, int len1, int base2, int len2) {
+			System.arraycopy(a, base1, tmp, 0, len1);
+			int i = 0, j = base2, end2 = base2 + len2, d = base1;
+			int wins1 = 0, wins2 = 0;
+			while (i < len1 && j < end2) {
+				if (c.compare(a[j], tmp[i]) < 0) {
+					a[d++] = a[j++];
+					wins1 = 0;
+					if (++wins2 >= MIN_GALLOP && j < end2) {
+						// Все элементы второй серии, меньшие tmp[i], переносятся сразу.
+						int k = gallopLeft(tmp[i], a, j, end2 - j, 0);
+						System.arraycopy(a, j, a, d, k);
+						d += k;
+						j += k;
+						wins2 = 0;
+					}
+				} else {
+					a[d++] = tmp[i++];
+					wins2 = 0;
+					if (++wins1 >= MIN_GALLOP && i < len1) {
+						// Все элементы первой серии, не большие a[j], переносятся сразу.
+						int k = gallopRight(a[j], tmp, i, len1 - i, 0);
+						System.arraycopy(tmp, i, a, d, k);
+						d += k;
+						i += k;
+						wins1 = 0;
+					}
+				}
+			}
+			// Остаток второй серии уже на месте.
+			System.arraycopy(tmp, i, a, d, len1 - i);
+		}
+
+		/**
+		 * Слияние справа налево; вторая (более короткая) серия копируется в tmp.
+		 */
+		private void mergeHi(int base1, int len1, int base2, int len2) {
+			System.arraycopy(a, base2, tmp, 0, len2);
+			int i = len2 - 1, j = base1 + len1 - 1, d = base2 + len2 - 1;
+			int wins1 = 0, wins2 = 0;
+			while (i >= 0 && j >= base1) {
+				if (c.compare(tmp[i], a[j]) < 0) {
+					a[d--] = a[j--];
+					wins2 = 0;
+					if (++wins1 >= MIN_GALLOP && j >= base1) {
+						// Все элементы первой серии, большие tmp[i], переносятся сразу.
+						int rest = j - base1 + 1;
+						int k = rest - gallopRight(tmp[i], a, base1, rest, rest - 1);
+						System.arraycopy(a, j - k + 1, a, d - k + 1, k);
+						d -= k;
+						j -= k;
+						wins1 = 0;
+					}
+				} else {
+					a[d--] = tmp[i--];
+					wins1 = 0;
+					if (++wins2 >= MIN_GALLOP && i >= 0) {
+						// Все элементы второй серии, не меньшие a[j], переносятся сразу.
+						int k = i + 1 - gallopLeft(a[j], tmp, 0, i + 1, i);
+						System.arraycopy(tmp, i - k + 1, a, d - k + 1, k);
+						d -= k;
+						i -= k;
+						wins2 = 0;
+					}
+				}
+			}
+			// Остаток первой серии уже на месте.
+			System.arraycopy(tmp, 0, a, d - i, i + 1);
+		}
+
+		/**
+		 * Число элементов участка arr[base:base+len], строго меньших key.
+		 * Поиск начинается с позиции hint и идет шагами 1, 3, 7, 15, ...,
+		 * а затем уточняется двоичным поиском.
+		 */
+		private int gallopLeft(T key, T[] arr, int base, int len, int hint) {
+			int lastOfs = 0, ofs = 1;
+			if (c.compare(key, arr[base + hint]) > 0) {
+				int maxOfs = len - hint;
+				while (ofs < maxOfs && c.compare(key, arr[base + hint + ofs]) > 0) {
+					lastOfs = ofs;
+					ofs = (ofs << 1) + 1;
+					if (ofs <= 0) ofs = maxOfs;
+				}
+				if (ofs > maxOfs) ofs = maxOfs;
+				lastOfs += hint;
+				ofs += hint;
+			} else {
+				int maxOfs = hint + 1;
+				while (ofs < maxOfs && c.compare(key, arr[base + hint - ofs]) <= 0) {
+					lastOfs = ofs;
+					ofs = (ofs << 1) + 1;
+					if (ofs <= 0) ofs = maxOfs;
+				}
+				if (ofs > maxOfs) ofs = maxOfs;
+				int t = lastOfs;
+				lastOfs = hint - ofs;
+				ofs = hint - t;
+			}
+			// Теперь arr[base + lastOfs] < key <= arr[base + ofs].
+			lastOfs++;
+			while (lastOfs < ofs) {
+				int m = lastOfs + ((ofs - lastOfs) >>> 1);
+				if (c.compare(key, arr[base + m]) > 0) lastOfs = m + 1; else ofs = m;
+			}
+			return ofs;
+		}
+
+		/**
+		 * Число элементов участка arr[base:base+len], не больших key.
+		 */
+		private int gallopRight(T key, T[] arr, int base, int len, int hint) {
+			int lastOfs = 0, ofs = 1;
+			if (c.compare(key, arr[base + hint]) < 0) {
+				int maxOfs = hint + 1;
+				while (ofs < maxOfs && c.compare(key, arr[base + hint - ofs]) < 0) {
+					lastOfs = ofs;
+					ofs = (ofs << 1) + 1;
+					if (ofs <= 0) ofs = maxOfs;
+				}
+				if (ofs > maxOfs) ofs = maxOfs;
+				int t = lastOfs;
+				lastOfs = hint - ofs;
+				ofs = hint - t;
+			} else {
+				int maxOfs = len - hint;
+				while (ofs < maxOfs && c.compare(key, arr[base + hint + ofs]) >= 0) {
+					lastOfs = ofs;
+					ofs = (ofs << 1) + 1;
+					if (ofs <= 0) ofs = maxOfs;
+				}
+				if (ofs > maxOfs) ofs = maxOfs;
+				lastOfs += hint;
+				ofs += hint;
+			}
+			// Теперь arr[base + lastOfs] <= key < arr[base + ofs].
+			lastOfs++;
+			while (lastOfs < ofs) {
+				int m = lastOfs + ((ofs - lastOfs) >>> 1);
+				if (c.compare(key, arr[base + m]) < 0) ofs = m; else lastOfs = m + 1;
+			}
+			return ofs;
+		}
+	}
+
+	// Число элементов выборки на один разделитель в сортировке выборкой.
+	private static final int SAMPLE_OVERSAMPLING = 32;
+	// Наибольшее число корзин (номер корзины хранится в одном байте).
+	private static final int SAMPLE_MAX_BUCKETS = 256;
+
+	/**
+	 * Параллельная сортировка выборкой (sample sort) в общем пуле потоков.
+	 * @param array Сортируемый массив
+	 * @param c Компаратор, задающий порядок элементов
+	 */
+	public static <T> void parallelSampleSort(T[] array, Comparator<? super T> c) {
+		parallelSampleSort(array, c, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Параллельная сортировка выборкой (sample sort). Из случайной выборки
+	 * элементов выбираются разделители, которые делят массив на корзины
+	 * (по несколько корзин на поток). Каждый поток за один проход определяет
+	 * корзины элементов своего участка и подсчитывает их размеры; по этим
+	 * счетчикам каждому потоку заранее известно, куда записывать его элементы
+	 * каждой корзины, так что распределение выполняется без синхронизации.
+	 * Затем корзины сортируются параллельно и независимо друг от друга.
+	 * В отличие от параллельной сортировки слиянием здесь нет верхних уровней
+	 * слияния, на которых работа упирается в пропускную способность памяти.
+	 * Сортировка неустойчива.
+	 * @param array Сортируемый массив
+	 * @param c Компаратор, задающий порядок элементов
+	 * @param pool Пул потоков, выполняющий сортировку
+	 */
+	public static <T> void parallelSampleSort(T[] array, Comparator<? super T> c, ForkJoinPool pool) {
+		int n = array.length;
+		int threads = pool.getParallelism();
+		if (threads == 1 || n <= PARALLEL_SEQUENTIAL_THRESHOLD) {
+			adaptiveMergeSort(array, c);
+			return;
+		}
+		int buckets = Math.min(SAMPLE_MAX_BUCKETS, 4 * threads);
+
+		// Выбор разделителей из отсортированной случайной выборки.
+		ThreadLocalRandom rnd = ThreadLocalRandom.current();
+		T[] sample = Arrays.copyOf(array, buckets * SAMPLE_OVERSAMPLING);
+		for (int i = 0; i < sample.length; ++i) {
+			sample[i] = array[rnd.nextInt(n)];
+		}
+		adaptiveMergeSort(sample, c);
+		T[] splitters = Arrays.copyOf(sample, buckets - 1);
+		for (int i = 0; i < splitters.length; ++i) {
+			splitters[i] = sample[(i + 1) * SAMPLE_OVERSAMPLING];
+		}
+
+		pool.invoke(new SampleSortTask<>(array, splitters, c, threads));
+	}
+
+	/**
+	 * Управляющая задача сортировки выборкой: распределение по корзинам
+	 * и запуск сортировки корзин.
+	 */
+	private static class SampleSortTask<T> extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final T[] array;
+		private final T[] splitters;
+		private final Comparator<? super T> c;
+		private final int threads;
+
+		SampleSortTask(T[] array, T[] splitters, Comparator<? super T> c, int threads) {
+			this.array = array;
+			this.splitters = splitters;
+			this.c = c;
+			this.threads = threads;
+		}
+
+		@Override
+		protected void compute() {
+			int n = array.length;
+			int buckets = splitters.length + 1;
+			byte[] bucketOf = new byte[n];
+			int[][] count = new int[threads][buckets];
+
+			// Проход 1: каждый поток определяет корзины элементов своего участка.
+			RecursiveAction[] tasks = new RecursiveAction[threads];
+			for (int t = 0; t < threads; ++t) {
+				int lo = chunkStart(t, n), hi = chunkStart(t + 1, n);
+				int[] myCount = count[t];
+				tasks[t] = new RecursiveAction() {
+					@Override
+					protected void compute() {
+						for (int i = lo; i < hi; ++i) {
+							int b = bucket(array[i]);
+							bucketOf[i] = (byte) b;
+							myCount[b]++;
+						}
+					}
+				};
+			}
+			invokeAll(tasks);
+
+			// Позиции записи: корзины идут подряд, внутри корзины - участки потоков.
+			int[] bucketStart = new int[buckets + 1];
+			int sum = 0;
+			for (int b = 0; b < buckets; ++b) {
+				bucketStart[b] = sum;
+				for (int t = 0; t < threads; ++t) {
+					int k = count[t][b];
+					count[t][b] = sum;
+					sum += k;
+				}
+			}
+			bucketStart[buckets] = n;
+
+			// Проход 2: перенос элементов в промежуточный массив по корзинам.
+			T[] buffer = Arrays.copyOf(array, n);
+			for (int t = 0; t < threads; ++t) {
+				int lo = chunkStart(t, n), hi = chunkStart(t + 1, n);
+				int[] offset = count[t];
+				tasks[t] = new RecursiveAction() {
+					@Override
+					protected void compute() {
+						for (int i = lo; i < hi; ++i) {
+							buffer[offset[bucketOf[i] & 0xFF]++] = array[i];
+						}
+					}
+				};
+			}
+			invokeAll(tasks);
+
+			// Сортировка корзин; крупные корзины (например, из равных элементов)
+			// сами сортируются параллельным слиянием.
+			RecursiveAction[] sorts = new RecursiveAction[buckets];
+			for (int b = 0; b < buckets; ++b) {
+				int lo = bucketStart[b], hi = bucketStart[b + 1];
+				sorts[b] = new RecursiveAction() {
+					@Override
+					protected void compute() {
+						System.arraycopy(buffer, lo, array, lo, hi - lo);
+						new MergeSortTask<>(buffer, array, lo, hi, c, PARALLEL_INSERT_CUTOFF).compute();
+					}
+				};
+			}
+			invokeAll(sorts);
+		}
+
+		private int chunkStart(int t, int n) {
+			return (int) ((long) n * t / threads);
+		}
+
+		/**
+		 * Номер корзины элемента: число разделителей, не больших его.
+		 */
+		private int bucket(T x) {
+			int p = 0, r = splitters.length;
+			while (p < r) {
+				int m = (p + r) >>> 1;
+				if (c.compare(splitters[m], x) <= 0) p = m + 1; else r = m;
+			}
+			return p;
+		}
+	}
+
+	// Участки не длиннее этого порога в алгоритме выбора сортируются вставками.
+	private static final int SELECT_INSERT_CUTOFF = 16;
+
+	/**
+	 * Выбор k-го по порядку (начиная с 0) элемента массива (алгоритм introselect).
+	 * Массив переставляется так, что array[k] - элемент, который стоял бы на этом
+	 * месте в упорядоченном массиве, левее него нет больших, правее - меньших.
+	 * Обычно опорный элемент выбирается как медиана трех элементов, что дает
+	 * в среднем линейное время. Если разбиения оказываются неудачными слишком
+	 * много раз (больше 2 log n), опорный элемент выбирается как медиана медиан
+	 * групп по пять элементов, и время работы остается линейным в худшем случае.
+	 * @param array Исходный массив
+	 * @param k Номер выбираемого элемента, 0 <= k < array.length
+	 * @return k-й по порядку элемент массива
+	 */
+	public static <T extends Comparable<T>> T select(T[] array, int k) {
+		if (k < 0 || k >= array.length) {
+			throw new IndexOutOfBoundsException("k = " + k + ", length = " + array.length);
+		}
+		Comparator<T> c = Comparator.naturalOrder();
+		select(array, 0, array.length, k, 2 * (32 - Integer.numberOfLeadingZeros(array.length)), c);
+		return array[k];
+	}
+
+	/**
+	 * Частичная сортировка: k наименьших элементов массива располагаются
+	 * по порядку в его начале, порядок остальных элементов не определен.
+	 * Время работы - O(n + k log k).
+	 * @param array Исходный массив
+	 * @param k Число упорядочиваемых элементов
+	 */
+	public static <T extends Comparable<T>> void partialSort(T[] array, int k) {
+		if (k < 0 || k > array.length) {
+			throw new IndexOutOfBoundsException("k = " + k + ", length = " + array.length);
+		}
+		if (k == 0) return;
+		if (k < array.length) select(array, k - 1);
+		T[] head = Arrays.copyOf(array, k);
+		adaptiveMergeSort(head);
+		System.arraycopy(head, 0, array, 0, k);
+	}
+
+	/**
+	 * k наименьших элементов последовательности в порядке возрастания.
+	 * Последовательность просматривается один раз, в памяти хранится только
+	 * куча из k лучших на данный момент элементов (на вершине - наибольший
+	 * из них), так что функция подходит для потоков данных произвольной длины.
+	 * Время работы - O(n log k).
+	 * @param items Итератор элементов последовательности
+	 * @param k Число выбираемых элементов
+	 * @return Список из min(k, n) наименьших элементов
+	 */
+	public static <T extends Comparable<T>> List<T> topK(Iterator<T> items, int k) {
+		if (k < 0) {
+			throw new IllegalArgumentException("k must not be negative: " + k);
+		}
+		List<T> result = new ArrayList<>();
+		if (k == 0) return result;
+		PriorityQueue<T> heap = new PriorityQueue<>(k, Comparator.<T>reverseOrder());
+		while (items.hasNext()) {
+			T item = items.next();
+			if (heap.size() < k) {
+				heap.add(item);
+			} else if (item.compareTo(heap.peek()) < 0) {
+				heap.poll();
+				heap.add(item);
+			}
+		}
+		while (!heap.isEmpty()) result.add(heap.poll());
+		Collections.reverse(result);
+		return result;
+	}
+
+	/**
+	 * Выбор k-го элемента участка array[lo:hi].
+	 * @param budget Число разбиений, после которого опорный элемент выбирается
+	 *               как медиана медиан
+	 */
+	private static <T> void select(T[] array, int lo, int hi, int k, int budget,
+			Comparator<? super T> c) {
+		while (hi - lo > SELECT_INSERT_CUTOFF) {
+			T pivot = budget-- > 0 ? medianOfThree(array, lo, hi, c) : medianOfMedians(array, lo, hi, c);
+			// Разбиение на три части: [lo:lt] < pivot, [lt:gt] == pivot, [gt:hi] > pivot.
+			int lt = lo, i = lo, gt = hi;
+			while (i < gt) {
+				int cmp = c.compare(array[i], pivot);
+				if (cmp < 0) swap(array, lt++, i++);
+				else if (cmp > 0) swap(array, i, --gt);
+				else i++;
+			}
+			if (k < lt) hi = lt;
+			else if (k >= gt) lo = gt;
+			else return;
+		}
+		insertSort(array, lo, hi, c);
+	}
+
+	private static <T> T medianOfThree(T[] array, int lo, int hi, Comparator<? super T> c) {
+		T a = array[lo], b = array[(lo + hi) >>> 1], d = array[hi - 1];
+		if (c.compare(a, b) > 0) { T t = a; a = b; b = t; }
+		if (c.compare(b, d) > 0) b = c.compare(a, d) > 0 ? a : d;
+		return b;
+	}
+
+	/**
+	 * Медиана медиан групп по пять элементов участка array[lo:hi].
+	 * Медианы групп собираются в начале участка.
+	 */
+	private static <T> T medianOfMedians(T[] array, int lo, int hi, Comparator<? super T> c) {
+		int medians = lo;
+		for (int g = lo; g < hi; g += 5) {
+			int end = Math.min(g + 5, hi);
+			insertSort(array, g, end, c);
+			swap(array, medians++, (g + end - 1) >>> 1);
+		}
+		int mid = (lo + medians) >>> 1;
+		select(array, lo, medians, mid, 0, c);
+		return array[mid];
+	}
+
+	private static <T> void swap(T[] array, int i, int j) {
+		T t = array[i];
+		array[i] = array[j];
+		array[j] = t;
+	}
+
 }
@@ -0,0 +1,156 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalSortTest {
+    private Path dir;
+    private Path input;
+    private Path output;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("external-sort");
+        input = dir.resolve("input.bin");
+        output = dir.resolve("output.bin");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) Files.delete(file);
+        }
+        Files.delete(dir);
+    }
+
+    /**
+     * Случайные записи из небольшого набора значений байтов (0x00, 0x55, 0xAA, 0xFF),
+     * так что среди записей много равных и частично совпадающих.
+     */
+    private static byte[] records(int recordSize, int count, long seed) {
+        Random random = new Random(seed);
+        byte[] data = new byte[recordSize * count];
+        for (int i = 0; i < data.length; i++) data[i] = (byte) (random.nextInt(4) * 0x55);
+        return data;
+    }
+
+    /**
+     * Записи, упорядоченные в памяти заданным компаратором.
+     */
+    private static byte[] sorted(byte[] data, int recordSize, Comparator<? super ByteBuffer> c) {
+        List<ByteBuffer> records = new ArrayList<>();
+        for (int i = 0; i < data.length; i += recordSize) {
+            records.add(ByteBuffer.wrap(data, i, recordSize).slice());
+        }
+        records.sort(c);
+        ByteBuffer result = ByteBuffer.allocate(data.length);
+        for (ByteBuffer record : records) result.put(record);
+        return result.array();
+    }
+
+    /**
+     * Сортирует файл и проверяет результат; каталог серий после сортировки должен быть удален.
+     */
+    private ExternalSort.Report sortAndCheck(ExternalSort sort, byte[] data, int recordSize,
+            Comparator<? super ByteBuffer> c) throws IOException {
+        Files.write(input, data);
+        ExternalSort.Report report = sort.sort(input, output);
+        assertArrayEquals(sorted(data, recordSize, c), Files.readAllBytes(output));
+        assertEquals(data.length / recordSize, report.records);
+        assertEquals(data.length, report.bytes);
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(2, files.count(), "Temporary runs were not deleted");
+        }
+        return report;
+    }
+
+    @Test
+    void testSinglePass() throws IOException {
+        byte[] data = records(8, 100000, 1);
+        ExternalSort.Report report = sortAndCheck(new ExternalSort(8, 8 * 30000, 4), data, 8,
+                ExternalSort.UNSIGNED_ORDER);
+        assertEquals(4, report.runs);
+        assertEquals(1, report.mergePasses);
+    }
+
+    @Test
+    void testSeveralPasses() throws IOException {
+        // Длина записи не кратна 8: сравнение по 8 байтов дополняется побайтовым.
+        byte[] data = records(7, 50000, 2);
+        ExternalSort.Report report = sortAndCheck(new ExternalSort(7, 7 * 1000, 3), data, 7,
+                ExternalSort.UNSIGNED_ORDER);
+        assertEquals(50, report.runs);
+        // 50 -> 17 -> 6 -> 2 серии, затем последнее слияние.
+        assertEquals(4, report.mergePasses);
+    }
+
+    @Test
+    void testOneRun() throws IOException {
+        byte[] data = records(3, 1000, 3);
+        ExternalSort.Report report = sortAndCheck(new ExternalSort(3, 1 << 20, 2), data, 3,
+                ExternalSort.UNSIGNED_ORDER);
+        assertEquals(1, report.runs);
+        assertEquals(0, report.mergePasses);
+    }
+
+    @Test
+    void testEmptyAndSingleRecord() throws IOException {
+        sortAndCheck(new ExternalSort(5, 10, 2), new byte[0], 5, ExternalSort.UNSIGNED_ORDER);
+        sortAndCheck(new ExternalSort(5, 10, 2), new byte[] { 1, 2, 3, 4, 5 }, 5, ExternalSort.UNSIGNED_ORDER);
+    }
+
+    @Test
+    void testCustomComparator() throws IOException {
+        Comparator<ByteBuffer> descending = ExternalSort.UNSIGNED_ORDER.reversed();
+        byte[] data = records(4, 20000, 4);
+        Files.write(output, new byte[] { 9, 9, 9 });
+        sortAndCheck(new ExternalSort(4, 4 * 3000, 2, descending), data, 4, descending);
+    }
+
+    @Test
+    void testUnsignedOrder() {
+        Comparator<ByteBuffer> c = ExternalSort.UNSIGNED_ORDER;
+        byte[][] ordered = {
+                {}, { 0 }, { 0, 0 }, { 0x7F }, { (byte) 0x80 }, { (byte) 0xFF },
+                { (byte) 0xFF, 0, 0, 0, 0, 0, 0, 0, 0 },
+                { (byte) 0xFF, 0, 0, 0, 0, 0, 0, 0, 1 },
+                { (byte) 0xFF, 0, 0, 0, 0, 0, 0, (byte) 0x80, 0 },
+        };
+        for (int i = 0; i < ordered.length; i++) {
+            for (int j = 0; j < ordered.length; j++) {
+                for (ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+                    ByteBuffer a = ByteBuffer.wrap(ordered[i]).order(order);
+                    ByteBuffer b = ByteBuffer.wrap(ordered[j]);
+                    assertEquals(Integer.signum(Integer.compare(i, j)), Integer.signum(c.compare(a, b)),
+                            "Comparing " + i + " and " + j);
+                }
+            }
+        }
+        // Сравниваются байты между position и limit.
+        ByteBuffer a = ByteBuffer.wrap(new byte[] { (byte) 0xFF, 1, 2 });
+        a.position(1);
+        assertEquals(0, c.compare(a, ByteBuffer.wrap(new byte[] { 1, 2 })));
+        assertEquals(1, a.position());
+    }
+
+    @Test
+    void testIllegalArguments() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> new ExternalSort(0, 10, 2));
+        assertThrows(IllegalArgumentException.class, () -> new ExternalSort(8, 7, 2));
+        assertThrows(IllegalArgumentException.class, () -> new ExternalSort(8, 8, 1));
+        Files.write(input, new byte[10]);
+        assertThrows(IllegalArgumentException.class, () -> new ExternalSort(3, 30, 2).sort(input, output));
+    }
+}
@@ -0,0 +1,162 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RadixSortTest {
+
+    /**
+     * Устойчивая упорядочивающая перестановка, построенная сортировкой сравнениями.
+     */
+    private static int[] expectedOrder(int n, Comparator<Integer> byKey) {
+        Integer[] index = new Integer[n];
+        for (int i = 0; i < n; i++) index[i] = i;
+        Arrays.sort(index, byKey);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = index[i];
+        return order;
+    }
+
+    private static Integer[] payload(int n) {
+        Integer[] payload = new Integer[n];
+        for (int i = 0; i < n; i++) payload[i] = i;
+        return payload;
+    }
+
+    private static int[] toInts(Integer[] array) {
+        int[] result = new int[array.length];
+        for (int i = 0; i < array.length; i++) result[i] = array[i];
+        return result;
+    }
+
+    private static List<long[]> longShapes() {
+        List<long[]> shapes = new ArrayList<>();
+        for (int[] keys : SortTest.shapes()) {
+            long[] longs = new long[keys.length];
+            // Ключи различаются и в старших, и в младших разрядах.
+            for (int i = 0; i < keys.length; i++) longs[i] = (long) keys[i] << 32 | (keys[i] & 0xFFFF);
+            shapes.add(longs);
+        }
+        shapes.add(new long[] { Long.MAX_VALUE, -1, Long.MIN_VALUE, 0, 1, Long.MIN_VALUE + 1 });
+        return shapes;
+    }
+
+    private static List<double[]> doubleShapes() {
+        Random random = new Random(1);
+        List<double[]> shapes = new ArrayList<>();
+        for (int[] keys : SortTest.shapes()) {
+            double[] doubles = new double[keys.length];
+            for (int i = 0; i < keys.length; i++) doubles[i] = keys[i] / 3.0;
+            shapes.add(doubles);
+        }
+        double[] special = new double[10000];
+        double[] values = { Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.MIN_VALUE, -Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, 1.5, -1.5,
+                Double.longBitsToDouble(0x7ff8000000000001L) };
+        for (int i = 0; i < special.length; i++) {
+            special[i] = random.nextBoolean() ? values[random.nextInt(values.length)] : random.nextGaussian();
+        }
+        shapes.add(special);
+        shapes.add(new double[] { Double.NaN, 0.0, -0.0, 0.0, -0.0, Double.NaN, -1 });
+        return shapes;
+    }
+
+    @Test
+    void testSortInts() {
+        List<int[]> shapes = SortTest.shapes();
+        shapes.add(new int[] { Integer.MAX_VALUE, -1, Integer.MIN_VALUE, 0, 1, Integer.MIN_VALUE + 1 });
+        for (int[] keys : shapes) {
+            int[] expected = keys.clone();
+            Arrays.sort(expected);
+            int[] array = keys.clone();
+            RadixSort.sort(array);
+            assertArrayEquals(expected, array);
+
+            array = keys.clone();
+            Integer[] payload = payload(keys.length);
+            RadixSort.sort(array, payload);
+            assertArrayEquals(expected, array);
+            assertArrayEquals(expectedOrder(keys.length, (a, b) -> Integer.compare(keys[a], keys[b])),
+                    toInts(payload));
+            assertArrayEquals(toInts(payload), RadixSort.order(keys));
+        }
+    }
+
+    @Test
+    void testCountingSort() {
+        List<int[]> shapes = SortTest.shapes();
+        Random random = new Random(2);
+        int[] narrow = new int[5000];
+        for (int i = 0; i < narrow.length; i++) narrow[i] = random.nextInt(100) - 1000;
+        shapes.add(narrow);
+        shapes.add(new int[] { Integer.MAX_VALUE, Integer.MIN_VALUE, 0 });
+        for (int[] keys : shapes) {
+            int[] expected = keys.clone();
+            Arrays.sort(expected);
+            int[] array = keys.clone();
+            RadixSort.countingSort(array);
+            assertArrayEquals(expected, array);
+        }
+    }
+
+    @Test
+    void testSortLongs() {
+        for (long[] keys : longShapes()) {
+            long[] expected = keys.clone();
+            Arrays.sort(expected);
+            long[] array = keys.clone();
+            RadixSort.sort(array);
+            assertArrayEquals(expected, array);
+
+            array = keys.clone();
+            Integer[] payload = payload(keys.length);
+            RadixSort.sort(array, payload);
+            assertArrayEquals(expected, array);
+            assertArrayEquals(expectedOrder(keys.length, (a, b) -> Long.compare(keys[a], keys[b])),
+                    toInts(payload));
+            assertArrayEquals(toInts(payload), RadixSort.order(keys));
+        }
+    }
+
+    @Test
+    void testSortDoubles() {
+        for (double[] keys : doubleShapes()) {
+            // Порядок Arrays.sort: -0.0 перед 0.0, NaN в конце.
+            double[] expected = keys.clone();
+            Arrays.sort(expected);
+            double[] array = keys.clone();
+            RadixSort.sort(array);
+            assertArrayEquals(expected, array);
+
+            array = keys.clone();
+            Integer[] payload = payload(keys.length);
+            RadixSort.sort(array, payload);
+            assertArrayEquals(expected, array);
+            assertArrayEquals(expectedOrder(keys.length, (a, b) -> Double.compare(keys[a], keys[b])),
+                    toInts(payload));
+            assertArrayEquals(toInts(payload), RadixSort.order(keys));
+        }
+    }
+
+    @Test
+    void testOrderKeepsKeys() {
+        double[] keys = { 3, Double.NaN, -0.0, 0.0, -2 };
+        double[] copy = keys.clone();
+        assertArrayEquals(new int[] { 4, 2, 3, 0, 1 }, RadixSort.order(keys));
+        assertArrayEquals(copy, keys);
+        assertArrayEquals(new int[0], RadixSort.order(new int[0]));
+        assertArrayEquals(new int[] { 0 }, RadixSort.order(new long[] { 5 }));
+    }
+
+    @Test
+    void testPayloadLength() {
+        assertThrows(IllegalArgumentException.class, () -> RadixSort.sort(new int[3], new Object[2]));
+        assertThrows(IllegalArgumentException.class, () -> RadixSort.sort(new long[0], new Object[1]));
+        assertThrows(IllegalArgumentException.class, () -> RadixSort.sort(new double[1], new Object[0]));
+    }
+}
@@ -0,0 +1,356 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortTest {
+
+    /**
+     * Элемент сортируемого массива: ключ и исходная позиция. Элементы сравниваются
+     * только по ключу, по позиции проверяется устойчивость сортировки.
+     */
+    static final class Item {
+        final int key;
+        final int index;
+
+        Item(int key, int index) {
+            this.key = key;
+            this.index = index;
+        }
+
+        @Override
+        public String toString() {
+            return key + "@" + index;
+        }
+    }
+
+    static final Comparator<Item> BY_KEY = (a, b) -> Integer.compare(a.key, b.key);
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        // Явный пул из нескольких потоков: на машине с одним процессором
+        // общий пул не разделил бы работу между потоками.
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Наборы ключей: пустой, из одного элемента, упорядоченный, обратно упорядоченный,
+     * из равных элементов и случайные (с отрицательными числами и повторами),
+     * в том числе длиннее порога, после которого сортировка становится параллельной.
+     */
+    static List<int[]> shapes() {
+        Random random = new Random(1);
+        List<int[]> shapes = new ArrayList<>();
+        shapes.add(new int[0]);
+        shapes.add(new int[] { -7 });
+        for (int n : new int[] { 2, 31, 33, 1000, 100000 }) {
+            int[] sorted = new int[n];
+            int[] reversed = new int[n];
+            int[] equal = new int[n];
+            int[] few = new int[n];
+            int[] wide = new int[n];
+            for (int i = 0; i < n; i++) {
+                sorted[i] = i - n / 2;
+                reversed[i] = n / 2 - i;
+                equal[i] = 42;
+                few[i] = random.nextInt(10) - 5;
+                wide[i] = random.nextInt();
+            }
+            shapes.add(sorted);
+            shapes.add(reversed);
+            shapes.add(equal);
+            shapes.add(few);
+            shapes.add(wide);
+        }
+        return shapes;
+    }
+
+    static Item[] items(int[] keys) {
+        Item[] items = new Item[keys.length];
+        for (int i = 0; i < keys.length; i++) items[i] = new Item(keys[i], i);
+        return items;
+    }
+
+    /**
+     * Проверяет, что sorted - устойчиво упорядоченная перестановка source.
+     */
+    static void assertStablySorted(Item[] source, Item[] sorted) {
+        Item[] expected = source.clone();
+        Arrays.sort(expected, BY_KEY);
+        assertArrayEquals(expected, sorted);
+    }
+
+    /**
+     * Проверяет, что sorted - упорядоченная перестановка source (без учета устойчивости).
+     */
+    static void assertSorted(Item[] source, Item[] sorted) {
+        assertEquals(source.length, sorted.length);
+        int[] expected = new int[source.length];
+        int[] actual = new int[sorted.length];
+        boolean[] seen = new boolean[source.length];
+        for (int i = 0; i < source.length; i++) {
+            expected[i] = source[i].key;
+            actual[i] = sorted[i].key;
+            assertSame(source[sorted[i].index], sorted[i], "Foreign element at " + i);
+            assertFalse(seen[sorted[i].index], "Duplicate element at " + i);
+            seen[sorted[i].index] = true;
+        }
+        Arrays.sort(expected);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void testParallelMergeSort() {
+        for (int[] keys : shapes()) {
+            for (int cutoff : new int[] { 1, 7, Sort.PARALLEL_INSERT_CUTOFF }) {
+                Item[] source = items(keys);
+                Item[] array = source.clone();
+                Sort.parallelMergeSort(array, BY_KEY, cutoff, pool);
+                assertStablySorted(source, array);
+            }
+            Item[] source = items(keys);
+            Item[] array = source.clone();
+            Sort.parallelMergeSort(array, BY_KEY);
+            assertStablySorted(source, array);
+        }
+    }
+
+    @Test
+    void testParallelMergeSortArguments() {
+        Item[] array = items(new int[] { 3, 1, 2 });
+        assertThrows(IllegalArgumentException.class, () -> Sort.parallelMergeSort(array, BY_KEY, 0));
+        Integer[] numbers = { 3, -1, 2, Integer.MIN_VALUE, Integer.MAX_VALUE };
+        Sort.parallelMergeSort(numbers, Comparator.reverseOrder(), 1, pool);
+        assertArrayEquals(new Integer[] { Integer.MAX_VALUE, 3, 2, -1, Integer.MIN_VALUE }, numbers);
+    }
+
+    @Test
+    void testParallelMergeSortIndexes() {
+        // Сортируются индексы ключей: равные ключи должны сохранить порядок индексов.
+        for (int[] keys : shapes()) {
+            for (int cutoff : new int[] { 1, 7, Sort.PARALLEL_INSERT_CUTOFF }) {
+                int[] indexes = new int[keys.length];
+                for (int i = 0; i < indexes.length; i++) indexes[i] = i;
+                Sort.parallelMergeSort(indexes, (a, b) -> Integer.compare(keys[a], keys[b]), cutoff, pool);
+                Item[] source = items(keys);
+                Item[] sorted = new Item[keys.length];
+                for (int i = 0; i < indexes.length; i++) sorted[i] = source[indexes[i]];
+                assertStablySorted(source, sorted);
+            }
+        }
+        int[] array = { 5, -3, 0 };
+        Sort.parallelMergeSort(array, (a, b) -> Integer.compare(b, a));
+        assertArrayEquals(new int[] { 5, 0, -3 }, array);
+        assertThrows(IllegalArgumentException.class,
+                () -> Sort.parallelMergeSort(array, Integer::compare, 0, pool));
+    }
+
+    /**
+     * Наборы ключей с естественными сериями: возрастающие и убывающие серии
+     * разной длины с повторами, две серии, элементы которых чередуются
+     * при слиянии, и почти упорядоченный массив.
+     */
+    static List<int[]> runShapes() {
+        Random random = new Random(3);
+        List<int[]> shapes = new ArrayList<>();
+        for (int n : new int[] { 100, 5000, 100000 }) {
+            int[] ascending = new int[n];
+            int[] descending = new int[n];
+            for (int i = 0; i < n; ) {
+                int end = Math.min(n, i + 1 + random.nextInt(200));
+                int start = random.nextInt(100) - 50;
+                for (int j = i; j < end; j++) {
+                    ascending[j] = start + (j - i) / 3;
+                    descending[j] = start - (j - i) / 3;
+                }
+                i = end;
+            }
+            int[] blocks = new int[n];
+            for (int i = 0; i < n; i++) {
+                // Первая половина - четные числа, вторая - нечетные.
+                blocks[i] = i < n / 2 ? 2 * i : 2 * (i - n / 2) + 1;
+            }
+            int[] almostSorted = new int[n];
+            for (int i = 0; i < n; i++) almostSorted[i] = i;
+            for (int i = 0; i < 10; i++) almostSorted[random.nextInt(n)] = random.nextInt(n);
+            shapes.add(ascending);
+            shapes.add(descending);
+            shapes.add(blocks);
+            shapes.add(almostSorted);
+        }
+        return shapes;
+    }
+
+    @Test
+    void testAdaptiveMergeSort() {
+        List<int[]> shapes = shapes();
+        shapes.addAll(runShapes());
+        for (int[] keys : shapes) {
+            Item[] source = items(keys);
+            Item[] array = source.clone();
+            Sort.adaptiveMergeSort(array, BY_KEY);
+            assertStablySorted(source, array);
+
+            Integer[] numbers = new Integer[keys.length];
+            for (int i = 0; i < keys.length; i++) numbers[i] = keys[i];
+            Sort.adaptiveMergeSort(numbers);
+            int[] expected = keys.clone();
+            Arrays.sort(expected);
+            for (int i = 0; i < keys.length; i++) assertEquals(expected[i], (int) numbers[i]);
+        }
+    }
+
+    @Test
+    void testParallelSampleSort() {
+        List<int[]> shapes = shapes();
+        shapes.addAll(runShapes());
+        int[] skewed = new int[200000];
+        Random random = new Random(4);
+        // Почти все ключи равны: разделители совпадают, одна корзина получает почти все.
+        for (int i = 0; i < skewed.length; i++) skewed[i] = random.nextInt(100) == 0 ? random.nextInt() : 7;
+        shapes.add(skewed);
+        ForkJoinPool pair = new ForkJoinPool(2);
+        try {
+            for (int[] keys : shapes) {
+                for (ForkJoinPool p : Arrays.asList(pool, pair, ForkJoinPool.commonPool())) {
+                    Item[] source = items(keys);
+                    Item[] array = source.clone();
+                    Sort.parallelSampleSort(array, BY_KEY, p);
+                    assertSorted(source, array);
+                }
+            }
+        } finally {
+            pair.shutdown();
+        }
+    }
+
+    @Test
+    void testAdaptiveMergeSortIsAdaptive() {
+        // Упорядоченный и строго убывающий массивы - одна серия: n - 1 сравнение.
+        int n = 100000;
+        int[] sorted = new int[n];
+        int[] reversed = new int[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = i;
+            reversed[i] = -i;
+        }
+        for (int[] keys : Arrays.asList(sorted, reversed)) {
+            long[] comparisons = { 0 };
+            Item[] source = items(keys);
+            Item[] array = source.clone();
+            Sort.adaptiveMergeSort(array, (a, b) -> {
+                comparisons[0]++;
+                return BY_KEY.compare(a, b);
+            });
+            assertStablySorted(source, array);
+            assertEquals(n - 1, comparisons[0]);
+        }
+        // Две серии, чередующиеся блоками по 1000 ключей: слияние "галопом" переносит
+        // блоки целиком, и сравнений немного больше, чем нужно для поиска серий.
+        Item[] array = new Item[n];
+        for (int i = 0; i < n; i++) {
+            int j = i < n / 2 ? i : i - n / 2;
+            array[i] = new Item(j / 1000 * 2000 + (i < n / 2 ? 0 : 1000) + j % 1000, i);
+        }
+        Item[] source = array.clone();
+        long[] comparisons = { 0 };
+        Sort.adaptiveMergeSort(array, (a, b) -> {
+            comparisons[0]++;
+            return BY_KEY.compare(a, b);
+        });
+        assertStablySorted(source, array);
+        assertTrue(comparisons[0] < n + n / 10, "Too many comparisons: " + comparisons[0]);
+    }
+
+    private static Integer[] boxed(int[] keys) {
+        Integer[] array = new Integer[keys.length];
+        for (int i = 0; i < keys.length; i++) array[i] = keys[i];
+        return array;
+    }
+
+    /**
+     * Наборы ключей для выбора: общие наборы и "органная труба", на которой
+     * медиана трех часто оказывается неудачным опорным элементом.
+     */
+    private static List<int[]> selectShapes() {
+        List<int[]> shapes = shapes();
+        int n = 20000;
+        int[] organPipe = new int[n];
+        for (int i = 0; i < n; i++) organPipe[i] = i < n / 2 ? i : n - i;
+        shapes.add(organPipe);
+        return shapes;
+    }
+
+    @Test
+    void testSelect() {
+        for (int[] keys : selectShapes()) {
+            int n = keys.length;
+            int[] sorted = keys.clone();
+            Arrays.sort(sorted);
+            for (int k : new int[] { 0, 1, n / 2, n - 2, n - 1 }) {
+                if (k < 0 || k >= n) continue;
+                Integer[] array = boxed(keys);
+                assertEquals(sorted[k], (int) Sort.select(array, k));
+                assertEquals(sorted[k], (int) array[k]);
+                for (int i = 0; i < k; i++) assertTrue(array[i] <= array[k], "Greater element left of k");
+                for (int i = k + 1; i < n; i++) assertTrue(array[i] >= array[k], "Smaller element right of k");
+                Arrays.sort(array);
+                assertArrayEquals(boxed(sorted), array);
+            }
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> Sort.select(new Integer[0], 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> Sort.select(new Integer[] { 1, 2 }, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> Sort.select(new Integer[] { 1, 2 }, 2));
+    }
+
+    @Test
+    void testPartialSort() {
+        for (int[] keys : selectShapes()) {
+            int n = keys.length;
+            int[] sorted = keys.clone();
+            Arrays.sort(sorted);
+            for (int k : new int[] { 0, 1, 10, n - 1, n }) {
+                if (k < 0 || k > n) continue;
+                Integer[] array = boxed(keys);
+                Sort.partialSort(array, k);
+                for (int i = 0; i < k; i++) assertEquals(sorted[i], (int) array[i]);
+                Arrays.sort(array);
+                assertArrayEquals(boxed(sorted), array);
+            }
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> Sort.partialSort(new Integer[] { 1 }, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> Sort.partialSort(new Integer[] { 1 }, 2));
+    }
+
+    @Test
+    void testTopK() {
+        for (int[] keys : selectShapes()) {
+            int n = keys.length;
+            int[] sorted = keys.clone();
+            Arrays.sort(sorted);
+            for (int k : new int[] { 0, 1, 10, n - 1, n, n + 1 }) {
+                if (k < 0) continue;
+                List<Integer> top = Sort.topK(Arrays.asList(boxed(keys)).iterator(), k);
+                assertEquals(Math.min(k, n), top.size());
+                for (int i = 0; i < top.size(); i++) assertEquals(sorted[i], (int) top.get(i));
+            }
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> Sort.topK(Arrays.asList(1, 2).iterator(), -1));
+    }
+}
@@ -0,0 +1,104 @@
+package queues;
+
+/**
+ * Неограниченная очередь из связанных массивов фиксированного размера (сегментов).
+ * <p>
+ * В отличие от {@link LinkedQueue}, которая создает новый узел на каждый enqueue,
+ * здесь один сегмент хранит сразу chunkSize элементов, а освободившиеся сегменты
+ * не выбрасываются, а складываются в небольшой пул и используются повторно.
+ * Поэтому при установившемся потоке элементов новые объекты почти не создаются,
+ * а очередь при этом остается неограниченной.
+ */
+public class ChunkedQueue<T> implements Queue<T> {
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+    private static final int MAX_POOL_SIZE = 4;
+
+    private static class Segment {
+        final Object[] items;
+        Segment next;
+        Segment(int size) { items = new Object[size]; }
+    }
+
+    private final int chunkSize;
+
+    // Первый сегмент и индекс первого элемента в нем.
+    private Segment head;
+    private int headIndex;
+    // Последний сегмент и индекс первой свободной ячейки в нем.
+    private Segment tail;
+    private int tailIndex;
+
+    // Пул освободившихся сегментов, связанных через next.
+    private Segment pool;
+    private int poolSize;
+
+    public ChunkedQueue() { this(DEFAULT_CHUNK_SIZE); }
+
+    public ChunkedQueue(int chunkSize) {
+        if (chunkSize < 1) throw new IllegalArgumentException("Illegal chunk size: " + chunkSize);
+        this.chunkSize = chunkSize;
+        head = tail = new Segment(chunkSize);
+    }
+
+    @Override
+    public void enqueue(T e) {
+        if (tailIndex == chunkSize) {
+            Segment s = allocate();
+            tail.next = s;
+            tail = s;
+            tailIndex = 0;
+        }
+        tail.items[tailIndex++] = e;
+    }
+
+    @Override
+    public T dequeue() {
+        if (isEmpty()) throw new UnderflowException();
+        @SuppressWarnings("unchecked")
+        T e = (T) head.items[headIndex];
+        head.items[headIndex++] = null;
+        if (head == tail) {
+            // Очередь опустела: начинаем заполнять тот же сегмент с начала.
+            if (headIndex == tailIndex) headIndex = tailIndex = 0;
+        } else if (headIndex == chunkSize) {
+            Segment s = head;
+            head = s.next;
+            headIndex = 0;
+            release(s);
+        }
+        return e;
+    }
+
+    @Override
+    public T pick() {
+        if (isEmpty()) throw new UnderflowException();
+        @SuppressWarnings("unchecked")
+        T e = (T) head.items[headIndex];
+        return e;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head == tail && headIndex == tailIndex;
+    }
+
+    private Segment allocate() {
+        if (pool == null) return new Segment(chunkSize);
+        Segment s = pool;
+        pool = s.next;
+        s.next = null;
+        poolSize--;
+        return s;
+    }
+
+    private void release(Segment s) {
+        // Ячейки сегмента уже очищены при извлечении элементов.
+        if (poolSize == MAX_POOL_SIZE) {
+            s.next = null;
+            return;
+        }
+        s.next = pool;
+        pool = s;
+        poolSize++;
+    }
+}
@@ -0,0 +1,62 @@
+package queues;
+
+import java.util.Arrays;
+
+/**
+ * Очередь значений double на кольцевом растущем массиве, аналог {@link CircleQueue}
+ * без упаковки в Double и без создания узла на каждый элемент.
+ */
+public class DoubleCircleQueue {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private double[] queue;
+    private int head = 0;
+    private int count = 0;
+
+    public DoubleCircleQueue() { this(DEFAULT_CAPACITY); }
+
+    public DoubleCircleQueue(int capacity) {
+        queue = new double[Math.max(capacity, 1)];
+    }
+
+    public void enqueue(double e) {
+        if (count == queue.length) grow();
+        int tail = head + count;
+        if (tail >= queue.length) tail -= queue.length;
+        queue[tail] = e;
+        count++;
+    }
+
+    public double dequeue() {
+        if (count == 0) throw new Queue.UnderflowException();
+        double e = queue[head];
+        if (++head == queue.length) head = 0;
+        count--;
+        return e;
+    }
+
+    public double pick() {
+        if (count == 0) throw new Queue.UnderflowException();
+        return queue[head];
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public void clear() {
+        head = count = 0;
+    }
+
+    // Удваивает массив, переписывая элементы с начала, чтобы кольцо не разрывалось.
+    private void grow() {
+        double[] larger = Arrays.copyOfRange(queue, head, head + queue.length * 2);
+        System.arraycopy(queue, 0, larger, queue.length - head, head);
+        queue = larger;
+        head = 0;
+    }
+}
@@ -0,0 +1,341 @@
+package queues;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Очередь, содержимое которой сохраняется в файлах и переживает перезапуск процесса.
+ * <p>
+ * Элементы дописываются в конец журнала - последовательности файлов-сегментов
+ * одинакового размера, отображаемых в память (MappedByteBuffer). Запись в журнале -
+ * длина записи в байтах вместе с заголовком (int) и байты элемента, полученные
+ * с помощью {@link Serializer}. Новый сегмент заполнен нулями, поэтому длина 0
+ * означает конец записанных данных; длина -1 - переход к следующему сегменту.
+ * Позиция чтения (номер сегмента и смещение в нем) хранится в отдельном маленьком
+ * отображаемом файле, поэтому после перезапуска чтение продолжается с того же места.
+ * Полностью прочитанные сегменты удаляются не сразу, а при закрытии очереди
+ * ({@link #close()}) и при ее открытии: пока сегмент отображен в память, удалить
+ * его файл можно не во всех системах (в Windows нельзя), а отображение
+ * освобождается только сборщиком мусора. Если при закрытии файл удалить
+ * не удалось, он будет удален при следующем открытии, когда в процессе еще
+ * нет отображений.
+ * <p>
+ * Сброс изменений на диск (force) выполняется пачками: после forceEvery операций
+ * или если с последнего сброса прошло больше forceIntervalMillis миллисекунд
+ * (проверяется при очередной операции, отдельного потока нет). Метод {@link #flush()}
+ * сбрасывает изменения немедленно. До сброса данные защищены от падения процесса,
+ * но не от сбоя операционной системы.
+ * <p>
+ * Очередь не потокобезопасна. Ошибки ввода-вывода передаются как UncheckedIOException.
+ */
+public class JournalQueue<T> implements Queue<T>, Closeable {
+    /**
+     * Преобразование элементов в байты и обратно.
+     */
+    public interface Serializer<T> {
+        /**
+         * Записывает элемент в буфер, начиная с текущей позиции.
+         * Если элемент не помещается, должно возникать BufferOverflowException.
+         */
+        void write(T e, ByteBuffer buffer);
+
+        /**
+         * Читает элемент из буфера: байты элемента находятся между position и limit.
+         */
+        T read(ByteBuffer buffer);
+    }
+
+    /** Сериализатор строк в кодировке UTF-8. */
+    public static final Serializer<String> UTF8 = new Serializer<String>() {
+        @Override
+        public void write(String e, ByteBuffer buffer) {
+            buffer.put(e.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String read(ByteBuffer buffer) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 26;
+
+    private static final String SEGMENT_SUFFIX = ".segment";
+    private static final String OFFSET_FILE = "read.offset";
+    private static final int HEADER = Integer.BYTES;
+    private static final int END_OF_DATA = 0;
+    private static final int NEXT_SEGMENT = -1;
+
+    private final Path directory;
+    private final Serializer<T> serializer;
+    private final int segmentSize;
+    private final int forceEvery;
+    private final long forceIntervalNanos;
+
+    private long writeSegment;
+    private MappedByteBuffer writeBuffer;
+    private long readSegment;
+    private ByteBuffer readBuffer;
+    // Номер сегмента и смещение позиции чтения.
+    private final MappedByteBuffer offset;
+
+    private int unforced = 0;
+    private long lastForce = System.nanoTime();
+    private boolean readDirty = false;
+
+    /**
+     * Открывает (или создает) очередь в каталоге directory с размером сегмента
+     * по умолчанию, сбрасывая изменения на диск каждые 1000 операций или 100 мс.
+     */
+    public JournalQueue(Path directory, Serializer<T> serializer) throws IOException {
+        this(directory, serializer, DEFAULT_SEGMENT_SIZE, 1000, 100);
+    }
+
+    /**
+     * Открывает (или создает) очередь в каталоге directory.
+     * @param segmentSize Размер файла-сегмента в байтах
+     * @param forceEvery Число операций между сбросами на диск (0 - не сбрасывать по числу)
+     * @param forceIntervalMillis Время между сбросами на диск (0 - не сбрасывать по времени)
+     */
+    public JournalQueue(Path directory, Serializer<T> serializer,
+            int segmentSize, int forceEvery, long forceIntervalMillis) throws IOException {
+        if (segmentSize < 2 * HEADER) {
+            throw new IllegalArgumentException("Illegal segment size: " + segmentSize);
+        }
+        if (forceEvery < 0 || forceIntervalMillis < 0) {
+            throw new IllegalArgumentException("Illegal force policy");
+        }
+        this.directory = directory;
+        this.serializer = serializer;
+        this.segmentSize = segmentSize;
+        this.forceEvery = forceEvery;
+        this.forceIntervalNanos = forceIntervalMillis * 1_000_000;
+
+        Files.createDirectories(directory);
+        List<Long> segments = listSegments();
+        offset = map(directory.resolve(OFFSET_FILE), 2 * Long.BYTES);
+        if (segments.isEmpty()) {
+            // Новая очередь.
+            writeSegment = readSegment = 0;
+            writeBuffer = map(segmentPath(0), segmentSize);
+            readBuffer = writeBuffer.duplicate();
+            saveReadPosition();
+        } else {
+            writeSegment = segments.get(segments.size() - 1);
+            writeBuffer = map(segmentPath(writeSegment), segmentSize);
+            readSegment = Math.max(offset.getLong(0), segments.get(0));
+            long readPosition = readSegment == offset.getLong(0) ? offset.getLong(Long.BYTES) : 0;
+            readBuffer = readSegment == writeSegment
+                    ? writeBuffer.duplicate() : map(segmentPath(readSegment), segmentSize);
+            readBuffer.position((int) readPosition);
+            // Ищем конец записанных данных в последнем сегменте.
+            int position = readSegment == writeSegment ? (int) readPosition : 0;
+            while (position + HEADER <= segmentSize) {
+                int length = writeBuffer.getInt(position);
+                if (length == END_OF_DATA) break;
+                position = length == NEXT_SEGMENT ? segmentSize : position + length;
+            }
+            writeBuffer.position(Math.min(position, segmentSize));
+        }
+        deleteReadSegments();
+    }
+
+    @Override
+    public void enqueue(T e) {
+        int start = writeBuffer.position();
+        if (start + HEADER <= segmentSize) {
+            if (write(e, writeBuffer, start)) {
+                commit(start);
+                return;
+            }
+            if (start == 0) throw new OverflowException("Element does not fit in a segment");
+        }
+        // Элемент не помещается в остаток сегмента: записываем его сразу в начало
+        // следующего сегмента. Переход к нему отмечается (NEXT_SEGMENT) только после того,
+        // как элемент поместился; иначе очередь остается в текущем сегменте, а пустой
+        // следующий сегмент будет использован при очередном переходе.
+        MappedByteBuffer next = map(segmentPath(writeSegment + 1), segmentSize);
+        if (!write(e, next, 0)) throw new OverflowException("Element does not fit in a segment");
+        if (start + HEADER <= segmentSize) writeBuffer.putInt(start, NEXT_SEGMENT);
+        writeBuffer.force();
+        writeSegment++;
+        writeBuffer = next;
+        commit(0);
+    }
+
+    /**
+     * Записывает байты элемента в буфер после заголовка записи, начинающейся с позиции start.
+     * @return true, если элемент поместился; false, если нет (буфер остается прежним)
+     */
+    private boolean write(T e, ByteBuffer buffer, int start) {
+        boolean written = false;
+        buffer.position(start + HEADER);
+        try {
+            serializer.write(e, buffer);
+            written = true;
+        } catch (BufferOverflowException ex) {
+            return false;
+        } finally {
+            if (!written) {
+                // При любой ошибке стираем частично записанные байты: заголовок остается
+                // нулевым (конец данных), и следующая запись начнется с того же места.
+                for (int i = buffer.position() - 1; i >= start + HEADER; i--) {
+                    buffer.put(i, (byte) 0);
+                }
+                buffer.position(start);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Завершает запись, начатую с позиции start.
+     */
+    private void commit(int start) {
+        // Длина пишется последней: до этого запись выглядит как конец данных.
+        writeBuffer.putInt(start, writeBuffer.position() - start);
+        afterOperation();
+    }
+
+    @Override
+    public T dequeue() {
+        T e = read(true);
+        saveReadPosition();
+        afterOperation();
+        return e;
+    }
+
+    @Override
+    public T pick() {
+        return read(false);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (readSegment != writeSegment) return false;
+        return readBuffer.position() == writeBuffer.position();
+    }
+
+    /**
+     * Немедленно сбрасывает записанные элементы и позицию чтения на диск.
+     */
+    public void flush() {
+        writeBuffer.force();
+        if (readDirty) {
+            offset.force();
+            readDirty = false;
+        }
+        unforced = 0;
+        lastForce = System.nanoTime();
+    }
+
+    /**
+     * Сбрасывает изменения на диск и удаляет прочитанные сегменты.
+     */
+    @Override
+    public void close() {
+        flush();
+        deleteReadSegments();
+    }
+
+    private T read(boolean advance) {
+        if (isEmpty()) throw new UnderflowException();
+        int position = readBuffer.position();
+        int length = position + HEADER <= segmentSize ? readBuffer.getInt(position) : NEXT_SEGMENT;
+        if (length == NEXT_SEGMENT || length == END_OF_DATA) {
+            // Сегмент прочитан полностью (END_OF_DATA здесь возможен только в конце сегмента
+            // или если запись следующего элемента перешла в уже существующий следующий сегмент).
+            rollReadSegment();
+            return read(advance);
+        }
+        ByteBuffer record = readBuffer.duplicate();
+        record.limit(position + length).position(position + HEADER);
+        T e = serializer.read(record);
+        if (advance) readBuffer.position(position + length);
+        return e;
+    }
+
+    private void rollReadSegment() {
+        readSegment++;
+        readBuffer = readSegment == writeSegment
+                ? writeBuffer.duplicate() : map(segmentPath(readSegment), segmentSize);
+        readBuffer.position(0);
+        saveReadPosition();
+    }
+
+    /**
+     * Удаляет сегменты, прочитанные полностью (с номерами меньше readSegment).
+     * Сегмент, который еще отображен в память, удалить может не получиться
+     * (в Windows отображаемый файл не удаляется), тогда он будет удален при
+     * следующем открытии очереди.
+     */
+    private void deleteReadSegments() {
+        try {
+            for (long segment : listSegments()) {
+                if (segment >= readSegment) break;
+                try {
+                    Files.deleteIfExists(segmentPath(segment));
+                } catch (IOException ex) {
+                    // Удалим при следующем открытии.
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void saveReadPosition() {
+        offset.putLong(0, readSegment);
+        offset.putLong(Long.BYTES, readBuffer.position());
+        readDirty = true;
+    }
+
+    private void afterOperation() {
+        unforced++;
+        if ((forceEvery > 0 && unforced >= forceEvery)
+                || (forceIntervalNanos > 0 && System.nanoTime() - lastForce >= forceIntervalNanos)) {
+            flush();
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%016d%s", segment, SEGMENT_SUFFIX));
+    }
+
+    private List<Long> listSegments() throws IOException {
+        List<Long> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .forEach(name -> segments.add(
+                            Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()))));
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    private static MappedByteBuffer map(Path path, int size) {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Отображение остается действительным и после закрытия канала.
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -30,6 +30,7 @@ public class LinkedQueue<T> implements Queue<T> {
         if (first == null) throw new UnderflowException();
         Node<T> ret = first;
         first = first.next;
+        if (first == null) last = null;
         ret.next = null;
         return ret.info;
     }
@@ -0,0 +1,62 @@
+package queues;
+
+import java.util.Arrays;
+
+/**
+ * Очередь значений long на кольцевом растущем массиве, аналог {@link CircleQueue}
+ * без упаковки в Long и без создания узла на каждый элемент.
+ */
+public class LongCircleQueue {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] queue;
+    private int head = 0;
+    private int count = 0;
+
+    public LongCircleQueue() { this(DEFAULT_CAPACITY); }
+
+    public LongCircleQueue(int capacity) {
+        queue = new long[Math.max(capacity, 1)];
+    }
+
+    public void enqueue(long e) {
+        if (count == queue.length) grow();
+        int tail = head + count;
+        if (tail >= queue.length) tail -= queue.length;
+        queue[tail] = e;
+        count++;
+    }
+
+    public long dequeue() {
+        if (count == 0) throw new Queue.UnderflowException();
+        long e = queue[head];
+        if (++head == queue.length) head = 0;
+        count--;
+        return e;
+    }
+
+    public long pick() {
+        if (count == 0) throw new Queue.UnderflowException();
+        return queue[head];
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public void clear() {
+        head = count = 0;
+    }
+
+    // Удваивает массив, переписывая элементы с начала, чтобы кольцо не разрывалось.
+    private void grow() {
+        long[] larger = Arrays.copyOfRange(queue, head, head + queue.length * 2);
+        System.arraycopy(queue, 0, larger, queue.length - head, head);
+        queue = larger;
+        head = 0;
+    }
+}
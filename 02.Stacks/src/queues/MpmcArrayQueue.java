@@ -0,0 +1,176 @@
+package queues;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Ограниченная очередь без блокировок для нескольких производителей
+ * и нескольких потребителей (кольцевой буфер Вьюкова).
+ * <p>
+ * У каждой ячейки буфера есть порядковый номер. Производитель, захвативший
+ * позицию pos (увеличив tail с помощью CAS), может писать в ячейку, если ее
+ * номер равен pos; записав элемент, он устанавливает номер pos + 1.
+ * Потребитель, захвативший позицию pos (увеличив head), ждет номера pos + 1
+ * и после чтения освобождает ячейку для следующего круга, устанавливая номер
+ * pos + capacity. Счетчики head и tail отделены друг от друга и от остальных
+ * полей заполнителями, чтобы не попадать в одну строку кэша.
+ * <p>
+ * Элементы null не допускаются.
+ */
+public class MpmcArrayQueue<T> extends MpmcHeadPadding implements Queue<T> {
+    private static final AtomicLongFieldUpdater<MpmcTail> TAIL =
+            AtomicLongFieldUpdater.newUpdater(MpmcTail.class, "tail");
+    private static final AtomicLongFieldUpdater<MpmcHead> HEAD =
+            AtomicLongFieldUpdater.newUpdater(MpmcHead.class, "head");
+
+    private final Object[] buffer;
+    private final AtomicLongArray sequence;
+    private final int mask;
+
+    /**
+     * Создает очередь емкостью не меньше capacity элементов
+     * (емкость округляется вверх до степени двойки).
+     */
+    public MpmcArrayQueue(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        buffer = new Object[size];
+        sequence = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequence.lazySet(i, i);
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Добавляет элемент в очередь.
+     * @return false, если очередь заполнена
+     */
+    public boolean offer(T e) {
+        if (e == null) throw new NullPointerException();
+        long pos = tail;
+        for (;;) {
+            int index = (int) pos & mask;
+            long diff = sequence.get(index) - pos;
+            if (diff == 0) {
+                if (TAIL.compareAndSet(this, pos, pos + 1)) {
+                    buffer[index] = e;
+                    sequence.lazySet(index, pos + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                // Ячейка еще не освобождена потребителем предыдущего круга.
+                return false;
+            }
+            pos = tail;
+        }
+    }
+
+    /**
+     * Извлекает элемент из очереди.
+     * @return первый элемент очереди или null, если очередь пуста
+     */
+    public T poll() {
+        long pos = head;
+        for (;;) {
+            int index = (int) pos & mask;
+            long diff = sequence.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (HEAD.compareAndSet(this, pos, pos + 1)) {
+                    @SuppressWarnings("unchecked")
+                    T e = (T) buffer[index];
+                    buffer[index] = null;
+                    sequence.lazySet(index, pos + mask + 1);
+                    return e;
+                }
+            } else if (diff < 0) {
+                // Производитель еще не записал элемент в эту ячейку.
+                return null;
+            }
+            pos = head;
+        }
+    }
+
+    /**
+     * Первый элемент очереди без извлечения.
+     * @return первый элемент очереди или null, если очередь пуста
+     */
+    public T peek() {
+        for (;;) {
+            long pos = head;
+            int index = (int) pos & mask;
+            if (sequence.get(index) != pos + 1) {
+                if (pos == head) return null;
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            T e = (T) buffer[index];
+            // Элемент мог быть извлечен другим потребителем, пока мы его читали.
+            if (e != null && pos == head) return e;
+        }
+    }
+
+    @Override
+    public void enqueue(T e) {
+        if (!offer(e)) throw new OverflowException();
+    }
+
+    @Override
+    public T dequeue() {
+        T e = poll();
+        if (e == null) throw new UnderflowException();
+        return e;
+    }
+
+    @Override
+    public T pick() {
+        T e = peek();
+        if (e == null) throw new UnderflowException();
+        return e;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    /**
+     * Число элементов в очереди (при одновременной работе других потоков - приблизительное).
+     */
+    public int size() {
+        for (;;) {
+            long h = head;
+            long t = tail;
+            if (h == head) return (int) Math.max(0, Math.min(t - h, buffer.length));
+        }
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+}
+
+// Заполнители: счетчики head и tail занимают каждый свою строку кэша.
+// Порядок полей в памяти сохраняется только между классами иерархии,
+// поэтому заполнители объявлены в отдельных классах-предках.
+abstract class MpmcTailPadding {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class MpmcTail extends MpmcTailPadding {
+    volatile long tail;
+}
+
+abstract class MpmcHeadPadding0 extends MpmcTail {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class MpmcHead extends MpmcHeadPadding0 {
+    volatile long head;
+}
+
+abstract class MpmcHeadPadding extends MpmcHead {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+}
@@ -0,0 +1,167 @@
+package queues;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Consumer;
+
+/**
+ * Ограниченная очередь для передачи элементов от одного потока другому:
+ * ровно один производитель и ровно один потребитель (очередь Лампорта).
+ * <p>
+ * Элементы хранятся в кольцевом массиве, как в {@link ArrayQueue}, но вместо
+ * начала и длины очереди хранятся два счетчика: tail меняет только производитель,
+ * head - только потребитель. Поэтому обе операции выполняются без CAS и без
+ * ожидания: счетчик публикуется отложенной записью (lazySet), которая не требует
+ * полного барьера памяти. Каждая сторона запоминает последнее прочитанное
+ * значение чужого счетчика и перечитывает его (обращаясь к чужой строке кэша)
+ * только тогда, когда по запомненному значению очередь полна или пуста.
+ * Метод {@link #drain} забирает сразу пачку элементов и публикует новое
+ * значение head один раз на всю пачку.
+ * <p>
+ * Элементы null не допускаются.
+ */
+public class SpscArrayQueue<T> extends SpscConsumerFields implements Queue<T> {
+    private static final AtomicLongFieldUpdater<SpscProducerFields> TAIL =
+            AtomicLongFieldUpdater.newUpdater(SpscProducerFields.class, "tail");
+    private static final AtomicLongFieldUpdater<SpscConsumerFields> HEAD =
+            AtomicLongFieldUpdater.newUpdater(SpscConsumerFields.class, "head");
+
+    private final Object[] buffer;
+    private final int mask;
+
+    /**
+     * Создает очередь емкостью не меньше capacity элементов
+     * (емкость округляется вверх до степени двойки).
+     */
+    public SpscArrayQueue(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        buffer = new Object[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Добавляет элемент в очередь. Вызывается только потоком-производителем.
+     * @return false, если очередь заполнена
+     */
+    public boolean offer(T e) {
+        if (e == null) throw new NullPointerException();
+        long t = tail;
+        if (t - headCache >= buffer.length) {
+            headCache = head;
+            if (t - headCache >= buffer.length) return false;
+        }
+        buffer[(int) t & mask] = e;
+        TAIL.lazySet(this, t + 1);
+        return true;
+    }
+
+    /**
+     * Извлекает элемент из очереди. Вызывается только потоком-потребителем.
+     * @return первый элемент очереди или null, если очередь пуста
+     */
+    public T poll() {
+        long h = head;
+        if (h == tailCache) {
+            tailCache = tail;
+            if (h == tailCache) return null;
+        }
+        int index = (int) h & mask;
+        @SuppressWarnings("unchecked")
+        T e = (T) buffer[index];
+        buffer[index] = null;
+        HEAD.lazySet(this, h + 1);
+        return e;
+    }
+
+    /**
+     * Первый элемент очереди без извлечения. Вызывается только потоком-потребителем.
+     * @return первый элемент очереди или null, если очередь пуста
+     */
+    public T peek() {
+        long h = head;
+        if (h == tailCache) {
+            tailCache = tail;
+            if (h == tailCache) return null;
+        }
+        @SuppressWarnings("unchecked")
+        T e = (T) buffer[(int) h & mask];
+        return e;
+    }
+
+    /**
+     * Извлекает из очереди не больше max элементов и передает их consumer.
+     * Вызывается только потоком-потребителем.
+     * @return число извлеченных элементов
+     */
+    public int drain(Consumer<? super T> consumer, int max) {
+        long h = head;
+        long available = tailCache - h;
+        if (available < max) {
+            tailCache = tail;
+            available = tailCache - h;
+        }
+        int n = (int) Math.min(available, max);
+        for (int i = 0; i < n; i++) {
+            int index = (int) (h + i) & mask;
+            @SuppressWarnings("unchecked")
+            T e = (T) buffer[index];
+            buffer[index] = null;
+            consumer.accept(e);
+        }
+        if (n > 0) HEAD.lazySet(this, h + n);
+        return n;
+    }
+
+    @Override
+    public void enqueue(T e) {
+        if (!offer(e)) throw new OverflowException();
+    }
+
+    @Override
+    public T dequeue() {
+        T e = poll();
+        if (e == null) throw new UnderflowException();
+        return e;
+    }
+
+    @Override
+    public T pick() {
+        T e = peek();
+        if (e == null) throw new UnderflowException();
+        return e;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+}
+
+// Поля производителя и потребителя разнесены по разным строкам кэша
+// (порядок полей в памяти сохраняется только между классами иерархии).
+abstract class SpscProducerPadding {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class SpscProducerFields extends SpscProducerPadding {
+    volatile long tail;
+    // Последнее прочитанное производителем значение head.
+    long headCache;
+}
+
+abstract class SpscConsumerPadding extends SpscProducerFields {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class SpscConsumerFields extends SpscConsumerPadding {
+    volatile long head;
+    // Последнее прочитанное потребителем значение tail.
+    long tailCache;
+    long p20, p21, p22, p23, p24, p25, p26;
+}
@@ -0,0 +1,119 @@
+package stacks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Потокобезопасный вариант {@link StacksSystem}: много стеков в одном общем пуле ячеек.
+ * <p>
+ * Ячейки адресуются индексами int, поэтому размер пула не ограничен 32K.
+ * Каждый стек, полученный через {@link #getStack()}, должен использоваться одним
+ * потоком (или потоками по очереди с внешней синхронизацией), но разные стеки
+ * можно одновременно менять из разных потоков. Общий для всех стеков список
+ * свободных ячеек - неблокирующий стек Трайбера. Чтобы избежать проблемы ABA,
+ * его вершина хранится в одном long вместе со счетчиком изменений (stamp).
+ * После заполнения пула push и pop не создают новых объектов.
+ */
+public class ConcurrentStacksSystem<T> {
+    private static final int NIL = -1;
+
+    private final Object[] info;
+    private final AtomicIntegerArray next;
+
+    // Число ячеек, которые хотя бы раз выдавались из пула.
+    private final AtomicInteger fill = new AtomicInteger();
+    // Вершина списка свободных ячеек: старшие 32 бита - stamp, младшие - индекс.
+    private final AtomicLong free = new AtomicLong(pack(0, NIL));
+
+    private class InternalStack implements Stack<T> {
+        int top = NIL;
+
+        @Override
+        public void push(T elem) {
+            int index = getElement();
+            info[index] = elem;
+            next.lazySet(index, top);
+            top = index;
+        }
+
+        @Override
+        public T pop() {
+            if (top == NIL) throw new StackUnderflow();
+            int index = top;
+            @SuppressWarnings("unchecked")
+            T result = (T) info[index];
+            top = next.get(index);
+            freeElement(index);
+            return result;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return top == NIL;
+        }
+
+        @Override
+        public T top() {
+            if (top == NIL) throw new StackUnderflow();
+            @SuppressWarnings("unchecked")
+            T result = (T) info[top];
+            return result;
+        }
+    }
+
+    public ConcurrentStacksSystem(int size) {
+        if (size < 1) throw new IllegalArgumentException("Illegal size: " + size);
+        info = new Object[size];
+        next = new AtomicIntegerArray(size);
+    }
+
+    public Stack<T> getStack() { return new InternalStack(); }
+
+    private int getElement() {
+        int index = tryGetFree();
+        if (index != NIL) return index;
+        for (;;) {
+            int f = fill.get();
+            if (f == info.length) {
+                // Пока пул заполнялся, другие потоки могли освободить ячейки.
+                index = tryGetFree();
+                if (index == NIL) throw new Stack.StackOverflow();
+                return index;
+            }
+            if (fill.compareAndSet(f, f + 1)) return f;
+        }
+    }
+
+    private int tryGetFree() {
+        for (;;) {
+            long head = free.get();
+            int index = index(head);
+            if (index == NIL) return NIL;
+            if (free.compareAndSet(head, pack(stamp(head) + 1, next.get(index)))) {
+                return index;
+            }
+        }
+    }
+
+    private void freeElement(int index) {
+        info[index] = null;
+        for (;;) {
+            long head = free.get();
+            next.set(index, index(head));
+            if (free.compareAndSet(head, pack(stamp(head) + 1, index))) return;
+        }
+    }
+
+    private static long pack(int stamp, int index) {
+        return ((long) stamp << 32) | (index & 0xFFFFFFFFL);
+    }
+
+    private static int stamp(long head) {
+        return (int) (head >>> 32);
+    }
+
+    private static int index(long head) {
+        return (int) head;
+    }
+}
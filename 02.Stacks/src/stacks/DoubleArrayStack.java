@@ -0,0 +1,46 @@
+package stacks;
+
+import java.util.Arrays;
+
+/**
+ * Стек значений double на растущем массиве, аналог {@link ArrayStack} без упаковки в Double.
+ */
+public class DoubleArrayStack {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private double[] stack;
+    private int top = 0;
+
+    public DoubleArrayStack() { this(DEFAULT_CAPACITY); }
+
+    public DoubleArrayStack(int capacity) {
+        stack = new double[Math.max(capacity, 1)];
+    }
+
+    public void push(double elem) {
+        if (top == stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+        stack[top++] = elem;
+    }
+
+    public double pop() {
+        if (top == 0) throw new Stack.StackUnderflow();
+        return stack[--top];
+    }
+
+    public double top() {
+        if (top == 0) throw new Stack.StackUnderflow();
+        return stack[top - 1];
+    }
+
+    public boolean isEmpty() {
+        return top == 0;
+    }
+
+    public int size() {
+        return top;
+    }
+
+    public void clear() {
+        top = 0;
+    }
+}
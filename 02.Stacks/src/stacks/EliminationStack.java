@@ -0,0 +1,100 @@
+package stacks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Неблокирующий стек Трайбера с массивом исключения (elimination backoff).
+ * <p>
+ * Вершина стека меняется с помощью CAS. Если CAS не удался из-за конкуренции,
+ * операция не повторяется сразу, а пытается встретиться с противоположной
+ * операцией в случайной ячейке массива исключения: push оставляет в ячейке свой
+ * узел и недолго ждет, pop забирает из ячейки оставленный узел. Встретившиеся push
+ * и pop взаимно уничтожаются, не обращаясь к вершине стека, поэтому при большом
+ * числе потоков вершина становится узким местом гораздо реже.
+ * <p>
+ * Методы {@link #isEmpty()} и {@link #top()} возвращают состояние стека на момент
+ * чтения вершины, которое к моменту возврата может уже измениться.
+ */
+public class EliminationStack<T> implements Stack<T> {
+    private static class Node<T> {
+        final T info;
+        Node<T> next;
+        Node(T info) { this.info = info; }
+    }
+
+    // Число проверок ячейки, пока push ждет встречную операцию pop.
+    private static final int SPINS = 64;
+
+    private final AtomicReference<Node<T>> top = new AtomicReference<>();
+    private final AtomicReferenceArray<Node<T>> eliminationArray;
+
+    public EliminationStack() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    public EliminationStack(int eliminationSize) {
+        if (eliminationSize < 1) throw new IllegalArgumentException("Illegal size: " + eliminationSize);
+        eliminationArray = new AtomicReferenceArray<>(eliminationSize);
+    }
+
+    @Override
+    public void push(T elem) {
+        Node<T> node = new Node<>(elem);
+        for (;;) {
+            Node<T> oldTop = top.get();
+            node.next = oldTop;
+            if (top.compareAndSet(oldTop, node)) return;
+            if (tryEliminatePush(node)) return;
+        }
+    }
+
+    @Override
+    public T pop() {
+        for (;;) {
+            Node<T> oldTop = top.get();
+            if (oldTop == null) throw new StackUnderflow();
+            if (top.compareAndSet(oldTop, oldTop.next)) return oldTop.info;
+            Node<T> node = tryEliminatePop();
+            if (node != null) return node.info;
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return top.get() == null;
+    }
+
+    @Override
+    public T top() {
+        Node<T> t = top.get();
+        if (t == null) throw new StackUnderflow();
+        return t.info;
+    }
+
+    /**
+     * Оставляет узел в случайной ячейке и ждет, пока его заберет pop.
+     * @return true, если узел забран и push завершен
+     */
+    private boolean tryEliminatePush(Node<T> node) {
+        int slot = ThreadLocalRandom.current().nextInt(eliminationArray.length());
+        if (!eliminationArray.compareAndSet(slot, null, node)) return false;
+        for (int i = 0; i < SPINS; i++) {
+            if (eliminationArray.get(slot) != node) return true;
+        }
+        // Встречный pop не пришел: забираем узел обратно, если его не успели взять.
+        return !eliminationArray.compareAndSet(slot, node, null);
+    }
+
+    /**
+     * Забирает узел, оставленный в случайной ячейке операцией push.
+     * @return забранный узел или null, если встретиться не удалось
+     */
+    private Node<T> tryEliminatePop() {
+        int slot = ThreadLocalRandom.current().nextInt(eliminationArray.length());
+        Node<T> node = eliminationArray.get(slot);
+        if (node != null && eliminationArray.compareAndSet(slot, node, null)) return node;
+        return null;
+    }
+}
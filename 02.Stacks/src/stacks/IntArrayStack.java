@@ -0,0 +1,46 @@
+package stacks;
+
+import java.util.Arrays;
+
+/**
+ * Стек значений int на растущем массиве, аналог {@link ArrayStack} без упаковки в Integer.
+ */
+public class IntArrayStack {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] stack;
+    private int top = 0;
+
+    public IntArrayStack() { this(DEFAULT_CAPACITY); }
+
+    public IntArrayStack(int capacity) {
+        stack = new int[Math.max(capacity, 1)];
+    }
+
+    public void push(int elem) {
+        if (top == stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+        stack[top++] = elem;
+    }
+
+    public int pop() {
+        if (top == 0) throw new Stack.StackUnderflow();
+        return stack[--top];
+    }
+
+    public int top() {
+        if (top == 0) throw new Stack.StackUnderflow();
+        return stack[top - 1];
+    }
+
+    public boolean isEmpty() {
+        return top == 0;
+    }
+
+    public int size() {
+        return top;
+    }
+
+    public void clear() {
+        top = 0;
+    }
+}
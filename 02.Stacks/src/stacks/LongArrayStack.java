@@ -0,0 +1,46 @@
+package stacks;
+
+import java.util.Arrays;
+
+/**
+ * Стек значений long на растущем массиве, аналог {@link ArrayStack} без упаковки в Long.
+ */
+public class LongArrayStack {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] stack;
+    private int top = 0;
+
+    public LongArrayStack() { this(DEFAULT_CAPACITY); }
+
+    public LongArrayStack(int capacity) {
+        stack = new long[Math.max(capacity, 1)];
+    }
+
+    public void push(long elem) {
+        if (top == stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+        stack[top++] = elem;
+    }
+
+    public long pop() {
+        if (top == 0) throw new Stack.StackUnderflow();
+        return stack[--top];
+    }
+
+    public long top() {
+        if (top == 0) throw new Stack.StackUnderflow();
+        return stack[top - 1];
+    }
+
+    public boolean isEmpty() {
+        return top == 0;
+    }
+
+    public int size() {
+        return top;
+    }
+
+    public void clear() {
+        top = 0;
+    }
+}
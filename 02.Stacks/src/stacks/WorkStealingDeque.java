@@ -0,0 +1,115 @@
+package stacks;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Дек для планировщика с перехватом работы (алгоритм Чейза - Лева).
+ * <p>
+ * Как и в {@link DoubleStack}, в одном массиве работают с двух концов: поток-владелец
+ * добавляет и извлекает элементы на конце bottom, как в стеке, а другие потоки
+ * ("воры") забирают элементы с противоположного конца top. Владелец обходится
+ * без CAS, пока в деке больше одного элемента; CAS на top нужен ворам и владельцу
+ * только в споре за последний элемент. Массив кольцевой и удваивается при заполнении.
+ * <p>
+ * Методы {@link #push}, {@link #pop} вызывает только владелец, {@link #steal} -
+ * любой поток. Элементы null не допускаются.
+ */
+public class WorkStealingDeque<T> {
+    private static final int DEFAULT_CAPACITY = 64;
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<WorkStealingDeque> TOP =
+            AtomicLongFieldUpdater.newUpdater(WorkStealingDeque.class, "top");
+
+    private volatile long top;
+    private volatile long bottom;
+    private volatile Object[] array;
+
+    public WorkStealingDeque() { this(DEFAULT_CAPACITY); }
+
+    public WorkStealingDeque(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        array = new Object[size];
+    }
+
+    /**
+     * Добавляет элемент на конец владельца. Вызывается только владельцем.
+     */
+    public void push(T e) {
+        if (e == null) throw new NullPointerException();
+        long b = bottom;
+        long t = top;
+        Object[] a = array;
+        if (b - t >= a.length) a = grow(a, t, b);
+        a[(int) b & (a.length - 1)] = e;
+        // Запись bottom публикует элемент для воров.
+        bottom = b + 1;
+    }
+
+    /**
+     * Извлекает последний добавленный элемент. Вызывается только владельцем.
+     * @return элемент или null, если дек пуст
+     */
+    public T pop() {
+        long b = bottom - 1;
+        Object[] a = array;
+        bottom = b;
+        long t = top;
+        if (t > b) {
+            // Дек был пуст.
+            bottom = b + 1;
+            return null;
+        }
+        int index = (int) b & (a.length - 1);
+        @SuppressWarnings("unchecked")
+        T e = (T) a[index];
+        if (t == b) {
+            // Последний элемент: спорим за него с ворами.
+            if (!TOP.compareAndSet(this, t, t + 1)) e = null;
+            bottom = b + 1;
+        }
+        if (e != null) a[index] = null;
+        return e;
+    }
+
+    /**
+     * Забирает самый старый элемент. Может вызываться любым потоком.
+     * Ячейка, из которой забран элемент, не очищается (это может сделать только
+     * владелец), поэтому ссылка на элемент живет до перезаписи ячейки.
+     * @return элемент или null, если дек пуст
+     */
+    public T steal() {
+        for (;;) {
+            long t = top;
+            long b = bottom;
+            if (t >= b) return null;
+            Object[] a = array;
+            @SuppressWarnings("unchecked")
+            T e = (T) a[(int) t & (a.length - 1)];
+            if (e != null && TOP.compareAndSet(this, t, t + 1)) return e;
+        }
+    }
+
+    public boolean isEmpty() {
+        return top >= bottom;
+    }
+
+    /**
+     * Число элементов; при одновременной работе воров - приблизительное.
+     */
+    public int size() {
+        return (int) Math.max(bottom - top, 0);
+    }
+
+    private Object[] grow(Object[] a, long t, long b) {
+        Object[] larger = new Object[a.length * 2];
+        for (long i = t; i < b; i++) {
+            larger[(int) i & (larger.length - 1)] = a[(int) i & (a.length - 1)];
+        }
+        array = larger;
+        return larger;
+    }
+}
@@ -0,0 +1,40 @@
+package queues;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedQueueTest {
+
+    @Test
+    void testEnqueueDequeue() {
+        Queue<String> q = new ChunkedQueue<>();
+        q.enqueue("one");
+        q.enqueue("two");
+        q.enqueue("three");
+        assertEquals("one", q.pick());
+        assertEquals("one", q.dequeue());
+        assertEquals("two", q.dequeue());
+        assertEquals("three", q.dequeue());
+        assertTrue(q.isEmpty(), "Emptied queue is not empty");
+        assertThrows(Queue.UnderflowException.class, q::pick);
+        assertThrows(Queue.UnderflowException.class, q::dequeue);
+    }
+
+    @Test
+    void testAcrossSegments() {
+        Queue<Integer> q = new ChunkedQueue<>(4);
+        int next = 0;
+        int expected = 0;
+        // Очередь то растет, то сокращается, переходя через границы сегментов.
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < round % 11 + 1; i++) q.enqueue(next++);
+            for (int i = 0; i < round % 7 + 1 && !q.isEmpty(); i++) {
+                assertEquals(expected, (int) q.pick());
+                assertEquals(expected++, (int) q.dequeue());
+            }
+        }
+        while (!q.isEmpty()) assertEquals(expected++, (int) q.dequeue());
+        assertEquals(next, expected);
+    }
+}
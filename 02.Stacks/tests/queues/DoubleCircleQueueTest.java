@@ -0,0 +1,49 @@
+package queues;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleCircleQueueTest {
+
+    @Test
+    void testEnqueueDequeue() {
+        DoubleCircleQueue q = new DoubleCircleQueue();
+        q.enqueue(1.5);
+        q.enqueue(-2.25);
+        q.enqueue(Double.MAX_VALUE);
+        assertEquals(1.5, q.pick());
+        assertEquals(1.5, q.dequeue());
+        assertEquals(-2.25, q.dequeue());
+        assertEquals(Double.MAX_VALUE, q.dequeue());
+        assertTrue(q.isEmpty(), "Emptied queue is not empty");
+        assertThrows(Queue.UnderflowException.class, q::pick);
+        assertThrows(Queue.UnderflowException.class, q::dequeue);
+    }
+
+    @Test
+    void testGrowWrapped() {
+        DoubleCircleQueue q = new DoubleCircleQueue(4);
+        double next = 0;
+        double expected = 0;
+        // Кольцо переходит через конец массива, после чего массив растет.
+        for (int i = 0; i < 3; i++) q.enqueue(next++);
+        for (int i = 0; i < 2; i++) assertEquals(expected++, q.dequeue());
+        for (int i = 0; i < 20; i++) q.enqueue(next++);
+        assertEquals((int) (next - expected), q.size());
+        while (!q.isEmpty()) assertEquals(expected++, q.dequeue());
+        assertEquals(next, expected);
+    }
+
+    @Test
+    void testClear() {
+        DoubleCircleQueue q = new DoubleCircleQueue(2);
+        q.enqueue(1.5);
+        q.enqueue(-2.25);
+        q.clear();
+        assertTrue(q.isEmpty(), "Cleared queue is not empty");
+        assertEquals(0, q.size());
+        q.enqueue(Double.MAX_VALUE);
+        assertEquals(Double.MAX_VALUE, q.dequeue());
+    }
+}
@@ -0,0 +1,37 @@
+package queues;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntCircleQueueTest {
+
+    @Test
+    void testEnqueueDequeue() {
+        IntCircleQueue q = new IntCircleQueue();
+        q.enqueue(1);
+        q.enqueue(2);
+        q.enqueue(3);
+        assertEquals(1, q.pick());
+        assertEquals(1, q.dequeue());
+        assertEquals(2, q.dequeue());
+        assertEquals(3, q.dequeue());
+        assertTrue(q.isEmpty(), "Emptied queue is not empty");
+        assertThrows(Queue.UnderflowException.class, q::pick);
+        assertThrows(Queue.UnderflowException.class, q::dequeue);
+    }
+
+    @Test
+    void testGrowWrapped() {
+        IntCircleQueue q = new IntCircleQueue(4);
+        int next = 0;
+        int expected = 0;
+        // Кольцо переходит через конец массива, после чего массив растет.
+        for (int i = 0; i < 3; i++) q.enqueue(next++);
+        for (int i = 0; i < 2; i++) assertEquals(expected++, q.dequeue());
+        for (int i = 0; i < 20; i++) q.enqueue(next++);
+        assertEquals(next - expected, q.size());
+        while (!q.isEmpty()) assertEquals(expected++, q.dequeue());
+        assertEquals(next, expected);
+    }
+}
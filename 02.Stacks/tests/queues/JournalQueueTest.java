@@ -0,0 +1,159 @@
+package queues;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalQueueTest {
+    private Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("journal");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    void testEnqueueDequeue() throws IOException {
+        try (JournalQueue<String> q = new JournalQueue<>(dir, JournalQueue.UTF8)) {
+            assertTrue(q.isEmpty(), "Initial queue is not empty");
+            q.enqueue("one");
+            q.enqueue("");
+            q.enqueue("three");
+            assertEquals("one", q.pick());
+            assertEquals("one", q.dequeue());
+            assertEquals("", q.dequeue());
+            assertEquals("three", q.dequeue());
+            assertTrue(q.isEmpty(), "Emptied queue is not empty");
+            assertThrows(Queue.UnderflowException.class, q::dequeue);
+        }
+    }
+
+    @Test
+    void testSurvivesReopen() throws IOException {
+        try (JournalQueue<String> q = new JournalQueue<>(dir, JournalQueue.UTF8, 64, 1, 0)) {
+            for (int i = 0; i < 100; i++) q.enqueue("message " + i);
+            for (int i = 0; i < 40; i++) assertEquals("message " + i, q.dequeue());
+        }
+        try (JournalQueue<String> q = new JournalQueue<>(dir, JournalQueue.UTF8, 64, 1, 0)) {
+            q.enqueue("last");
+            for (int i = 40; i < 100; i++) assertEquals("message " + i, q.dequeue());
+            assertEquals("last", q.dequeue());
+            assertTrue(q.isEmpty());
+        }
+    }
+
+    @Test
+    void testConsumedSegmentsDeleted() throws IOException {
+        try (JournalQueue<String> q = new JournalQueue<>(dir, JournalQueue.UTF8, 64, 0, 0)) {
+            for (int i = 0; i < 100; i++) q.enqueue("message " + i);
+            while (!q.isEmpty()) q.dequeue();
+        }
+        // Остаются файл позиции чтения и текущий сегмент.
+        assertEquals(2, countFiles());
+    }
+
+    @Test
+    void testConsumedSegmentsDeletedOnOpen() throws IOException {
+        // Очередь не закрывается, как при падении процесса.
+        JournalQueue<String> crashed = new JournalQueue<>(dir, JournalQueue.UTF8, 64, 1, 0);
+        for (int i = 0; i < 100; i++) crashed.enqueue("message " + i);
+        for (int i = 0; i < 90; i++) assertEquals("message " + i, crashed.dequeue());
+        long segments = countFiles();
+        try (JournalQueue<String> q = new JournalQueue<>(dir, JournalQueue.UTF8, 64, 1, 0)) {
+            assertTrue(countFiles() < segments, "Consumed segments are not deleted on open");
+            for (int i = 90; i < 100; i++) assertEquals("message " + i, q.dequeue());
+            assertTrue(q.isEmpty(), "Emptied queue is not empty");
+        }
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void testElementTooLarge() throws IOException {
+        try (JournalQueue<String> q = new JournalQueue<>(dir, JournalQueue.UTF8, 16, 0, 0)) {
+            assertThrows(Queue.OverflowException.class, () -> q.enqueue("a message longer than a segment"));
+            q.enqueue("fits");
+            assertEquals("fits", q.dequeue());
+        }
+    }
+
+    @Test
+    void testElementTooLargeAfterOtherElements() throws IOException {
+        try (JournalQueue<String> q = new JournalQueue<>(dir, JournalQueue.UTF8, 16, 0, 0)) {
+            q.enqueue("ab");
+            // Элемент не помещается даже в пустой сегмент: очередь остается в текущем сегменте.
+            assertThrows(Queue.OverflowException.class, () -> q.enqueue("a message longer than a segment"));
+            assertEquals("ab", q.dequeue());
+            assertTrue(q.isEmpty(), "Queue with a rejected element is not empty");
+            assertThrows(Queue.UnderflowException.class, q::dequeue);
+            q.enqueue("next");
+            assertEquals("next", q.dequeue());
+        }
+    }
+
+    @Test
+    void testRollAfterRejectedElement() throws IOException {
+        try (JournalQueue<String> q = new JournalQueue<>(dir, JournalQueue.UTF8, 16, 0, 0)) {
+            q.enqueue("ab");
+            assertThrows(Queue.OverflowException.class, () -> q.enqueue("a message longer than a segment"));
+            q.enqueue("cd");
+        }
+        // Пустой сегмент, подготовленный для отвергнутого элемента, становится текущим.
+        try (JournalQueue<String> q = new JournalQueue<>(dir, JournalQueue.UTF8, 16, 0, 0)) {
+            for (int i = 0; i < 10; i++) q.enqueue("item" + i);
+            assertEquals("ab", q.dequeue());
+            assertEquals("cd", q.dequeue());
+            for (int i = 0; i < 10; i++) assertEquals("item" + i, q.dequeue());
+            assertTrue(q.isEmpty(), "Emptied queue is not empty");
+        }
+    }
+
+    @Test
+    void testSerializerFailure() throws IOException {
+        JournalQueue.Serializer<String> failing = new JournalQueue.Serializer<String>() {
+            @Override
+            public void write(String e, ByteBuffer buffer) {
+                JournalQueue.UTF8.write(e, buffer);
+                if (e.startsWith("bad")) throw new IllegalArgumentException(e);
+            }
+
+            @Override
+            public String read(ByteBuffer buffer) {
+                return JournalQueue.UTF8.read(buffer);
+            }
+        };
+        try (JournalQueue<String> q = new JournalQueue<>(dir, failing, 64, 0, 0)) {
+            q.enqueue("one");
+            assertThrows(IllegalArgumentException.class, () -> q.enqueue("bad element"));
+            q.enqueue("two");
+            assertEquals("one", q.dequeue());
+            assertEquals("two", q.dequeue());
+            assertTrue(q.isEmpty(), "Emptied queue is not empty");
+            for (int i = 0; i < 20; i++) q.enqueue("item" + i);
+            for (int i = 0; i < 20; i++) assertEquals("item" + i, q.dequeue());
+        }
+        try (JournalQueue<String> q = new JournalQueue<>(dir, failing, 64, 0, 0)) {
+            assertTrue(q.isEmpty(), "Reopened queue is not empty");
+        }
+    }
+}
@@ -64,4 +64,14 @@ class LinkedQueueTest {
             fail("Dequeue queue pick");
         } catch (Queue.UnderflowException e) {}
     }
-}
\ No newline at end of file
+
+    @Test
+    void testReuseAfterEmptied() {
+        Queue<String> q = new LinkedQueue<>();
+        q.enqueue("one");
+        q.dequeue();
+        q.enqueue("two");
+        assertFalse(q.isEmpty(), "Queue is empty after enqueue");
+        assertEquals("two", q.dequeue());
+    }
+}
@@ -0,0 +1,49 @@
+package queues;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongCircleQueueTest {
+
+    @Test
+    void testEnqueueDequeue() {
+        LongCircleQueue q = new LongCircleQueue();
+        q.enqueue(1L << 40);
+        q.enqueue(-2L);
+        q.enqueue(Long.MAX_VALUE);
+        assertEquals(1L << 40, q.pick());
+        assertEquals(1L << 40, q.dequeue());
+        assertEquals(-2L, q.dequeue());
+        assertEquals(Long.MAX_VALUE, q.dequeue());
+        assertTrue(q.isEmpty(), "Emptied queue is not empty");
+        assertThrows(Queue.UnderflowException.class, q::pick);
+        assertThrows(Queue.UnderflowException.class, q::dequeue);
+    }
+
+    @Test
+    void testGrowWrapped() {
+        LongCircleQueue q = new LongCircleQueue(4);
+        long next = 0;
+        long expected = 0;
+        // Кольцо переходит через конец массива, после чего массив растет.
+        for (int i = 0; i < 3; i++) q.enqueue(next++);
+        for (int i = 0; i < 2; i++) assertEquals(expected++, q.dequeue());
+        for (int i = 0; i < 20; i++) q.enqueue(next++);
+        assertEquals(next - expected, q.size());
+        while (!q.isEmpty()) assertEquals(expected++, q.dequeue());
+        assertEquals(next, expected);
+    }
+
+    @Test
+    void testClear() {
+        LongCircleQueue q = new LongCircleQueue(2);
+        q.enqueue(1L << 40);
+        q.enqueue(-2L);
+        q.clear();
+        assertTrue(q.isEmpty(), "Cleared queue is not empty");
+        assertEquals(0, q.size());
+        q.enqueue(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, q.dequeue());
+    }
+}
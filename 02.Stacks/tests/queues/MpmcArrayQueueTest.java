@@ -0,0 +1,93 @@
+package queues;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpmcArrayQueueTest {
+
+    @Test
+    void testEnqueueDequeue() {
+        Queue<String> q = new MpmcArrayQueue<>(10);
+        q.enqueue("one");
+        q.enqueue("two");
+        q.enqueue("three");
+        assertEquals("one", q.dequeue());
+        assertEquals("two", q.dequeue());
+        assertEquals("three", q.dequeue());
+    }
+
+    @Test
+    void testPick() {
+        Queue<String> q = new MpmcArrayQueue<>(10);
+        q.enqueue("one");
+        q.enqueue("two");
+        assertEquals("one", q.pick()); q.dequeue();
+        assertEquals("two", q.pick()); q.dequeue();
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    void testOverflowUnderflow() {
+        MpmcArrayQueue<Integer> q = new MpmcArrayQueue<>(4);
+        assertThrows(Queue.UnderflowException.class, q::dequeue);
+        assertNull(q.poll());
+        for (int i = 0; i < 4; i++) q.enqueue(i);
+        assertFalse(q.offer(4));
+        assertThrows(Queue.OverflowException.class, () -> q.enqueue(4));
+        assertEquals(0, (int) q.dequeue());
+        assertTrue(q.offer(4));
+        for (int i = 1; i <= 4; i++) assertEquals(i, (int) q.poll());
+        assertNull(q.poll());
+    }
+
+    @Test
+    void testWrapAround() {
+        MpmcArrayQueue<Integer> q = new MpmcArrayQueue<>(3);
+        assertEquals(4, q.capacity());
+        for (int i = 0; i < 100; i++) {
+            q.enqueue(i);
+            q.enqueue(-i);
+            assertEquals(i, (int) q.dequeue());
+            assertEquals(-i, (int) q.dequeue());
+        }
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    void testConcurrentProducersConsumers() throws InterruptedException {
+        final int producers = 4, consumers = 4, perProducer = 100000;
+        MpmcArrayQueue<Long> q = new MpmcArrayQueue<>(64);
+        AtomicLong sum = new AtomicLong();
+        AtomicLong received = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            threads.add(new Thread(() -> {
+                for (long i = 1; i <= perProducer; i++) {
+                    while (!q.offer(i)) Thread.yield();
+                }
+            }));
+        }
+        for (int c = 0; c < consumers; c++) {
+            threads.add(new Thread(() -> {
+                while (received.get() < (long) producers * perProducer) {
+                    Long e = q.poll();
+                    if (e == null) {
+                        Thread.yield();
+                    } else {
+                        sum.addAndGet(e);
+                        received.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread t : threads) t.start();
+        for (Thread t : threads) t.join();
+        assertEquals((long) producers * perProducer * (perProducer + 1) / 2, sum.get());
+        assertTrue(q.isEmpty());
+    }
+}
@@ -0,0 +1,73 @@
+package queues;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpscArrayQueueTest {
+
+    @Test
+    void testEnqueueDequeue() {
+        Queue<String> q = new SpscArrayQueue<>(10);
+        q.enqueue("one");
+        q.enqueue("two");
+        q.enqueue("three");
+        assertEquals("one", q.pick());
+        assertEquals("one", q.dequeue());
+        assertEquals("two", q.dequeue());
+        assertEquals("three", q.dequeue());
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    void testOverflowUnderflow() {
+        SpscArrayQueue<Integer> q = new SpscArrayQueue<>(2);
+        assertThrows(Queue.UnderflowException.class, q::pick);
+        q.enqueue(1);
+        q.enqueue(2);
+        assertFalse(q.offer(3));
+        assertThrows(Queue.OverflowException.class, () -> q.enqueue(3));
+        assertEquals(1, (int) q.poll());
+        assertTrue(q.offer(3));
+        assertEquals(2, (int) q.poll());
+        assertEquals(3, (int) q.poll());
+        assertNull(q.poll());
+    }
+
+    @Test
+    void testDrain() {
+        SpscArrayQueue<Integer> q = new SpscArrayQueue<>(8);
+        for (int i = 0; i < 5; i++) q.enqueue(i);
+        List<Integer> out = new ArrayList<>();
+        assertEquals(3, q.drain(out::add, 3));
+        assertEquals(2, q.drain(out::add, 10));
+        assertEquals(0, q.drain(out::add, 10));
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), out);
+        for (int i = 0; i < 8; i++) q.enqueue(i);
+        assertEquals(8, q.drain(out::add, 100));
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    void testHandoff() throws InterruptedException {
+        final int count = 1000000;
+        SpscArrayQueue<Integer> q = new SpscArrayQueue<>(128);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                while (!q.offer(i)) Thread.yield();
+            }
+        });
+        producer.start();
+        int[] expected = { 0 };
+        while (expected[0] < count) {
+            int n = q.drain(e -> assertEquals(expected[0]++, (int) e), 32);
+            if (n == 0) Thread.yield();
+        }
+        producer.join();
+        assertTrue(q.isEmpty());
+    }
+}
@@ -0,0 +1,85 @@
+package stacks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentStacksSystemTest {
+
+    @Test
+    void testPushPop() {
+        ConcurrentStacksSystem<String> system = new ConcurrentStacksSystem<>(10);
+        Stack<String> stack = system.getStack();
+        assertTrue(stack.isEmpty(), "New stack is not empty");
+        stack.push("one");
+        stack.push("two");
+        stack.push("three");
+        assertEquals("three", stack.top());
+        assertEquals("three", stack.pop());
+        assertEquals("two", stack.pop());
+        assertEquals("one", stack.pop());
+        assertTrue(stack.isEmpty(), "Emptied stack is not empty");
+        assertThrows(Stack.StackUnderflow.class, stack::pop);
+        assertThrows(Stack.StackUnderflow.class, stack::top);
+    }
+
+    @Test
+    void testSharedPool() {
+        ConcurrentStacksSystem<Integer> system = new ConcurrentStacksSystem<>(4);
+        Stack<Integer> s1 = system.getStack();
+        Stack<Integer> s2 = system.getStack();
+        s1.push(1);
+        s2.push(2);
+        s1.push(3);
+        s2.push(4);
+        assertThrows(Stack.StackOverflow.class, () -> s1.push(5));
+        assertEquals(4, (int) s2.pop());
+        // Освобожденная ячейка снова доступна любому стеку.
+        s1.push(5);
+        assertEquals(5, (int) s1.pop());
+        assertEquals(3, (int) s1.pop());
+        assertEquals(2, (int) s2.pop());
+        assertEquals(1, (int) s1.pop());
+        assertTrue(s1.isEmpty() && s2.isEmpty(), "Emptied stacks are not empty");
+    }
+
+    @Test
+    void testConcurrentStacks() throws InterruptedException {
+        final int threads = 8, size = 8 * 64, iterations = 100000;
+        ConcurrentStacksSystem<Long> system = new ConcurrentStacksSystem<>(size);
+        AtomicLong errors = new AtomicLong();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final long base = (long) t << 32;
+            workers.add(new Thread(() -> {
+                Stack<Long> stack = system.getStack();
+                Random random = new Random(base);
+                long pushed = 0;
+                for (int i = 0; i < iterations; i++) {
+                    // Каждый поток держит в своем стеке не больше 64 ячеек пула;
+                    // короткие серии чаще обращаются к общему списку свободных ячеек.
+                    int n = 1 + random.nextInt(i % 2 == 0 ? 2 : 64);
+                    for (int k = 0; k < n; k++) stack.push(base + pushed + k);
+                    for (int k = n - 1; k >= 0; k--) {
+                        if (stack.pop() != base + pushed + k) errors.incrementAndGet();
+                    }
+                    pushed += n;
+                    if (!stack.isEmpty()) errors.incrementAndGet();
+                }
+            }));
+        }
+        for (Thread t : workers) t.start();
+        for (Thread t : workers) t.join();
+        assertEquals(0, errors.get());
+        // Все ячейки вернулись в пул: ни одна не потеряна и не выдана дважды.
+        Stack<Long> stack = system.getStack();
+        for (long i = 0; i < size; i++) stack.push(i);
+        assertThrows(Stack.StackOverflow.class, () -> stack.push(-1L));
+        for (long i = size - 1; i >= 0; i--) assertEquals(i, (long) stack.pop());
+    }
+}
@@ -0,0 +1,46 @@
+package stacks;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleArrayStackTest {
+
+    @Test
+    void testPushPop() {
+        DoubleArrayStack stack = new DoubleArrayStack();
+        assertTrue(stack.isEmpty(), "New stack is not empty");
+        stack.push(1.5);
+        stack.push(-2.25);
+        stack.push(Double.MAX_VALUE);
+        assertEquals(3, stack.size());
+        assertEquals(Double.MAX_VALUE, stack.top());
+        assertEquals(Double.MAX_VALUE, stack.pop());
+        assertEquals(-2.25, stack.pop());
+        assertEquals(1.5, stack.pop());
+        assertTrue(stack.isEmpty(), "Emptied stack is not empty");
+        assertThrows(Stack.StackUnderflow.class, stack::pop);
+        assertThrows(Stack.StackUnderflow.class, stack::top);
+    }
+
+    @Test
+    void testGrow() {
+        DoubleArrayStack stack = new DoubleArrayStack(1);
+        for (int i = 0; i < 100; i++) stack.push(i);
+        assertEquals(100, stack.size());
+        for (int i = 99; i >= 0; i--) assertEquals((double) i, stack.pop());
+        assertTrue(stack.isEmpty(), "Emptied stack is not empty");
+    }
+
+    @Test
+    void testClear() {
+        DoubleArrayStack stack = new DoubleArrayStack();
+        stack.push(1.5);
+        stack.push(-2.25);
+        stack.clear();
+        assertTrue(stack.isEmpty(), "Cleared stack is not empty");
+        assertEquals(0, stack.size());
+        stack.push(Double.MAX_VALUE);
+        assertEquals(Double.MAX_VALUE, stack.top());
+    }
+}
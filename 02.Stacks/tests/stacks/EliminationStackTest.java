@@ -0,0 +1,68 @@
+package stacks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EliminationStackTest {
+
+    @Test
+    void testPushPop() {
+        Stack<String> stack = new EliminationStack<>();
+        assertTrue(stack.isEmpty(), "New stack is not empty");
+        stack.push("one");
+        stack.push("two");
+        stack.push("three");
+        assertEquals("three", stack.top());
+        assertEquals("three", stack.pop());
+        assertEquals("two", stack.pop());
+        assertEquals("one", stack.pop());
+        assertTrue(stack.isEmpty(), "Emptied stack is not empty");
+        assertThrows(Stack.StackUnderflow.class, stack::pop);
+        assertThrows(Stack.StackUnderflow.class, stack::top);
+    }
+
+    @Test
+    void testConcurrentPushPop() throws InterruptedException {
+        final int threads = 8, perThread = 50000;
+        // Маленький массив исключения, чтобы встречи push и pop случались чаще.
+        EliminationStack<Integer> stack = new EliminationStack<>(2);
+        AtomicIntegerArray popped = new AtomicIntegerArray(threads * perThread);
+        AtomicLong received = new AtomicLong();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int base = t * perThread;
+            workers.add(new Thread(() -> {
+                // Каждый поток попеременно добавляет свои элементы и извлекает любые.
+                for (int i = 0; i < perThread; i++) {
+                    stack.push(base + i);
+                    if (i % 2 == 1) {
+                        for (int k = 0; k < 2; k++) {
+                            try {
+                                popped.incrementAndGet(stack.pop());
+                                received.incrementAndGet();
+                            } catch (Stack.StackUnderflow e) {
+                                // Элементы забрали другие потоки.
+                            }
+                        }
+                    }
+                }
+            }));
+        }
+        for (Thread t : workers) t.start();
+        for (Thread t : workers) t.join();
+        while (!stack.isEmpty()) {
+            popped.incrementAndGet(stack.pop());
+            received.incrementAndGet();
+        }
+        assertEquals(threads * perThread, received.get());
+        for (int i = 0; i < popped.length(); i++) {
+            assertEquals(1, popped.get(i), "Element " + i + " popped wrong number of times");
+        }
+    }
+}
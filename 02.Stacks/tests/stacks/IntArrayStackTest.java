@@ -0,0 +1,46 @@
+package stacks;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntArrayStackTest {
+
+    @Test
+    void testPushPop() {
+        IntArrayStack stack = new IntArrayStack();
+        assertTrue(stack.isEmpty(), "New stack is not empty");
+        stack.push(1);
+        stack.push(-2);
+        stack.push(Integer.MAX_VALUE);
+        assertEquals(3, stack.size());
+        assertEquals(Integer.MAX_VALUE, stack.top());
+        assertEquals(Integer.MAX_VALUE, stack.pop());
+        assertEquals(-2, stack.pop());
+        assertEquals(1, stack.pop());
+        assertTrue(stack.isEmpty(), "Emptied stack is not empty");
+        assertThrows(Stack.StackUnderflow.class, stack::pop);
+        assertThrows(Stack.StackUnderflow.class, stack::top);
+    }
+
+    @Test
+    void testGrow() {
+        IntArrayStack stack = new IntArrayStack(1);
+        for (int i = 0; i < 100; i++) stack.push(i);
+        assertEquals(100, stack.size());
+        for (int i = 99; i >= 0; i--) assertEquals(i, stack.pop());
+        assertTrue(stack.isEmpty(), "Emptied stack is not empty");
+    }
+
+    @Test
+    void testClear() {
+        IntArrayStack stack = new IntArrayStack();
+        stack.push(1);
+        stack.push(-2);
+        stack.clear();
+        assertTrue(stack.isEmpty(), "Cleared stack is not empty");
+        assertEquals(0, stack.size());
+        stack.push(Integer.MAX_VALUE);
+        assertEquals(Integer.MAX_VALUE, stack.top());
+    }
+}
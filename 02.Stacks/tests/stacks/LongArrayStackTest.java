@@ -0,0 +1,46 @@
+package stacks;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongArrayStackTest {
+
+    @Test
+    void testPushPop() {
+        LongArrayStack stack = new LongArrayStack();
+        assertTrue(stack.isEmpty(), "New stack is not empty");
+        stack.push(1L << 40);
+        stack.push(-2L);
+        stack.push(Long.MAX_VALUE);
+        assertEquals(3, stack.size());
+        assertEquals(Long.MAX_VALUE, stack.top());
+        assertEquals(Long.MAX_VALUE, stack.pop());
+        assertEquals(-2L, stack.pop());
+        assertEquals(1L << 40, stack.pop());
+        assertTrue(stack.isEmpty(), "Emptied stack is not empty");
+        assertThrows(Stack.StackUnderflow.class, stack::pop);
+        assertThrows(Stack.StackUnderflow.class, stack::top);
+    }
+
+    @Test
+    void testGrow() {
+        LongArrayStack stack = new LongArrayStack(1);
+        for (int i = 0; i < 100; i++) stack.push(i);
+        assertEquals(100, stack.size());
+        for (int i = 99; i >= 0; i--) assertEquals((long) i, stack.pop());
+        assertTrue(stack.isEmpty(), "Emptied stack is not empty");
+    }
+
+    @Test
+    void testClear() {
+        LongArrayStack stack = new LongArrayStack();
+        stack.push(1L << 40);
+        stack.push(-2L);
+        stack.clear();
+        assertTrue(stack.isEmpty(), "Cleared stack is not empty");
+        assertEquals(0, stack.size());
+        stack.push(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, stack.top());
+    }
+}
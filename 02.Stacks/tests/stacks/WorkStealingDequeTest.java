@@ -0,0 +1,110 @@
+package stacks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkStealingDequeTest {
+
+    @Test
+    void testOwnerPushPop() {
+        WorkStealingDeque<String> deque = new WorkStealingDeque<>();
+        assertTrue(deque.isEmpty(), "New deque is not empty");
+        assertNull(deque.pop());
+        assertNull(deque.steal());
+        deque.push("one");
+        deque.push("two");
+        deque.push("three");
+        assertEquals(3, deque.size());
+        assertEquals("three", deque.pop());
+        assertEquals("two", deque.pop());
+        assertEquals("one", deque.pop());
+        assertNull(deque.pop());
+        assertTrue(deque.isEmpty(), "Emptied deque is not empty");
+        assertThrows(NullPointerException.class, () -> deque.push(null));
+    }
+
+    @Test
+    void testStealOrder() {
+        WorkStealingDeque<String> deque = new WorkStealingDeque<>();
+        deque.push("one");
+        deque.push("two");
+        deque.push("three");
+        assertEquals("one", deque.steal());
+        assertEquals("three", deque.pop());
+        assertEquals("two", deque.steal());
+        assertNull(deque.steal());
+        assertNull(deque.pop());
+    }
+
+    @Test
+    void testGrowth() {
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>(4);
+        // Сдвигаем top, чтобы при росте кольцо было "разорвано".
+        for (int i = 0; i < 3; i++) deque.push(i);
+        for (int i = 0; i < 3; i++) assertEquals(i, (int) deque.steal());
+        for (int i = 0; i < 100; i++) deque.push(i);
+        assertEquals(100, deque.size());
+        assertEquals(0, (int) deque.steal());
+        for (int i = 99; i > 0; i--) assertEquals(i, (int) deque.pop());
+        assertTrue(deque.isEmpty(), "Emptied deque is not empty");
+    }
+
+    @Test
+    void testConcurrentSteal() throws InterruptedException {
+        final int thieves = 4, count = 200000;
+        // Маленькая начальная емкость, чтобы массив рос во время кражи.
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>(2);
+        AtomicIntegerArray taken = new AtomicIntegerArray(count);
+        AtomicLong received = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        final boolean[] done = {false};
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < thieves; t++) {
+            workers.add(new Thread(() -> {
+                for (;;) {
+                    boolean finished;
+                    synchronized (done) { finished = done[0]; }
+                    Integer e = deque.steal();
+                    if (e == null) {
+                        if (finished) return;
+                        Thread.yield();
+                        continue;
+                    }
+                    if (taken.incrementAndGet(e) != 1) errors.incrementAndGet();
+                    received.incrementAndGet();
+                }
+            }));
+        }
+        for (Thread t : workers) t.start();
+        // Владелец добавляет элементы и время от времени забирает свои же.
+        for (int i = 0; i < count; i++) {
+            deque.push(i);
+            if (i % 3 == 2) {
+                for (int k = 0; k < 2; k++) {
+                    Integer e = deque.pop();
+                    if (e == null) break;
+                    if (taken.incrementAndGet(e) != 1) errors.incrementAndGet();
+                    received.incrementAndGet();
+                }
+            }
+        }
+        synchronized (done) { done[0] = true; }
+        for (Thread t : workers) t.join();
+        Integer e;
+        while ((e = deque.pop()) != null) {
+            if (taken.incrementAndGet(e) != 1) errors.incrementAndGet();
+            received.incrementAndGet();
+        }
+        assertEquals(0, errors.get());
+        assertEquals(count, received.get());
+        for (int i = 0; i < count; i++) {
+            assertEquals(1, taken.get(i), "Element " + i + " taken wrong number of times");
+        }
+    }
+}
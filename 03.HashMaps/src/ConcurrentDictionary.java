@@ -0,0 +1,399 @@
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Потокобезопасный вариант {@link MyDictionary}: словарь со строковыми ключами,
+ * который можно одновременно использовать из нескольких потоков.
+ * <p>
+ * Словарь разбит на сегменты, каждый сегмент - отдельная хеш-таблица со своей
+ * блокировкой. Изменения в сегменте выполняются под его блокировкой, поэтому
+ * потоки, изменяющие разные сегменты, не мешают друг другу; сегмент растет
+ * (перехешируется) независимо от остальных. Чтение выполняется без блокировок:
+ * таблица сегмента хранится в volatile-поле, ссылки на списки читаются
+ * через AtomicReferenceArray, а ссылки next в элементах списков не меняются -
+ * при удалении часть списка перед удаляемым элементом копируется.
+ * Размер словаря - сумма счетчиков сегментов.
+ * <p>
+ * Как и в ConcurrentHashMap, пустые ключи и пустые значения не допускаются,
+ * а итераторы не выдают ConcurrentModificationException и отражают состояние
+ * словаря на какой-то момент во время итерации.
+ *
+ * @param <V> Тип элементов словаря
+ */
+public class ConcurrentDictionary<V> extends AbstractMap<String, V> implements ConcurrentMap<String, V> {
+	// Коэффициент заполненности таблицы сегмента.
+	private static final float LOAD_FACTOR = 0.75f;
+
+	/**
+	 * Элемент списка: ключ, его хеш-код и значение.
+	 */
+	private static class Node<V> {
+		final String key;
+		final int hash;
+		volatile V value;
+		final Node<V> next;
+
+		Node(String key, int hash, V value, Node<V> next) {
+			this.key = key; this.hash = hash; this.value = value; this.next = next;
+		}
+	}
+
+	/**
+	 * Сегмент - хеш-таблица со своей блокировкой и своим счетчиком элементов.
+	 */
+	private static class Segment<V> extends ReentrantLock {
+		private static final long serialVersionUID = 1L;
+
+		volatile AtomicReferenceArray<Node<V>> table;
+		volatile int count;
+
+		Segment(int capacity) {
+			table = new AtomicReferenceArray<>(capacity);
+		}
+
+		Node<V> find(String key, int hash) {
+			AtomicReferenceArray<Node<V>> tab = table;
+			for (Node<V> e = tab.get(hash & (tab.length() - 1)); e != null; e = e.next) {
+				if (e.hash == hash && e.key.equals(key)) return e;
+			}
+			return null;
+		}
+
+		/**
+		 * Добавление или замена значения.
+		 * @param onlyIfAbsent Не заменять имеющееся значение
+		 * @return Прежнее значение или null
+		 */
+		V put(String key, int hash, V value, boolean onlyIfAbsent) {
+			lock();
+			try {
+				Node<V> e = find(key, hash);
+				if (e != null) {
+					V oldValue = e.value;
+					if (!onlyIfAbsent) e.value = value;
+					return oldValue;
+				}
+				AtomicReferenceArray<Node<V>> tab = table;
+				if (count + 1 > tab.length() * LOAD_FACTOR) tab = rehash(tab);
+				int index = hash & (tab.length() - 1);
+				tab.set(index, new Node<>(key, hash, value, tab.get(index)));
+				count++;
+				return null;
+			} finally {
+				unlock();
+			}
+		}
+
+		/**
+		 * Замена значения, если ключ есть (и, если expected != null, связан с expected).
+		 * @return Прежнее значение или null, если замены не было
+		 */
+		V replace(String key, int hash, V expected, V value) {
+			lock();
+			try {
+				Node<V> e = find(key, hash);
+				if (e == null || (expected != null && !expected.equals(e.value))) return null;
+				V oldValue = e.value;
+				e.value = value;
+				return oldValue;
+			} finally {
+				unlock();
+			}
+		}
+
+		/**
+		 * Удаление пары с ключом key (и, если expected != null, со значением expected).
+		 * @return Удаленное значение или null
+		 */
+		V remove(String key, int hash, Object expected) {
+			lock();
+			try {
+				AtomicReferenceArray<Node<V>> tab = table;
+				int index = hash & (tab.length() - 1);
+				Node<V> first = tab.get(index);
+				Node<V> e = first;
+				while (e != null && !(e.hash == hash && e.key.equals(key))) e = e.next;
+				if (e == null || (expected != null && !expected.equals(e.value))) return null;
+				// Копируем элементы перед удаляемым: читатели могут сейчас проходить по списку.
+				Node<V> newFirst = e.next;
+				for (Node<V> p = first; p != e; p = p.next) {
+					newFirst = new Node<>(p.key, p.hash, p.value, newFirst);
+				}
+				tab.set(index, newFirst);
+				count--;
+				return e.value;
+			} finally {
+				unlock();
+			}
+		}
+
+		void clear() {
+			lock();
+			try {
+				table = new AtomicReferenceArray<>(table.length());
+				count = 0;
+			} finally {
+				unlock();
+			}
+		}
+
+		/**
+		 * Перехеширование сегмента: таблица увеличивается в два раза.
+		 * Элементы копируются, старая таблица остается нетронутой для читателей.
+		 */
+		private AtomicReferenceArray<Node<V>> rehash(AtomicReferenceArray<Node<V>> oldTab) {
+			AtomicReferenceArray<Node<V>> newTab = new AtomicReferenceArray<>(oldTab.length() << 1);
+			int mask = newTab.length() - 1;
+			for (int i = 0; i < oldTab.length(); i++) {
+				for (Node<V> e = oldTab.get(i); e != null; e = e.next) {
+					int index = e.hash & mask;
+					newTab.set(index, new Node<>(e.key, e.hash, e.value, newTab.get(index)));
+				}
+			}
+			table = newTab;
+			return newTab;
+		}
+	}
+
+	private final Segment<V>[] segments;
+	private final int segmentShift;
+
+	/**
+	 * Создает словарь из 16 сегментов.
+	 */
+	public ConcurrentDictionary() {
+		this(16);
+	}
+
+	/**
+	 * Создает словарь.
+	 * @param concurrencyLevel Ожидаемое число одновременно изменяющих словарь потоков
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public ConcurrentDictionary(int concurrencyLevel) {
+		if (concurrencyLevel < 1) throw new IllegalArgumentException("Illegal concurrency level: " + concurrencyLevel);
+		int n = Integer.highestOneBit(Math.min(concurrencyLevel, 1 << 16) * 2 - 1);
+		segments = new Segment[n];
+		for (int i = 0; i < n; i++) segments[i] = new Segment<>(8);
+		// Сегмент выбирается по старшим битам хеш-кода, список в сегменте - по младшим.
+		segmentShift = 32 - Integer.numberOfTrailingZeros(n);
+	}
+
+	private static int hash(Object key) {
+		int h = key.hashCode();
+		h ^= (h >>> 16);
+		return h * 0x9E3779B9;
+	}
+
+	private Segment<V> segmentFor(int hash) {
+		return segments.length == 1 ? segments[0] : segments[hash >>> segmentShift];
+	}
+
+	@Override
+	public V get(Object key) {
+		if (!(key instanceof String)) return null;
+		int h = hash(key);
+		Node<V> e = segmentFor(h).find((String) key, h);
+		return e == null ? null : e.value;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return get(key) != null;
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		if (value == null) return false;
+		for (Segment<V> segment : segments) {
+			AtomicReferenceArray<Node<V>> tab = segment.table;
+			for (int i = 0; i < tab.length(); i++) {
+				for (Node<V> e = tab.get(i); e != null; e = e.next) {
+					if (value.equals(e.value)) return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public V put(String key, V value) {
+		if (key == null || value == null) throw new NullPointerException("Null key or value");
+		int h = hash(key);
+		return segmentFor(h).put(key, h, value, false);
+	}
+
+	@Override
+	public V putIfAbsent(String key, V value) {
+		if (key == null || value == null) throw new NullPointerException("Null key or value");
+		int h = hash(key);
+		return segmentFor(h).put(key, h, value, true);
+	}
+
+	@Override
+	public V remove(Object key) {
+		if (!(key instanceof String)) return null;
+		int h = hash(key);
+		return segmentFor(h).remove((String) key, h, null);
+	}
+
+	@Override
+	public boolean remove(Object key, Object value) {
+		if (!(key instanceof String) || value == null) return false;
+		int h = hash(key);
+		return segmentFor(h).remove((String) key, h, value) != null;
+	}
+
+	@Override
+	public boolean replace(String key, V oldValue, V newValue) {
+		if (key == null || oldValue == null || newValue == null) throw new NullPointerException();
+		int h = hash(key);
+		return segmentFor(h).replace(key, h, oldValue, newValue) != null;
+	}
+
+	@Override
+	public V replace(String key, V value) {
+		if (key == null || value == null) throw new NullPointerException();
+		int h = hash(key);
+		return segmentFor(h).replace(key, h, null, value);
+	}
+
+	@Override
+	public void clear() {
+		for (Segment<V> segment : segments) segment.clear();
+	}
+
+	@Override
+	public int size() {
+		long size = 0;
+		for (Segment<V> segment : segments) size += segment.count;
+		return (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		for (Segment<V> segment : segments) {
+			if (segment.count != 0) return false;
+		}
+		return true;
+	}
+
+	@Override
+	public Set<Map.Entry<String, V>> entrySet() {
+		return new AbstractSet<Map.Entry<String, V>>() {
+			@Override
+			public Iterator<Map.Entry<String, V>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return ConcurrentDictionary.this.size();
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				if (!(o instanceof Map.Entry)) return false;
+				Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+				V value = get(entry.getKey());
+				return value != null && value.equals(entry.getValue());
+			}
+
+			@Override
+			public boolean remove(Object o) {
+				if (!(o instanceof Map.Entry)) return false;
+				Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+				return ConcurrentDictionary.this.remove(entry.getKey(), entry.getValue());
+			}
+
+			@Override
+			public void clear() {
+				ConcurrentDictionary.this.clear();
+			}
+		};
+	}
+
+	/**
+	 * Итератор пар словаря: проходит сегменты по очереди, в каждом - таблицу,
+	 * прочитанную в момент перехода к сегменту.
+	 */
+	private class EntryIterator implements Iterator<Map.Entry<String, V>> {
+		int segmentIndex = 0;
+		AtomicReferenceArray<Node<V>> table = segments[0].table;
+		int index = 0;
+		Node<V> next;
+		Node<V> last;
+
+		{ advance(); }
+
+		private void advance() {
+			if (next != null) next = next.next;
+			while (next == null) {
+				if (index < table.length()) {
+					next = table.get(index++);
+				} else if (++segmentIndex < segments.length) {
+					table = segments[segmentIndex].table;
+					index = 0;
+				} else {
+					return;
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Map.Entry<String, V> next() {
+			if (next == null) throw new NoSuchElementException();
+			last = next;
+			advance();
+			final Node<V> node = last;
+			return new AbstractMap.SimpleEntry<String, V>(node.key, node.value) {
+				@Override
+				public V setValue(V value) {
+					super.setValue(value);
+					return put(node.key, value);
+				}
+			};
+		}
+
+		@Override
+		public void remove() {
+			if (last == null) throw new IllegalStateException();
+			ConcurrentDictionary.this.remove(last.key);
+			last = null;
+		}
+	}
+
+	/**
+	 * Тестирующая функция проверяет работу словаря при одновременном
+	 * заполнении из нескольких потоков.
+	 * @param args Не используется
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		final ConcurrentDictionary<Integer> dict = new ConcurrentDictionary<Integer>();
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			final int base = t * 10000;
+			threads[t] = new Thread(() -> {
+				for (int i = base; i < base + 10000; i++) dict.put("word" + i, i);
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) thread.join();
+		System.out.println("Size = " + dict.size());
+		System.out.println(dict.get("word12345"));
+		System.out.println(dict.remove("word12345"));
+		System.out.println(dict.get("word12345"));
+	}
+}
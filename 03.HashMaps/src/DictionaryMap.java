@@ -1,11 +1,15 @@
 import java.lang.reflect.Array;
 import java.util.AbstractMap;
 import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+
+import combinators.Combinators;
 
 /**
  * Реализация простого словаря со строковым ключом и произвольным
@@ -50,6 +54,22 @@ public class DictionaryMap<V> extends AbstractMap<String, V> {
 			return current;
 		}	// iterator
 
+		/**
+		 * Разделяемый итератор для параллельных потоков (entrySet().parallelStream()):
+		 * соединение итераторов непустых списков, которое делится на части
+		 * по спискам хеш-таблицы.
+		 */
+		@Override
+		public Spliterator<Map.Entry<String, V>> spliterator() {
+			List<Spliterator<Map.Entry<String, V>>> parts = new ArrayList<>();
+			for (List<Map.Entry<String, V>> list : hashGroups) {
+				if (list != null && !list.isEmpty()) {
+					parts.add(list.spliterator());
+				}
+			}
+			return Combinators.concat(parts);
+		}	// spliterator
+
 		/**
 		 * Реализует выдачу размера словаря. Это одно
 		 * из необходимых условий использования типа {@link AbstractSet}
@@ -142,6 +162,10 @@ public class DictionaryMap<V> extends AbstractMap<String, V> {
 			System.out.print("<" + entry.getKey() + ", " + entry.getValue() + ">, ");
 		}
 		System.out.println();
+
+		// Параллельный подсчет суммарной длины слов
+		System.out.println("Total length = " +
+				dict.entrySet().parallelStream().mapToInt(Map.Entry::getValue).sum());
 	}
 
 }
@@ -0,0 +1,78 @@
+/**
+ * Приближенный подсчет частоты обращений к ключам (count-min sketch).
+ * <p>
+ * Счетчики - 4-битовые, по 16 в одном long. Каждому ключу соответствуют
+ * 4 счетчика, выбранных разными хеш-функциями; частота ключа - минимум
+ * из них. Чтобы оценка отражала недавние обращения, после заданного
+ * числа увеличений все счетчики делятся пополам (старение).
+ */
+public class FrequencySketch {
+	// Множители для четырех хеш-функций.
+	private static final long[] SEEDS = {
+			0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+	// Маска для деления 4-битовых счетчиков пополам.
+	private static final long HALF_MASK = 0x7777777777777777L;
+	private static final int MAX_COUNT = 15;
+
+	private final long[] table;
+	private final int counterMask;  // Число счетчиков минус 1
+	private final int sampleSize;   // Число увеличений между делениями пополам
+	private int additions = 0;
+
+	/**
+	 * @param capacity Ожидаемое число различаемых ключей (размер кеша)
+	 */
+	public FrequencySketch(int capacity) {
+		int counters = Integer.highestOneBit(Math.max(capacity, 8) * 2 - 1) << 2;
+		counters = Math.min(counters, 1 << 30);
+		table = new long[counters >>> 4];
+		counterMask = counters - 1;
+		sampleSize = (int) Math.min(10L * Math.max(capacity, 1), Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Оценка частоты обращений к элементу с хеш-кодом hash (от 0 до 15).
+	 */
+	public int frequency(int hash) {
+		int frequency = MAX_COUNT;
+		for (int i = 0; i < SEEDS.length; i++) {
+			int counter = counterOf(hash, i);
+			int count = (int) ((table[counter >>> 4] >>> ((counter & 15) << 2)) & 0xF);
+			frequency = Math.min(frequency, count);
+		}
+		return frequency;
+	}
+
+	/**
+	 * Учитывает обращение к элементу с хеш-кодом hash.
+	 */
+	public void increment(int hash) {
+		boolean added = false;
+		for (int i = 0; i < SEEDS.length; i++) {
+			int counter = counterOf(hash, i);
+			int shift = (counter & 15) << 2;
+			int word = counter >>> 4;
+			if (((table[word] >>> shift) & 0xF) < MAX_COUNT) {
+				table[word] += 1L << shift;
+				added = true;
+			}
+		}
+		if (added && ++additions == sampleSize) reset();
+	}
+
+	/**
+	 * Старение: все счетчики делятся пополам.
+	 */
+	private void reset() {
+		for (int i = 0; i < table.length; i++) {
+			table[i] = (table[i] >>> 1) & HALF_MASK;
+		}
+		additions >>>= 1;
+	}
+
+	private int counterOf(int hash, int i) {
+		long h = (hash + SEEDS[i]) * SEEDS[i];
+		h += h >>> 32;
+		return (int) h & counterMask;
+	}
+}
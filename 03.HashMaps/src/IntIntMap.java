@@ -0,0 +1,198 @@
+import java.util.Arrays;
+
+/**
+ * Отображение int -> int на основе хеш-таблицы с открытой адресацией
+ * (линейное пробирование), без упаковки ключей и значений в объекты.
+ * <p>
+ * Ключи и значения хранятся в параллельных массивах. Ключ 0 служит признаком
+ * пустой ячейки, поэтому пара с ключом 0 хранится отдельно от таблицы.
+ * При удалении следующие элементы цепочки сдвигаются назад, так что отметки
+ * об удаленных элементах не нужны.
+ */
+public class IntIntMap {
+	/**
+	 * Действие над парой <ключ, значение>.
+	 */
+	@FunctionalInterface
+	public interface IntIntConsumer {
+		void accept(int key, int value);
+	}
+
+	// Коэффициент заполненности таблицы.
+	private static final float LOAD_FACTOR = 0.75f;
+
+	private int[] keys;
+	private int[] values;
+	private int mask;
+	private int threshold;
+	private int size = 0;
+
+	// Пара с ключом 0.
+	private boolean hasZeroKey = false;
+	private int zeroValue;
+
+	// Значение, которое выдается при отсутствии ключа.
+	private int defaultValue = 0;
+
+	public IntIntMap() {
+		this(16);
+	}
+
+	/**
+	 * Создает отображение, в которое можно занести expected пар без перехеширования.
+	 */
+	public IntIntMap(int expected) {
+		if (expected < 0) throw new IllegalArgumentException("Illegal size: " + expected);
+		allocate(tableSize(expected));
+	}
+
+	public int defaultValue() { return defaultValue; }
+
+	public void defaultValue(int value) { defaultValue = value; }
+
+	public int get(int key) {
+		return getOrDefault(key, defaultValue);
+	}
+
+	public int getOrDefault(int key, int def) {
+		if (key == 0) return hasZeroKey ? zeroValue : def;
+		for (int index = mix(key) & mask; ; index = (index + 1) & mask) {
+			int k = keys[index];
+			if (k == 0) return def;
+			if (k == key) return values[index];
+		}
+	}
+
+	public boolean containsKey(int key) {
+		if (key == 0) return hasZeroKey;
+		for (int index = mix(key) & mask; ; index = (index + 1) & mask) {
+			int k = keys[index];
+			if (k == 0) return false;
+			if (k == key) return true;
+		}
+	}
+
+	/**
+	 * Заносит пару или заменяет значение.
+	 * @return Прежнее значение или defaultValue(), если ключа не было
+	 */
+	public int put(int key, int value) {
+		if (key == 0) {
+			int old = hasZeroKey ? zeroValue : defaultValue;
+			if (!hasZeroKey) size++;
+			hasZeroKey = true;
+			zeroValue = value;
+			return old;
+		}
+		int index = mix(key) & mask;
+		for (int k; (k = keys[index]) != 0; index = (index + 1) & mask) {
+			if (k == key) {
+				int old = values[index];
+				values[index] = value;
+				return old;
+			}
+		}
+		keys[index] = key;
+		values[index] = value;
+		if (++size > threshold) rehash(keys.length << 1);
+		return defaultValue;
+	}
+
+	/**
+	 * Удаляет пару с заданным ключом.
+	 * @return Удаленное значение или defaultValue(), если ключа не было
+	 */
+	public int remove(int key) {
+		if (key == 0) {
+			if (!hasZeroKey) return defaultValue;
+			hasZeroKey = false;
+			size--;
+			return zeroValue;
+		}
+		for (int index = mix(key) & mask; ; index = (index + 1) & mask) {
+			int k = keys[index];
+			if (k == 0) return defaultValue;
+			if (k == key) {
+				int old = values[index];
+				size--;
+				shiftKeys(index);
+				return old;
+			}
+		}
+	}
+
+	public int size() { return size; }
+
+	public boolean isEmpty() { return size == 0; }
+
+	public void clear() {
+		Arrays.fill(keys, 0);
+		hasZeroKey = false;
+		size = 0;
+	}
+
+	/**
+	 * Выполняет действие для каждой пары отображения.
+	 */
+	public void forEach(IntIntConsumer action) {
+		if (hasZeroKey) action.accept(0, zeroValue);
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != 0) action.accept(keys[i], values[i]);
+		}
+	}
+
+	/**
+	 * Удаление элемента из ячейки pos: следующие элементы цепочки, для которых
+	 * ячейка pos лежит между их домашней ячейкой и текущей, сдвигаются назад.
+	 */
+	private void shiftKeys(int pos) {
+		for (;;) {
+			int last = pos;
+			pos = (pos + 1) & mask;
+			int k;
+			for (;;) {
+				if ((k = keys[pos]) == 0) {
+					keys[last] = 0;
+					return;
+				}
+				int home = mix(k) & mask;
+				if (last <= pos ? last >= home || home > pos : last >= home && home > pos) break;
+				pos = (pos + 1) & mask;
+			}
+			keys[last] = k;
+			values[last] = values[pos];
+		}
+	}
+
+	private void rehash(int newSize) {
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		allocate(newSize);
+		for (int i = 0; i < oldKeys.length; i++) {
+			int k = oldKeys[i];
+			if (k == 0) continue;
+			int index = mix(k) & mask;
+			while (keys[index] != 0) index = (index + 1) & mask;
+			keys[index] = k;
+			values[index] = oldValues[i];
+		}
+	}
+
+	private void allocate(int tableSize) {
+		keys = new int[tableSize];
+		values = new int[tableSize];
+		mask = tableSize - 1;
+		threshold = (int) (tableSize * LOAD_FACTOR);
+	}
+
+	private static int tableSize(int expected) {
+		int needed = (int) Math.ceil(expected / LOAD_FACTOR) + 1;
+		return Math.max(2, Integer.highestOneBit(needed - 1) << 1);
+	}
+
+	// Перемешивание битов ключа (умножение на 2^32 / золотое сечение).
+	private static int mix(int x) {
+		int h = x * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
@@ -9,6 +9,8 @@ import java.util.Set;
 /**
  * Реализация простого отображения с помощью подстановки в качестве контейнера в
  * AbstractMap списка пар <ключ, значение>.
+ * Поиск ключа - линейный, и на каждую пару приходится отдельный объект;
+ * для большого числа небольших отображений лучше подходит {@link SortedArrayMap}.
  * 
  * @param <K> Тип ключа
  * @param <V> Тип значения
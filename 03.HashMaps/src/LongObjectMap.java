@@ -0,0 +1,199 @@
+import java.util.Arrays;
+
+/**
+ * Отображение long -> V на основе хеш-таблицы с открытой адресацией
+ * (линейное пробирование), без упаковки ключей в объекты.
+ * <p>
+ * Ключи и значения хранятся в параллельных массивах. Ключ 0 служит признаком
+ * пустой ячейки, поэтому пара с ключом 0 хранится отдельно от таблицы.
+ * При удалении следующие элементы цепочки сдвигаются назад, так что отметки
+ * об удаленных элементах не нужны.
+ */
+public class LongObjectMap<V> {
+	/**
+	 * Действие над парой <ключ, значение>.
+	 */
+	@FunctionalInterface
+	public interface LongObjectConsumer<V> {
+		void accept(long key, V value);
+	}
+
+	// Коэффициент заполненности таблицы.
+	private static final float LOAD_FACTOR = 0.75f;
+
+	private long[] keys;
+	private Object[] values;
+	private int mask;
+	private int threshold;
+	private int size = 0;
+
+	// Пара с ключом 0.
+	private boolean hasZeroKey = false;
+	private V zeroValue;
+
+	public LongObjectMap() {
+		this(16);
+	}
+
+	/**
+	 * Создает отображение, в которое можно занести expected пар без перехеширования.
+	 */
+	public LongObjectMap(int expected) {
+		if (expected < 0) throw new IllegalArgumentException("Illegal size: " + expected);
+		allocate(tableSize(expected));
+	}
+
+	/**
+	 * Значение, связанное с ключом, или null, если ключа нет.
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long key) {
+		if (key == 0) return zeroValue;
+		for (int index = mix(key) & mask; ; index = (index + 1) & mask) {
+			long k = keys[index];
+			if (k == 0) return null;
+			if (k == key) return (V) values[index];
+		}
+	}
+
+	public boolean containsKey(long key) {
+		if (key == 0) return hasZeroKey;
+		for (int index = mix(key) & mask; ; index = (index + 1) & mask) {
+			long k = keys[index];
+			if (k == 0) return false;
+			if (k == key) return true;
+		}
+	}
+
+	/**
+	 * Заносит пару или заменяет значение.
+	 * @return Прежнее значение или null, если ключа не было
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(long key, V value) {
+		if (key == 0) {
+			V old = zeroValue;
+			if (!hasZeroKey) size++;
+			hasZeroKey = true;
+			zeroValue = value;
+			return old;
+		}
+		int index = mix(key) & mask;
+		for (long k; (k = keys[index]) != 0; index = (index + 1) & mask) {
+			if (k == key) {
+				V old = (V) values[index];
+				values[index] = value;
+				return old;
+			}
+		}
+		keys[index] = key;
+		values[index] = value;
+		if (++size > threshold) rehash(keys.length << 1);
+		return null;
+	}
+
+	/**
+	 * Удаляет пару с заданным ключом.
+	 * @return Удаленное значение или null, если ключа не было
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(long key) {
+		if (key == 0) {
+			if (!hasZeroKey) return null;
+			V old = zeroValue;
+			hasZeroKey = false;
+			zeroValue = null;
+			size--;
+			return old;
+		}
+		for (int index = mix(key) & mask; ; index = (index + 1) & mask) {
+			long k = keys[index];
+			if (k == 0) return null;
+			if (k == key) {
+				V old = (V) values[index];
+				size--;
+				shiftKeys(index);
+				return old;
+			}
+		}
+	}
+
+	public int size() { return size; }
+
+	public boolean isEmpty() { return size == 0; }
+
+	public void clear() {
+		Arrays.fill(keys, 0);
+		Arrays.fill(values, null);
+		hasZeroKey = false;
+		zeroValue = null;
+		size = 0;
+	}
+
+	/**
+	 * Выполняет действие для каждой пары отображения.
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEach(LongObjectConsumer<? super V> action) {
+		if (hasZeroKey) action.accept(0, zeroValue);
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != 0) action.accept(keys[i], (V) values[i]);
+		}
+	}
+
+	/**
+	 * Удаление элемента из ячейки pos: следующие элементы цепочки, для которых
+	 * ячейка pos лежит между их домашней ячейкой и текущей, сдвигаются назад.
+	 */
+	private void shiftKeys(int pos) {
+		for (;;) {
+			int last = pos;
+			pos = (pos + 1) & mask;
+			long k;
+			for (;;) {
+				if ((k = keys[pos]) == 0) {
+					keys[last] = 0;
+					values[last] = null;
+					return;
+				}
+				int home = mix(k) & mask;
+				if (last <= pos ? last >= home || home > pos : last >= home && home > pos) break;
+				pos = (pos + 1) & mask;
+			}
+			keys[last] = k;
+			values[last] = values[pos];
+		}
+	}
+
+	private void rehash(int newSize) {
+		long[] oldKeys = keys;
+		Object[] oldValues = values;
+		allocate(newSize);
+		for (int i = 0; i < oldKeys.length; i++) {
+			long k = oldKeys[i];
+			if (k == 0) continue;
+			int index = mix(k) & mask;
+			while (keys[index] != 0) index = (index + 1) & mask;
+			keys[index] = k;
+			values[index] = oldValues[i];
+		}
+	}
+
+	private void allocate(int tableSize) {
+		keys = new long[tableSize];
+		values = new Object[tableSize];
+		mask = tableSize - 1;
+		threshold = (int) (tableSize * LOAD_FACTOR);
+	}
+
+	private static int tableSize(int expected) {
+		int needed = (int) Math.ceil(expected / LOAD_FACTOR) + 1;
+		return Math.max(2, Integer.highestOneBit(needed - 1) << 1);
+	}
+
+	// Перемешивание битов ключа (умножение на 2^64 / золотое сечение).
+	private static int mix(long x) {
+		long h = x * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+}
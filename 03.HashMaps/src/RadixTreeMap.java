@@ -0,0 +1,784 @@
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Реализация словаря со строковым ключом на основе адаптивного префиксного
+ * дерева (Adaptive Radix Tree, ART).
+ * <p>
+ * Ключ рассматривается как последовательность байтов в кодировке UTF-8 (непарные
+ * суррогаты кодируются тремя байтами, см. {@link #bytes(String)}), каждый
+ * внутренний узел дерева выбирает потомка по очередному байту ключа. Чтобы узлы
+ * не занимали лишней памяти, их представление зависит от числа потомков:
+ * <ul>
+ * <li>Node4 и Node16 - до 4 и до 16 потомков, упорядоченные массивы байтов и ссылок;</li>
+ * <li>Node48 - до 48 потомков, индекс из 256 байтов указывает на ячейку массива ссылок;</li>
+ * <li>Node256 - массив из 256 ссылок.</li>
+ * </ul>
+ * Цепочки узлов с единственным потомком сжимаются: общая часть ключей хранится
+ * в узле как префикс (path compression), а лист с единственным ключом
+ * подвешивается сразу на ту глубину, где ключ отличается от остальных.
+ * Ключ, являющийся началом других ключей, хранится в узле отдельно от потомков.
+ * <p>
+ * В отличие от хеш-таблиц {@link DictionaryMap} и {@link hash.Dictionary},
+ * ключи перебираются в порядке возрастания (побайтово в UTF-8, что совпадает с
+ * порядком кодовых точек Unicode), а метод {@link #prefixIterator(String)} перебирает
+ * только ключи с заданным началом, не просматривая остальной словарь.
+ * Пустые ключи (null) не допускаются.
+ *
+ * @param <V> Тип содержимого словарных статей
+ */
+public class RadixTreeMap<V> extends AbstractMap<String, V> {
+	/**
+	 * Узел дерева: лист или внутренний узел.
+	 */
+	private static abstract class Node<V> {}
+
+	/**
+	 * Лист содержит ключ целиком и служит элементом словаря.
+	 */
+	private static final class Leaf<V> extends Node<V> implements Map.Entry<String, V> {
+		final String key;
+		final byte[] bytes;
+		V value;
+
+		Leaf(String key, byte[] bytes, V value) {
+			this.key = key; this.bytes = bytes; this.value = value;
+		}
+
+		@Override
+		public String getKey() { return key; }
+
+		@Override
+		public V getValue() { return value; }
+
+		@Override
+		public V setValue(V value) {
+			V oldValue = this.value;
+			this.value = value;
+			return oldValue;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Map.Entry)) return false;
+			Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+			return key.equals(e.getKey()) && (value == null ? e.getValue() == null : value.equals(e.getValue()));
+		}
+
+		@Override
+		public int hashCode() {
+			return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+		}
+
+		@Override
+		public String toString() { return key + "=" + value; }
+	}
+
+	/**
+	 * Внутренний узел. Позиции потомков (pos) перебираются в порядке возрастания байтов.
+	 */
+	private static abstract class Inner<V> extends Node<V> {
+		byte[] prefix = EMPTY;  // Сжатая часть пути
+		Leaf<V> terminal;       // Ключ, заканчивающийся в этом узле
+		int count;              // Число потомков
+
+		abstract Node<V> find(int b);
+		abstract void replace(int b, Node<V> child);
+		abstract boolean isFull();
+		abstract void add(int b, Node<V> child);
+		abstract void delete(int b);
+		/** Узел следующего размера с теми же потомками. */
+		abstract Inner<V> grow();
+		/** Узел меньшего размера, если потомков стало мало, иначе сам узел. */
+		abstract Inner<V> shrink();
+		/** Первая позиция потомка, не меньшая pos, или -1. */
+		abstract int nextPosition(int pos);
+		abstract Node<V> childAt(int pos);
+		abstract int byteAt(int pos);
+		/** Позиция, с которой начинаются потомки с байтами больше b. */
+		abstract int positionAfter(int b);
+
+		<N extends Inner<V>> N copyHeader(N to) {
+			to.prefix = prefix;
+			to.terminal = terminal;
+			return to;
+		}
+	}
+
+	/**
+	 * Узел с 4 или 16 потомками: упорядоченные массивы байтов и ссылок.
+	 */
+	private static final class SmallNode<V> extends Inner<V> {
+		final byte[] keys;
+		final Node<V>[] children;
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		SmallNode(int capacity) {
+			keys = new byte[capacity];
+			children = new Node[capacity];
+		}
+
+		private int indexOf(int b) {
+			for (int i = 0; i < count; i++) {
+				if ((keys[i] & 0xFF) == b) return i;
+			}
+			return -1;
+		}
+
+		@Override
+		Node<V> find(int b) {
+			int i = indexOf(b);
+			return i < 0 ? null : children[i];
+		}
+
+		@Override
+		void replace(int b, Node<V> child) { children[indexOf(b)] = child; }
+
+		@Override
+		boolean isFull() { return count == keys.length; }
+
+		@Override
+		void add(int b, Node<V> child) {
+			int i = positionAfter(b);
+			System.arraycopy(keys, i, keys, i + 1, count - i);
+			System.arraycopy(children, i, children, i + 1, count - i);
+			keys[i] = (byte) b;
+			children[i] = child;
+			count++;
+		}
+
+		@Override
+		void delete(int b) {
+			int i = indexOf(b);
+			System.arraycopy(keys, i + 1, keys, i, count - i - 1);
+			System.arraycopy(children, i + 1, children, i, count - i - 1);
+			children[--count] = null;
+		}
+
+		@Override
+		Inner<V> grow() {
+			if (keys.length == 4) {
+				SmallNode<V> node = copyHeader(new SmallNode<V>(16));
+				for (int i = 0; i < count; i++) node.add(keys[i] & 0xFF, children[i]);
+				return node;
+			}
+			Node48<V> node = copyHeader(new Node48<V>());
+			for (int i = 0; i < count; i++) node.add(keys[i] & 0xFF, children[i]);
+			return node;
+		}
+
+		@Override
+		Inner<V> shrink() {
+			if (keys.length == 16 && count <= 3) {
+				SmallNode<V> node = copyHeader(new SmallNode<V>(4));
+				for (int i = 0; i < count; i++) node.add(keys[i] & 0xFF, children[i]);
+				return node;
+			}
+			return this;
+		}
+
+		@Override
+		int nextPosition(int pos) { return pos < count ? pos : -1; }
+
+		@Override
+		Node<V> childAt(int pos) { return children[pos]; }
+
+		@Override
+		int byteAt(int pos) { return keys[pos] & 0xFF; }
+
+		@Override
+		int positionAfter(int b) {
+			int i = 0;
+			while (i < count && (keys[i] & 0xFF) <= b) i++;
+			return i;
+		}
+	}
+
+	/**
+	 * Узел с 48 потомками: для каждого байта - номер ячейки в массиве ссылок (0 - нет потомка).
+	 */
+	private static final class Node48<V> extends Inner<V> {
+		final byte[] index = new byte[256];
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		final Node<V>[] children = new Node[48];
+
+		@Override
+		Node<V> find(int b) {
+			int i = index[b];
+			return i == 0 ? null : children[i - 1];
+		}
+
+		@Override
+		void replace(int b, Node<V> child) { children[index[b] - 1] = child; }
+
+		@Override
+		boolean isFull() { return count == 48; }
+
+		@Override
+		void add(int b, Node<V> child) {
+			int i = 0;
+			while (children[i] != null) i++;
+			children[i] = child;
+			index[b] = (byte) (i + 1);
+			count++;
+		}
+
+		@Override
+		void delete(int b) {
+			children[index[b] - 1] = null;
+			index[b] = 0;
+			count--;
+		}
+
+		@Override
+		Inner<V> grow() {
+			Node256<V> node = copyHeader(new Node256<V>());
+			for (int b = 0; b < 256; b++) {
+				if (index[b] != 0) node.add(b, children[index[b] - 1]);
+			}
+			return node;
+		}
+
+		@Override
+		Inner<V> shrink() {
+			if (count > 12) return this;
+			SmallNode<V> node = copyHeader(new SmallNode<V>(16));
+			for (int b = 0; b < 256; b++) {
+				if (index[b] != 0) node.add(b, children[index[b] - 1]);
+			}
+			return node;
+		}
+
+		@Override
+		int nextPosition(int pos) {
+			while (pos < 256 && index[pos] == 0) pos++;
+			return pos < 256 ? pos : -1;
+		}
+
+		@Override
+		Node<V> childAt(int pos) { return children[index[pos] - 1]; }
+
+		@Override
+		int byteAt(int pos) { return pos; }
+
+		@Override
+		int positionAfter(int b) { return b + 1; }
+	}
+
+	/**
+	 * Узел с 256 потомками: ссылка на потомка для каждого байта.
+	 */
+	private static final class Node256<V> extends Inner<V> {
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		final Node<V>[] children = new Node[256];
+
+		@Override
+		Node<V> find(int b) { return children[b]; }
+
+		@Override
+		void replace(int b, Node<V> child) { children[b] = child; }
+
+		@Override
+		boolean isFull() { return false; }
+
+		@Override
+		void add(int b, Node<V> child) {
+			children[b] = child;
+			count++;
+		}
+
+		@Override
+		void delete(int b) {
+			children[b] = null;
+			count--;
+		}
+
+		@Override
+		Inner<V> grow() { return this; }
+
+		@Override
+		Inner<V> shrink() {
+			if (count > 36) return this;
+			Node48<V> node = copyHeader(new Node48<V>());
+			for (int b = 0; b < 256; b++) {
+				if (children[b] != null) node.add(b, children[b]);
+			}
+			return node;
+		}
+
+		@Override
+		int nextPosition(int pos) {
+			while (pos < 256 && children[pos] == null) pos++;
+			return pos < 256 ? pos : -1;
+		}
+
+		@Override
+		Node<V> childAt(int pos) { return children[pos]; }
+
+		@Override
+		int byteAt(int pos) { return pos; }
+
+		@Override
+		int positionAfter(int b) { return b + 1; }
+	}
+
+	private static final byte[] EMPTY = new byte[0];
+
+	private Node<V> root;
+	private int size = 0;
+
+	// Результат последнего put или remove: прежнее значение.
+	private V oldValue;
+
+	/**
+	 * Байтовое представление ключа - UTF-8, в котором непарные суррогаты, как и
+	 * остальные символы основной плоскости, кодируются тремя байтами (так называемый
+	 * WTF-8). String.getBytes заменяет такие символы на '?', и разные ключи
+	 * получали бы одинаковые байты; здесь же разным строкам всегда соответствуют
+	 * разные последовательности байтов, а порядок по-прежнему совпадает с порядком
+	 * кодовых точек.
+	 */
+	private static byte[] bytes(String key) {
+		int length = 0;
+		for (int i = 0; i < key.length(); ) {
+			int cp = key.codePointAt(i);
+			i += Character.charCount(cp);
+			length += cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+		}
+		byte[] k = new byte[length];
+		int pos = 0;
+		for (int i = 0; i < key.length(); ) {
+			int cp = key.codePointAt(i);
+			i += Character.charCount(cp);
+			if (cp < 0x80) {
+				k[pos++] = (byte) cp;
+			} else if (cp < 0x800) {
+				k[pos++] = (byte) (0xC0 | cp >> 6);
+				k[pos++] = (byte) (0x80 | cp & 0x3F);
+			} else if (cp < 0x10000) {
+				k[pos++] = (byte) (0xE0 | cp >> 12);
+				k[pos++] = (byte) (0x80 | cp >> 6 & 0x3F);
+				k[pos++] = (byte) (0x80 | cp & 0x3F);
+			} else {
+				k[pos++] = (byte) (0xF0 | cp >> 18);
+				k[pos++] = (byte) (0x80 | cp >> 12 & 0x3F);
+				k[pos++] = (byte) (0x80 | cp >> 6 & 0x3F);
+				k[pos++] = (byte) (0x80 | cp & 0x3F);
+			}
+		}
+		return k;
+	}
+
+	/**
+	 * Поиск листа с заданным ключом.
+	 */
+	private Leaf<V> findLeaf(String key) {
+		byte[] k = bytes(key);
+		Node<V> node = root;
+		int depth = 0;
+		while (node instanceof Inner) {
+			Inner<V> inner = (Inner<V>) node;
+			byte[] prefix = inner.prefix;
+			if (k.length - depth < prefix.length) return null;
+			for (int i = 0; i < prefix.length; i++) {
+				if (prefix[i] != k[depth + i]) return null;
+			}
+			depth += prefix.length;
+			if (depth == k.length) {
+				Leaf<V> terminal = inner.terminal;
+				return terminal != null && terminal.key.equals(key) ? terminal : null;
+			}
+			node = inner.find(k[depth++] & 0xFF);
+		}
+		Leaf<V> leaf = (Leaf<V>) node;
+		return leaf != null && leaf.key.equals(key) ? leaf : null;
+	}
+
+	@Override
+	public V get(Object key) {
+		if (!(key instanceof String)) return null;
+		Leaf<V> leaf = findLeaf((String) key);
+		return leaf == null ? null : leaf.value;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return key instanceof String && findLeaf((String) key) != null;
+	}
+
+	@Override
+	public V put(String key, V value) {
+		if (key == null) throw new NullPointerException("Null key");
+		oldValue = null;
+		root = insert(root, new Leaf<V>(key, bytes(key), value), 0);
+		V result = oldValue;
+		oldValue = null;
+		return result;
+	}
+
+	@Override
+	public V remove(Object key) {
+		if (!(key instanceof String) || root == null) return null;
+		oldValue = null;
+		root = delete(root, bytes((String) key), 0);
+		V result = oldValue;
+		oldValue = null;
+		return result;
+	}
+
+	@Override
+	public void clear() {
+		root = null;
+		size = 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Вставка листа в поддерево node, расположенное на глубине depth.
+	 * @return Узел, заменяющий node
+	 */
+	private Node<V> insert(Node<V> node, Leaf<V> leaf, int depth) {
+		byte[] k = leaf.bytes;
+		if (node == null) {
+			size++;
+			return leaf;
+		}
+		if (node instanceof Leaf) {
+			Leaf<V> existing = (Leaf<V>) node;
+			if (existing.key.equals(leaf.key)) {
+				oldValue = existing.setValue(leaf.value);
+				return existing;
+			}
+			// Два разных ключа: новый узел с их общей частью в качестве префикса.
+			int common = depth;
+			byte[] e = existing.bytes;
+			while (common < k.length && common < e.length && k[common] == e[common]) common++;
+			SmallNode<V> split = new SmallNode<>(4);
+			split.prefix = Arrays.copyOfRange(k, depth, common);
+			attach(split, existing, common);
+			attach(split, leaf, common);
+			size++;
+			return split;
+		}
+		Inner<V> inner = (Inner<V>) node;
+		byte[] prefix = inner.prefix;
+		int mismatch = 0;
+		while (mismatch < prefix.length && depth + mismatch < k.length
+				&& prefix[mismatch] == k[depth + mismatch]) mismatch++;
+		if (mismatch < prefix.length) {
+			// Ключ расходится с префиксом узла: разделяем префикс.
+			SmallNode<V> split = new SmallNode<>(4);
+			split.prefix = Arrays.copyOf(prefix, mismatch);
+			inner.prefix = Arrays.copyOfRange(prefix, mismatch + 1, prefix.length);
+			split.add(prefix[mismatch] & 0xFF, inner);
+			attach(split, leaf, depth + mismatch);
+			size++;
+			return split;
+		}
+		depth += prefix.length;
+		if (depth == k.length) {
+			if (inner.terminal != null) {
+				oldValue = inner.terminal.setValue(leaf.value);
+			} else {
+				inner.terminal = leaf;
+				size++;
+			}
+			return inner;
+		}
+		int b = k[depth] & 0xFF;
+		Node<V> child = inner.find(b);
+		if (child != null) {
+			Node<V> newChild = insert(child, leaf, depth + 1);
+			if (newChild != child) inner.replace(b, newChild);
+			return inner;
+		}
+		if (inner.isFull()) inner = inner.grow();
+		inner.add(b, leaf);
+		size++;
+		return inner;
+	}
+
+	/**
+	 * Подвешивает лист к узлу, префикс которого заканчивается на глубине depth.
+	 */
+	private static <V> void attach(Inner<V> node, Leaf<V> leaf, int depth) {
+		if (leaf.bytes.length == depth) {
+			node.terminal = leaf;
+		} else {
+			node.add(leaf.bytes[depth] & 0xFF, leaf);
+		}
+	}
+
+	/**
+	 * Удаление ключа из поддерева node, расположенного на глубине depth.
+	 * @return Узел, заменяющий node (null, если поддерево стало пустым)
+	 */
+	private Node<V> delete(Node<V> node, byte[] k, int depth) {
+		if (node instanceof Leaf) {
+			Leaf<V> leaf = (Leaf<V>) node;
+			if (!Arrays.equals(leaf.bytes, k)) return leaf;
+			oldValue = leaf.value;
+			size--;
+			return null;
+		}
+		Inner<V> inner = (Inner<V>) node;
+		byte[] prefix = inner.prefix;
+		if (k.length - depth < prefix.length) return inner;
+		for (int i = 0; i < prefix.length; i++) {
+			if (prefix[i] != k[depth + i]) return inner;
+		}
+		depth += prefix.length;
+		if (depth == k.length) {
+			if (inner.terminal == null) return inner;
+			oldValue = inner.terminal.value;
+			inner.terminal = null;
+			size--;
+		} else {
+			int b = k[depth] & 0xFF;
+			Node<V> child = inner.find(b);
+			if (child == null) return inner;
+			Node<V> newChild = delete(child, k, depth + 1);
+			if (newChild == child) return inner;
+			if (newChild == null) {
+				inner.delete(b);
+			} else {
+				inner.replace(b, newChild);
+			}
+		}
+		return compact(inner);
+	}
+
+	/**
+	 * Упрощение узла после удаления: пустой узел исчезает, узел только с ключом
+	 * заменяется листом, узел с одним потомком сливается с ним.
+	 */
+	private static <V> Node<V> compact(Inner<V> inner) {
+		if (inner.count == 0) return inner.terminal;
+		if (inner.count == 1 && inner.terminal == null) {
+			int pos = inner.nextPosition(0);
+			Node<V> child = inner.childAt(pos);
+			if (child instanceof Inner) {
+				Inner<V> c = (Inner<V>) child;
+				byte[] merged = Arrays.copyOf(inner.prefix, inner.prefix.length + 1 + c.prefix.length);
+				merged[inner.prefix.length] = (byte) inner.byteAt(pos);
+				System.arraycopy(c.prefix, 0, merged, inner.prefix.length + 1, c.prefix.length);
+				c.prefix = merged;
+			}
+			return child;
+		}
+		return inner.shrink();
+	}
+
+	@Override
+	public Set<Map.Entry<String, V>> entrySet() {
+		return new AbstractSet<Map.Entry<String, V>>() {
+			@Override
+			public Iterator<Map.Entry<String, V>> iterator() {
+				return new EntryIterator(EMPTY);
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	/**
+	 * Итератор пар словаря, ключи которых начинаются с prefix, в порядке возрастания ключей.
+	 * @param prefix Начало ключей
+	 */
+	public Iterator<Map.Entry<String, V>> prefixIterator(String prefix) {
+		if (prefix == null) throw new NullPointerException("Null prefix");
+		return new EntryIterator(bytes(prefix));
+	}
+
+	/**
+	 * Состояние обхода внутреннего узла.
+	 */
+	private static final class Frame<V> {
+		final Inner<V> node;
+		boolean terminalDone = false;
+		int pos = 0;
+
+		Frame(Inner<V> node) { this.node = node; }
+	}
+
+	/**
+	 * Итератор листьев в порядке возрастания ключей. Стек содержит узлы на пути
+	 * от корня к текущему листу и позиции, с которых продолжается их обход.
+	 */
+	private class EntryIterator implements Iterator<Map.Entry<String, V>> {
+		final byte[] prefix;
+		final Deque<Frame<V>> stack = new ArrayDeque<>();
+		Leaf<V> next;
+		Leaf<V> last;
+
+		EntryIterator(byte[] prefix) {
+			this.prefix = prefix;
+			seek(prefix);
+		}
+
+		/**
+		 * Устанавливает итератор на первый ключ, не меньший key.
+		 */
+		private void seek(byte[] key) {
+			stack.clear();
+			next = null;
+			Node<V> node = root;
+			int depth = 0;
+			while (node != null) {
+				if (node instanceof Leaf) {
+					Leaf<V> leaf = (Leaf<V>) node;
+					if (compareKeys(leaf.bytes, key) >= 0) {
+						next = leaf;
+						checkPrefix();
+						return;
+					}
+					break;
+				}
+				Inner<V> inner = (Inner<V>) node;
+				int c = compare(inner.prefix, depth, key);
+				if (c > 0) {
+					// Все ключи поддерева больше key.
+					stack.push(new Frame<>(inner));
+					break;
+				}
+				if (c < 0) break;
+				depth += inner.prefix.length;
+				if (depth == key.length) {
+					stack.push(new Frame<>(inner));
+					break;
+				}
+				int b = key[depth++] & 0xFF;
+				Frame<V> frame = new Frame<>(inner);
+				frame.terminalDone = true;
+				frame.pos = inner.positionAfter(b);
+				stack.push(frame);
+				node = inner.find(b);
+			}
+			advance();
+		}
+
+		/**
+		 * Переход к следующему листу.
+		 */
+		private void advance() {
+			next = null;
+			while (!stack.isEmpty()) {
+				Frame<V> frame = stack.peek();
+				if (!frame.terminalDone) {
+					frame.terminalDone = true;
+					if (frame.node.terminal != null) {
+						next = frame.node.terminal;
+						break;
+					}
+				}
+				int pos = frame.node.nextPosition(frame.pos);
+				if (pos < 0) {
+					stack.pop();
+					continue;
+				}
+				frame.pos = pos + 1;
+				Node<V> child = frame.node.childAt(pos);
+				if (child instanceof Leaf) {
+					next = (Leaf<V>) child;
+					break;
+				}
+				stack.push(new Frame<>((Inner<V>) child));
+			}
+			checkPrefix();
+		}
+
+		/**
+		 * Ключи перебираются по возрастанию, поэтому первый ключ без заданного
+		 * начала означает конец перебора.
+		 */
+		private void checkPrefix() {
+			if (next == null || prefix.length == 0) return;
+			if (next.bytes.length < prefix.length || compare(prefix, 0, next.bytes) != 0) {
+				next = null;
+				stack.clear();
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Map.Entry<String, V> next() {
+			if (next == null) throw new NoSuchElementException();
+			last = next;
+			advance();
+			return last;
+		}
+
+		@Override
+		public void remove() {
+			if (last == null) throw new IllegalStateException();
+			RadixTreeMap.this.remove(last.key);
+			// Узлы дерева могли измениться: заново находим первый ключ после удаленного.
+			seek(last.bytes);
+			last = null;
+		}
+	}
+
+	/**
+	 * Сравнение части a, начинающейся с позиции from, с массивом key от той же позиции.
+	 * Если key заканчивается раньше, чем a, часть a считается большей.
+	 * @return Отрицательное число, 0 или положительное число
+	 */
+	private static int compare(byte[] a, int from, byte[] key) {
+		for (int i = 0; i < a.length; i++) {
+			if (from + i == key.length) return 1;
+			int c = (a[i] & 0xFF) - (key[from + i] & 0xFF);
+			if (c != 0) return c;
+		}
+		return 0;
+	}
+
+	/**
+	 * Лексикографическое сравнение ключей как последовательностей байтов без знака.
+	 */
+	private static int compareKeys(byte[] a, byte[] b) {
+		int n = Math.min(a.length, b.length);
+		for (int i = 0; i < n; i++) {
+			int c = (a[i] & 0xFF) - (b[i] & 0xFF);
+			if (c != 0) return c;
+		}
+		return a.length - b.length;
+	}
+
+	/**
+	 * Тестирующая функция проверяет упорядоченный перебор и поиск по началу ключа.
+	 * @param args Не используется
+	 */
+	public static void main(String[] args) {
+		RadixTreeMap<Integer> dict = new RadixTreeMap<Integer>();
+		final String[] words = {
+				"to", "be", "or", "not", "to", "be",
+				"that", "is", "the", "question", "there", "these", "th" };
+		for (String word : words) {
+			dict.put(word, word.length());
+		}
+		System.out.println("Size = " + dict.size());
+		System.out.println(dict);
+		for (Iterator<Map.Entry<String, Integer>> it = dict.prefixIterator("th"); it.hasNext(); ) {
+			System.out.print(it.next().getKey() + " ");
+		}
+		System.out.println();
+	}
+}
@@ -0,0 +1,373 @@
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * Компактное отображение для небольшого и среднего числа элементов.
+ * <p>
+ * В отличие от {@link ListMap} и {@link HashMap}, здесь нет объекта на каждую пару
+ * <ключ, значение>: ключи хранятся в одном массиве, упорядоченном по возрастанию,
+ * а значения - в другом массиве на тех же местах. Поиск ключа - двоичный,
+ * за время O(log n); добавление и удаление сдвигают хвосты массивов и выполняются
+ * за время O(n), что для небольших отображений быстрее, чем кажется.
+ * Пары в итерации выдаются в порядке возрастания ключей.
+ * <p>
+ * Отображение можно построить сразу из другого отображения за время O(n log n)
+ * (за O(n), если исходное отображение - {@link SortedMap} или SortedArrayMap
+ * с тем же порядком) и "заморозить" методом {@link #freeze()}: замороженное
+ * отображение не занимает лишней памяти и не может быть изменено.
+ * Пустые (null) ключи не допускаются.
+ *
+ * @param <K> Тип ключа
+ * @param <V> Тип значения
+ */
+public class SortedArrayMap<K, V> extends AbstractMap<K, V> {
+	private static final Object[] EMPTY = {};
+
+	private final Comparator<? super K> comparator;
+	private Object[] keys = EMPTY;
+	private Object[] values = EMPTY;
+	private int size = 0;
+	private boolean frozen = false;
+	// Число структурных изменений - для обнаружения изменений во время итерации.
+	private int modCount = 0;
+
+	/**
+	 * Пустое отображение с естественным порядком ключей.
+	 */
+	public SortedArrayMap() {
+		this((Comparator<? super K>) null);
+	}
+
+	/**
+	 * Пустое отображение с заданным порядком ключей.
+	 * @param comparator Порядок ключей (null - естественный порядок)
+	 */
+	public SortedArrayMap(Comparator<? super K> comparator) {
+		this.comparator = comparator;
+	}
+
+	/**
+	 * Отображение с естественным порядком ключей, содержащее все пары
+	 * заданного отображения. Массивы имеют длину, равную числу пар.
+	 * @param source Исходное отображение
+	 */
+	public SortedArrayMap(Map<? extends K, ? extends V> source) {
+		this(source, null);
+	}
+
+	/**
+	 * Отображение с заданным порядком ключей, содержащее все пары заданного отображения.
+	 * Если в исходном отображении есть ключи, равные с точки зрения порядка,
+	 * остается последний из них в порядке итерации.
+	 * @param source     Исходное отображение
+	 * @param comparator Порядок ключей (null - естественный порядок)
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public SortedArrayMap(Map<? extends K, ? extends V> source, Comparator<? super K> comparator) {
+		this.comparator = comparator;
+		int n = source.size();
+		if (n == 0) return;
+		Map.Entry<? extends K, ? extends V>[] entries = source.entrySet().toArray(new Map.Entry[n]);
+		n = entries.length;
+		boolean sorted = source instanceof SortedMap
+				&& ((SortedMap<? extends K, ? extends V>) source).comparator() == comparator
+				|| source instanceof SortedArrayMap
+				&& ((SortedArrayMap<? extends K, ? extends V>) source).comparator() == comparator;
+		if (!sorted) {
+			// Устойчивая сортировка: из равных ключей последним остается последний по итерации.
+			Arrays.sort(entries, (e1, e2) -> compare(e1.getKey(), e2.getKey()));
+		}
+		keys = new Object[n];
+		values = new Object[n];
+		for (Map.Entry<? extends K, ? extends V> entry : entries) {
+			K key = entry.getKey();
+			if (key == null) throw new IllegalArgumentException("Null key");
+			if (size > 0 && compare(keys[size - 1], key) == 0) size--;
+			keys[size] = key;
+			values[size] = entry.getValue();
+			size++;
+		}
+		if (size < n) trimToSize();
+	}
+
+	@SuppressWarnings("unchecked")
+	private int compare(Object key1, Object key2) {
+		return comparator == null
+				? ((Comparable<Object>) key1).compareTo(key2)
+				: comparator.compare((K) key1, (K) key2);
+	}
+
+	/**
+	 * Двоичный поиск ключа.
+	 * @return Индекс ключа, если он есть; иначе -(место вставки) - 1.
+	 */
+	private int indexOf(Object key) {
+		if (key == null) return -1;
+		int low = 0, high = size - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int cmp = compare(keys[middle], key);
+			if (cmp < 0) {
+				low = middle + 1;
+			} else if (cmp > 0) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+		return -(low + 1);
+	}
+
+	private void checkNotFrozen() {
+		if (frozen) throw new UnsupportedOperationException("Map is frozen");
+	}
+
+	@SuppressWarnings("unchecked")
+	private K keyAt(int index) { return (K) keys[index]; }
+
+	@SuppressWarnings("unchecked")
+	private V valueAt(int index) { return (V) values[index]; }
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public V get(Object key) {
+		int index = indexOf(key);
+		return index < 0 ? null : valueAt(index);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return indexOf(key) >= 0;
+	}
+
+	@Override
+	public V put(K key, V value) {
+		checkNotFrozen();
+		if (key == null) throw new IllegalArgumentException("Null key");
+		int index = indexOf(key);
+		if (index >= 0) {
+			V oldValue = valueAt(index);
+			values[index] = value;
+			return oldValue;
+		}
+		index = -index - 1;
+		if (size == keys.length) {
+			// Рост в полтора раза: для маленьких отображений важнее экономия памяти.
+			int capacity = Math.max(4, size + (size >> 1));
+			keys = Arrays.copyOf(keys, capacity);
+			values = Arrays.copyOf(values, capacity);
+		}
+		System.arraycopy(keys, index, keys, index + 1, size - index);
+		System.arraycopy(values, index, values, index + 1, size - index);
+		keys[index] = key;
+		values[index] = value;
+		size++;
+		modCount++;
+		return null;
+	}
+
+	@Override
+	public V remove(Object key) {
+		checkNotFrozen();
+		int index = indexOf(key);
+		if (index < 0) return null;
+		V oldValue = valueAt(index);
+		removeAt(index);
+		return oldValue;
+	}
+
+	private void removeAt(int index) {
+		System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+		System.arraycopy(values, index + 1, values, index, size - index - 1);
+		size--;
+		keys[size] = values[size] = null;
+		modCount++;
+	}
+
+	@Override
+	public void clear() {
+		checkNotFrozen();
+		keys = values = EMPTY;
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * Сокращает массивы до числа элементов.
+	 */
+	public void trimToSize() {
+		if (keys.length > size) {
+			keys = size == 0 ? EMPTY : Arrays.copyOf(keys, size);
+			values = size == 0 ? EMPTY : Arrays.copyOf(values, size);
+		}
+	}
+
+	/**
+	 * "Замораживает" отображение: массивы сокращаются до числа элементов,
+	 * и любая последующая попытка изменить отображение приводит
+	 * к исключению UnsupportedOperationException.
+	 * @return Это же отображение
+	 */
+	public SortedArrayMap<K, V> freeze() {
+		if (!frozen) {
+			trimToSize();
+			frozen = true;
+		}
+		return this;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	public Comparator<? super K> comparator() {
+		return comparator;
+	}
+
+	/**
+	 * Наименьший ключ отображения.
+	 */
+	public K firstKey() {
+		if (size == 0) throw new NoSuchElementException();
+		return keyAt(0);
+	}
+
+	/**
+	 * Наибольший ключ отображения.
+	 */
+	public K lastKey() {
+		if (size == 0) throw new NoSuchElementException();
+		return keyAt(size - 1);
+	}
+
+	@Override
+	public Set<Map.Entry<K, V>> entrySet() {
+		return new AbstractSet<Map.Entry<K, V>>() {
+			@Override
+			public Iterator<Map.Entry<K, V>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				if (!(o instanceof Map.Entry)) return false;
+				Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+				int index = indexOf(entry.getKey());
+				return index >= 0 && (values[index] == null
+						? entry.getValue() == null : values[index].equals(entry.getValue()));
+			}
+
+			@Override
+			public void clear() {
+				SortedArrayMap.this.clear();
+			}
+		};
+	}
+
+	/**
+	 * Итератор пар по возрастанию ключей. Пара - представление элемента массивов,
+	 * ее значение можно заменить, если отображение не заморожено и ключ
+	 * не удален из отображения.
+	 */
+	private class EntryIterator implements Iterator<Map.Entry<K, V>> {
+		int next = 0;
+		int last = -1;
+		int expectedModCount = modCount;
+
+		@Override
+		public boolean hasNext() {
+			return next < size;
+		}
+
+		@Override
+		public Map.Entry<K, V> next() {
+			if (expectedModCount != modCount) throw new ConcurrentModificationException();
+			if (next >= size) throw new NoSuchElementException();
+			last = next++;
+			return new AbstractMap.SimpleEntry<K, V>(keyAt(last), valueAt(last)) {
+				@Override
+				public V setValue(V value) {
+					checkNotFrozen();
+					if (expectedModCount != modCount) throw new ConcurrentModificationException();
+					// После it.remove() пара могла сдвинуться или исчезнуть: ищем ключ заново.
+					int index = indexOf(getKey());
+					if (index < 0) throw new IllegalStateException("Entry was removed");
+					super.setValue(value);
+					V oldValue = valueAt(index);
+					values[index] = value;
+					return oldValue;
+				}
+			};
+		}
+
+		@Override
+		public void remove() {
+			checkNotFrozen();
+			if (last < 0) throw new IllegalStateException();
+			if (expectedModCount != modCount) throw new ConcurrentModificationException();
+			removeAt(last);
+			next = last;
+			last = -1;
+			expectedModCount = modCount;
+		}
+	}
+
+	/**
+	 * Тестирующая функция: те же действия, что и в {@link ListMap#main},
+	 * построение отображения из HashMap и "замораживание".
+	 * @param args Не используется
+	 */
+	public static void main(String[] args) {
+		SortedArrayMap<String, Integer> myMap = new SortedArrayMap<>();
+
+		myMap.put("alfa", 1);
+		myMap.put("beta", 2);
+		myMap.put("gamma", 111);
+		myMap.put("delta", 4);
+		myMap.put("epsilon", 5);
+		myMap.put("dzeta", 6);
+		myMap.put("eta", 7);
+		myMap.put("gamma", 3);
+		System.out.println(myMap.get("dzeta"));
+
+		for (String i : myMap.keySet()) {
+			System.out.print("  " + i);
+		}
+		System.out.println();
+
+		for (Integer i : myMap.values()) {
+			System.out.print("  " + i);
+		}
+		System.out.println();
+
+		Map<String, Integer> hashMap = new HashMap<>();
+		for (int i = 0; i < 1000; i++) {
+			hashMap.put("key" + i, i);
+		}
+		SortedArrayMap<String, Integer> frozen = new SortedArrayMap<>(hashMap).freeze();
+		System.out.println(frozen.equals(hashMap) + " " + frozen.firstKey() + " " + frozen.lastKey());
+		try {
+			frozen.put("key0", -1);
+		} catch (UnsupportedOperationException e) {
+			System.out.println(e.getMessage());
+		}
+	}
+}
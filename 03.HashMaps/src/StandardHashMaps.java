@@ -3,7 +3,9 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
- * Исследование поведения стандартных классов HashMap и LinkedHashMap
+ * Исследование поведения стандартных классов HashMap и LinkedHashMap.
+ * Сравнение скорости HashMap с отображениями IntIntMap и LongObjectMap
+ * см. в тесте bench.hash.PrimitiveMapBenchmark модуля Benchmarks.
  */
 public class StandardHashMaps {
 
@@ -0,0 +1,318 @@
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+import hash.Dictionary;
+
+/**
+ * Кеш ограниченного размера со строковыми ключами и вытеснением по алгоритму W-TinyLFU.
+ * <p>
+ * Элементы находятся через словарь {@link hash.Dictionary} (в режиме постепенного
+ * перехеширования) и, кроме того, входят в один из трех списков LRU:
+ * <ul>
+ * <li>окно (window, около 1% емкости) - сюда попадают все новые элементы;</li>
+ * <li>испытательный сегмент (probation) основной области;</li>
+ * <li>защищенный сегмент (protected, 80% основной области) - элементы,
+ * к которым обращались, пока они были в испытательном сегменте.</li>
+ * </ul>
+ * Элемент, вытесненный из окна, становится кандидатом в основную область.
+ * Если кеш переполнен, кандидат сравнивается с первым на вытеснение элементом
+ * испытательного сегмента по частоте обращений, оцененной с помощью
+ * {@link FrequencySketch}, и из кеша удаляется тот, к которому обращались реже.
+ * Так редко используемые элементы не вытесняют часто используемые, а окно
+ * позволяет новым элементам накопить частоту.
+ * <p>
+ * Дополнительно можно задать время жизни элемента после записи: элементы
+ * упорядочены по времени записи в отдельном списке, и устаревшие элементы
+ * удаляются из его начала при каждой операции. Все операции выполняются
+ * за время O(1). Кеш не потокобезопасен.
+ *
+ * @param <V> Тип значений
+ */
+public class TinyLfuCache<V> {
+	private static final int WINDOW = 0, PROBATION = 1, PROTECTED = 2;
+
+	/**
+	 * Элемент кеша. Входит одновременно в список своего сегмента
+	 * и в список, упорядоченный по времени записи.
+	 */
+	private static final class Node<V> {
+		final String key;
+		final int hash;
+		V value;
+		long writeTime;
+		int queue;
+		Node<V> prev, next;             // Список сегмента
+		Node<V> writePrev, writeNext;   // Список по времени записи
+
+		Node(String key, int hash, V value) {
+			this.key = key; this.hash = hash; this.value = value;
+		}
+	}
+
+	/**
+	 * Двусвязный список LRU: в начале - элемент, к которому дольше всего не обращались.
+	 */
+	private static final class AccessList<V> {
+		final Node<V> head = new Node<>(null, 0, null);
+		int size = 0;
+
+		AccessList() { head.prev = head.next = head; }
+
+		Node<V> first() { return head.next == head ? null : head.next; }
+
+		void addLast(Node<V> node) {
+			node.prev = head.prev;
+			node.next = head;
+			head.prev.next = node;
+			head.prev = node;
+			size++;
+		}
+
+		void remove(Node<V> node) {
+			node.prev.next = node.next;
+			node.next.prev = node.prev;
+			node.prev = node.next = null;
+			size--;
+		}
+
+		void moveToLast(Node<V> node) {
+			remove(node);
+			addLast(node);
+		}
+	}
+
+	private final Dictionary<Node<V>> index = new Dictionary<>(true);
+	private final FrequencySketch sketch;
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private final AccessList<V>[] queues = new AccessList[] { new AccessList<V>(), new AccessList<V>(), new AccessList<V>() };
+	// Список по времени записи (используется, только если задано время жизни).
+	private final Node<V> writeHead = new Node<>(null, 0, null);
+
+	private final int maximumSize;
+	private final int maxWindow;
+	private final int maxProtected;
+	private final long expireAfterWriteNanos;
+	private final LongSupplier ticker;
+
+	private long hits = 0, misses = 0, evictions = 0, expirations = 0;
+
+	/**
+	 * Кеш без ограничения времени жизни элементов.
+	 * @param maximumSize Наибольшее число элементов
+	 */
+	public TinyLfuCache(int maximumSize) {
+		this(maximumSize, 0, System::nanoTime);
+	}
+
+	/**
+	 * @param maximumSize           Наибольшее число элементов
+	 * @param expireAfterWriteNanos Время жизни элемента после записи (0 - неограниченно)
+	 * @param ticker                Источник текущего времени в наносекундах
+	 */
+	public TinyLfuCache(int maximumSize, long expireAfterWriteNanos, LongSupplier ticker) {
+		if (maximumSize < 1) throw new IllegalArgumentException("Illegal maximum size: " + maximumSize);
+		if (expireAfterWriteNanos < 0) throw new IllegalArgumentException("Illegal expiry: " + expireAfterWriteNanos);
+		this.maximumSize = maximumSize;
+		this.maxWindow = Math.max(1, maximumSize / 100);
+		this.maxProtected = (int) ((maximumSize - maxWindow) * 0.8);
+		this.expireAfterWriteNanos = expireAfterWriteNanos;
+		this.ticker = ticker;
+		this.sketch = new FrequencySketch(maximumSize);
+		writeHead.writePrev = writeHead.writeNext = writeHead;
+	}
+
+	private static int hash(String key) {
+		int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Значение, связанное с ключом, или null, если его нет в кеше.
+	 */
+	public V get(String key) {
+		expire();
+		Node<V> node = index.get(key);
+		sketch.increment(hash(key));
+		if (node == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		onAccess(node);
+		return node.value;
+	}
+
+	/**
+	 * Заносит значение в кеш или заменяет имеющееся.
+	 * @return Прежнее значение или null
+	 */
+	public V put(String key, V value) {
+		if (key == null || value == null) throw new IllegalArgumentException("Null key or value");
+		expire();
+		int h = hash(key);
+		sketch.increment(h);
+		Node<V> node = index.get(key);
+		if (node != null) {
+			V oldValue = node.value;
+			node.value = value;
+			onWrite(node);
+			onAccess(node);
+			return oldValue;
+		}
+		node = new Node<>(key, h, value);
+		index.put(key, node);
+		node.queue = WINDOW;
+		queues[WINDOW].addLast(node);
+		onWrite(node);
+		evict();
+		return null;
+	}
+
+	/**
+	 * Удаляет элемент из кеша.
+	 * @return Удаленное значение или null
+	 */
+	public V remove(String key) {
+		expire();
+		Node<V> node = index.get(key);
+		if (node == null) return null;
+		unlink(node);
+		return node.value;
+	}
+
+	public int size() { return index.size(); }
+
+	public long hitCount() { return hits; }
+
+	public long missCount() { return misses; }
+
+	/** Число элементов, вытесненных из-за переполнения. */
+	public long evictionCount() { return evictions; }
+
+	/** Число элементов, удаленных по истечении времени жизни. */
+	public long expirationCount() { return expirations; }
+
+	public double hitRate() {
+		long requests = hits + misses;
+		return requests == 0 ? 1.0 : (double) hits / requests;
+	}
+
+	/**
+	 * Перемещение элемента при обращении к нему.
+	 */
+	private void onAccess(Node<V> node) {
+		if (node.queue == PROBATION) {
+			// Повторное обращение: элемент переходит в защищенный сегмент.
+			queues[PROBATION].remove(node);
+			node.queue = PROTECTED;
+			queues[PROTECTED].addLast(node);
+			if (queues[PROTECTED].size > maxProtected) {
+				Node<V> demoted = queues[PROTECTED].first();
+				queues[PROTECTED].remove(demoted);
+				demoted.queue = PROBATION;
+				queues[PROBATION].addLast(demoted);
+			}
+		} else {
+			queues[node.queue].moveToLast(node);
+		}
+	}
+
+	/**
+	 * Перемещение элемента в конец списка по времени записи.
+	 */
+	private void onWrite(Node<V> node) {
+		if (expireAfterWriteNanos == 0) return;
+		node.writeTime = ticker.getAsLong();
+		if (node.writeNext != null) {
+			node.writePrev.writeNext = node.writeNext;
+			node.writeNext.writePrev = node.writePrev;
+		}
+		node.writePrev = writeHead.writePrev;
+		node.writeNext = writeHead;
+		writeHead.writePrev.writeNext = node;
+		writeHead.writePrev = node;
+	}
+
+	/**
+	 * Удаление элементов с истекшим временем жизни из начала списка по времени записи.
+	 */
+	private void expire() {
+		if (expireAfterWriteNanos == 0) return;
+		long now = ticker.getAsLong();
+		Node<V> node;
+		while ((node = writeHead.writeNext) != writeHead && now - node.writeTime >= expireAfterWriteNanos) {
+			unlink(node);
+			expirations++;
+		}
+	}
+
+	/**
+	 * Вытеснение из окна в основную область и из кеша при переполнении.
+	 */
+	private void evict() {
+		Node<V> candidate = null;
+		if (queues[WINDOW].size > maxWindow) {
+			candidate = queues[WINDOW].first();
+			queues[WINDOW].remove(candidate);
+			candidate.queue = PROBATION;
+			queues[PROBATION].addLast(candidate);
+		}
+		while (index.size() > maximumSize) {
+			Node<V> victim = queues[PROBATION].first();
+			if (victim == null) victim = queues[PROTECTED].first();
+			if (victim == null) victim = queues[WINDOW].first();
+			if (candidate != null && victim != candidate
+					&& sketch.frequency(candidate.hash) <= sketch.frequency(victim.hash)) {
+				// Кандидат используется не чаще, чем вытесняемый элемент: не допускаем его.
+				victim = candidate;
+			}
+			if (victim == candidate) candidate = null;
+			unlink(victim);
+			evictions++;
+		}
+	}
+
+	private void unlink(Node<V> node) {
+		index.remove(node.key);
+		queues[node.queue].remove(node);
+		if (node.writeNext != null) {
+			node.writePrev.writeNext = node.writeNext;
+			node.writeNext.writePrev = node.writePrev;
+			node.writePrev = node.writeNext = null;
+		}
+	}
+
+	/**
+	 * Тестирующая функция: сравнение доли попаданий W-TinyLFU и простого LRU
+	 * на потоке запросов с распределением Ципфа.
+	 * @param args Не используется
+	 */
+	public static void main(String[] args) {
+		final int keys = 100000, size = 1000, requests = 1000000;
+		// Распределение Ципфа: вероятность ключа i пропорциональна 1 / i.
+		double[] cumulative = new double[keys];
+		double sum = 0;
+		for (int i = 0; i < keys; i++) cumulative[i] = sum += 1.0 / (i + 1);
+		Random random = new Random(1);
+
+		TinyLfuCache<Integer> cache = new TinyLfuCache<>(size);
+		LinkedHashMap<String, Integer> lru = new LinkedHashMap<String, Integer>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+				return size() > size;
+			}
+		};
+		long lruHits = 0;
+		for (int r = 0; r < requests; r++) {
+			int pos = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+			String key = "key" + (pos < 0 ? -pos - 1 : pos);
+			if (cache.get(key) == null) cache.put(key, r);
+			if (lru.get(key) != null) lruHits++; else lru.put(key, r);
+		}
+		System.out.printf("W-TinyLFU hit rate %.3f (evictions %d), LRU hit rate %.3f%n",
+				cache.hitRate(), cache.evictionCount(), (double) lruHits / requests);
+	}
+}
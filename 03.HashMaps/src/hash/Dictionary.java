@@ -2,11 +2,20 @@ package hash;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
 
 /**
  * Реализация простого словаря, содержащего словарные статьи заданного типа.
  * Словарь не поддерживает упорядоченность.
  * Реализация сделана на основе хеширования строк.
+ * <p>
+ * В режиме постепенного перехеширования (см. {@link #Dictionary(boolean)}) таблица
+ * при переполнении не перестраивается целиком за один раз: старая и новая таблицы
+ * существуют одновременно, и каждая операция переносит в новую таблицу несколько
+ * списков из старой. Пока перенос не закончен, поиск выполняется в обеих таблицах.
+ * Так время отдельной операции put не зависит от размера словаря.
+ * Перенос выполняют только изменяющие операции (put и remove): поиск не трогает
+ * таблицы, поэтому во время итерации можно свободно читать словарь.
  * @param <V> тип словарых статей.
  */
 public class Dictionary<V> implements Iterable<V> {
@@ -30,8 +39,11 @@ public class Dictionary<V> implements Iterable<V> {
      */
     private class DictIterator implements Iterator<Node<V>> {
 
-        int currentIndex = 0;   // Индекс списка
-        Node<V> current = hashTable[0]; // Текущий элемент
+        // Во время перехеширования сначала проходим еще не перенесенную часть старой таблицы.
+        Node<V>[] table = oldTable != null ? oldTable : hashTable;
+        int tableSize = oldTable != null ? oldHashSize : hashSize;
+        int currentIndex = oldTable != null ? rehashIndex : 0;   // Индекс списка
+        Node<V> current = table[currentIndex]; // Текущий элемент
         // Сначала устанавливаем указатель на первый элемент первого непустого списка.
         { if (current == null) setNextCurrent(); }
 
@@ -53,31 +65,81 @@ public class Dictionary<V> implements Iterable<V> {
          */
         private void setNextCurrent() {
             if (current != null) current = current.next;
-            if (current == null) {
-                while (currentIndex < hashSize - 1) {
-                    if ((current = hashTable[++currentIndex]) != null) break;
+            while (current == null) {
+                while (currentIndex < tableSize - 1) {
+                    if ((current = table[++currentIndex]) != null) return;
                 }
+                if (table == hashTable) return;
+                // Старая таблица пройдена, переходим к новой.
+                table = hashTable;
+                tableSize = hashSize;
+                currentIndex = 0;
+                current = table[0];
             }
         }
     }
 
     final static double rate = 0.75;    // Коэффициент заполненности таблицы.
+    final static int rehashSteps = 4;   // Число списков, переносимых за одну операцию.
     Node<V>[] hashTable = new Node[10]; // Таблица.
     int hashSize = 10;  // Длина таблицы.
     int dictSize = 0;   // Количество элементов в словаре.
 
+    final boolean incremental;  // Режим постепенного перехеширования.
+    Node<V>[] oldTable = null;  // Старая таблица во время перехеширования.
+    int oldHashSize = 0;        // Длина старой таблицы.
+    int rehashIndex = 0;        // Индекс первого еще не перенесенного списка старой таблицы.
+
+    /**
+     * Создает словарь, который перехешируется целиком за один раз.
+     */
+    public Dictionary() { this(false); }
+
+    /**
+     * Создает словарь.
+     * @param incremental Перехешировать постепенно, понемногу при каждой операции.
+     */
+    public Dictionary(boolean incremental) { this.incremental = incremental; }
+
     /**
      * Вычисление хеш-функции по заданной строке
      * @param s Исходная строка.
      * @return  Хеш-код.
      */
     private int hash(String s) {
+        return hash(s, hashSize);
+    }
+
+    /**
+     * Вычисление хеш-функции по заданной строке для таблицы заданной длины.
+     * @param s     Исходная строка.
+     * @param size  Длина таблицы.
+     * @return      Хеш-код.
+     */
+    private static int hash(String s, int size) {
         int hash = 0;
         for (int i = 0; i < s.length(); i++) {
             hash *= 37;
             hash += s.charAt(i);
         }
-        return Math.abs(hash % hashSize);
+        return Math.abs(hash % size);
+    }
+
+    /**
+     * Поиск элемента по ключу в обеих таблицах.
+     * @param word  Ключ
+     * @return      Элемент с заданным ключом или null.
+     */
+    private Node<V> find(String word) {
+        for (Node<V> current = hashTable[hash(word)]; current != null; current = current.next) {
+            if (current.key.equals(word)) return current;
+        }
+        if (oldTable != null) {
+            for (Node<V> current = oldTable[hash(word, oldHashSize)]; current != null; current = current.next) {
+                if (current.key.equals(word)) return current;
+            }
+        }
+        return null;
     }
 
     /**
@@ -88,12 +150,8 @@ public class Dictionary<V> implements Iterable<V> {
      */
     public V get(String word) {
         if (word == null) return null;
-        Node<V> current = hashTable[hash(word)];
-        while (current != null) {
-            if (current.key.equals(word)) return current.value;
-            current = current.next;
-        }
-        return null;
+        Node<V> node = find(word);
+        return node == null ? null : node.value;
     }
 
     /**
@@ -106,18 +164,18 @@ public class Dictionary<V> implements Iterable<V> {
         if (word == null || value == null) {
             throw new IllegalArgumentException("Null key or value");
         }
-        int index = hash(word);
-        Node<V> current = hashTable[index];
-        while (current != null) {
-            if (current.key.equals(word)) {
-                V oldValue = current.value;
-                current.value = value;
-                return oldValue;
-            }
-            current = current.next;
+        if (oldTable != null) rehashStep();
+        Node<V> node = find(word);
+        if (node != null) {
+            V oldValue = node.value;
+            node.value = value;
+            return oldValue;
         }
+        int index = hash(word);
         hashTable[index] = new Node<V>(word, value, hashTable[index]);
-        if (++dictSize * rate > hashSize) rehash();
+        if (++dictSize * rate > hashSize) {
+            if (incremental) startRehash(); else rehash();
+        }
         return null;
     }
 
@@ -128,14 +186,31 @@ public class Dictionary<V> implements Iterable<V> {
      *              или null, если ранее в таблице не было этого ключа.
      */
     public V remove(String word) {
-        int index = hash(word);
-        Node<V> current = hashTable[index];
+        if (oldTable != null) {
+            rehashStep();
+            if (oldTable != null) {
+                V oldValue = remove(oldTable, hash(word, oldHashSize), word);
+                if (oldValue != null) return oldValue;
+            }
+        }
+        return remove(hashTable, hash(word), word);
+    }
+
+    /**
+     * Удаляет пару с заданным ключом из списка таблицы.
+     * @param table Таблица
+     * @param index Индекс списка
+     * @param word  Ключ
+     * @return      Удаленное значение или null, если ключа в списке не было.
+     */
+    private V remove(Node<V>[] table, int index, String word) {
+        Node<V> current = table[index];
         Node<V> pred = null;
         while (current != null) {
             if (current.key.equals(word)) {
                 V oldValue = current.value;
                 if (pred == null) {
-                    hashTable[index] = current.next;
+                    table[index] = current.next;
                 } else {
                     pred.next = current.next;
                 }
@@ -197,6 +272,26 @@ public class Dictionary<V> implements Iterable<V> {
         };
     }
 
+    /**
+     * Проход по всем парам словаря за один раз, без поиска значений по ключам.
+     * @param action Действие, выполняемое с каждой парой
+     * @return       Число пройденных пар.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    int forEachEntry(BiConsumer<String, ? super V> action) {
+        int count = 0;
+        for (Node<V>[] table : new Node[][] { oldTable, hashTable }) {
+            if (table == null) continue;
+            for (Node<V> list : table) {
+                for (Node<V> current = list; current != null; current = current.next) {
+                    action.accept(current.key, current.value);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
     /**
      * Функция перехеширования вызывается каждый раз, когда количество слов в словаре
      * становится критически большим в соответствии с заданным критерием.
@@ -214,4 +309,48 @@ public class Dictionary<V> implements Iterable<V> {
             }
         }
     }
+
+    /**
+     * Начало постепенного перехеширования: текущая таблица становится старой,
+     * новые элементы заносятся в таблицу вдвое большей длины.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void startRehash() {
+        // Предыдущее перехеширование должно закончиться раньше, чем начнется новое.
+        while (oldTable != null) rehashStep();
+        oldTable = hashTable;
+        oldHashSize = hashSize;
+        rehashIndex = 0;
+        hashTable = new Node[hashSize <<= 1];
+    }
+
+    /**
+     * Один шаг постепенного перехеширования: переносит в новую таблицу
+     * не больше rehashSteps непустых списков старой таблицы. Узлы не копируются,
+     * а перецепляются в новую таблицу.
+     */
+    private void rehashStep() {
+        // Пустые списки тоже ограничиваем, чтобы шаг не растягивался на всю таблицу.
+        int emptyVisits = rehashSteps * 10;
+        for (int moved = 0; moved < rehashSteps && rehashIndex < oldHashSize; rehashIndex++) {
+            Node<V> current = oldTable[rehashIndex];
+            if (current == null) {
+                if (--emptyVisits == 0) break;
+                continue;
+            }
+            oldTable[rehashIndex] = null;
+            while (current != null) {
+                Node<V> next = current.next;
+                int newIndex = hash(current.key);
+                current.next = hashTable[newIndex];
+                hashTable[newIndex] = current;
+                current = next;
+            }
+            moved++;
+        }
+        if (rehashIndex == oldHashSize) {
+            oldTable = null;
+            oldHashSize = 0;
+        }
+    }
 }
@@ -0,0 +1,378 @@
+package hash;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Словарь только для чтения, хранящийся в файле и отображаемый в память.
+ * Файл строится заранее из обычного словаря {@link Dictionary} методом
+ * {@link #build}, а при запуске программы открывается методом {@link #open}:
+ * открытие - это только отображение файла в память, словарь не загружается
+ * в кучу, и несколько процессов, открывших один файл, разделяют одни и те же
+ * страницы памяти.
+ * <p>
+ * Формат файла:
+ * <ul>
+ * <li>заголовок: сигнатура, версия, число слов, длина индекса;</li>
+ * <li>индекс - хеш-таблица с открытой адресацией (линейное пробирование),
+ * ячейка - хеш-код слова и смещение словарной статьи в файле (0 - пустая ячейка);</li>
+ * <li>словарные статьи: длина и байты слова в кодировке UTF-8 (непарные суррогаты
+ * кодируются тремя байтами, см. {@link #bytes(String)}),
+ * длина и байты значения, полученные с помощью {@link Codec}.</li>
+ * </ul>
+ * При поиске слово сравнивается с байтами в файле непосредственно, без создания строк.
+ * Размер файла ограничен 2 Гб.
+ * @param <V> тип словарых статей.
+ */
+public class MappedDictionary<V> implements Iterable<V> {
+    /**
+     * Преобразование словарных статей в байты и обратно.
+     */
+    public interface Codec<V> {
+        byte[] encode(V value);
+
+        /**
+         * Восстанавливает значение по байтам, находящимся в буфере между position и limit.
+         */
+        V decode(ByteBuffer buffer);
+    }
+
+    /** Словарные статьи - строки в кодировке UTF-8. */
+    public static final Codec<String> STRING = new Codec<String>() {
+        @Override
+        public byte[] encode(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(ByteBuffer buffer) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /** Словарные статьи - целые числа. */
+    public static final Codec<Integer> INTEGER = new Codec<Integer>() {
+        @Override
+        public byte[] encode(Integer value) {
+            return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer) {
+            return buffer.getInt(buffer.position());
+        }
+    };
+
+    private static final int MAGIC = 0x44494354;    // "DICT"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int SLOT_SIZE = 8;
+
+    private final MappedByteBuffer buffer;
+    private final Codec<V> codec;
+    private final int dictSize;     // Количество слов в словаре.
+    private final int mask;         // Длина индекса минус 1.
+
+    private MappedDictionary(MappedByteBuffer buffer, Codec<V> codec) {
+        this.buffer = buffer;
+        this.codec = codec;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a dictionary file");
+        }
+        dictSize = buffer.getInt(8);
+        mask = buffer.getInt(12) - 1;
+    }
+
+    /**
+     * Строит файл словаря по содержимому словаря source.
+     * Файл сначала записывается рядом под временным именем и затем переименовывается,
+     * поэтому процессы, уже открывшие прежний файл, продолжают работать с ним.
+     * @param source    Исходный словарь
+     * @param file      Файл результата
+     * @param codec     Способ записи словарных статей
+     * @throws IOException при ошибке записи
+     */
+    public static <V> void build(Dictionary<V> source, Path file, Codec<V> codec) throws IOException {
+        // Пары собираются за один проход, без поиска по ключам: размер индекса
+        // и заголовок определяются числом действительно записываемых пар.
+        List<String> keys = new ArrayList<>();
+        List<V> values = new ArrayList<>();
+        int count = source.forEachEntry((key, value) -> {
+            keys.add(key);
+            values.add(value);
+        });
+        // Индекс заполнен не больше, чем наполовину.
+        int slots = Integer.highestOneBit(Math.max(count, 1) * 2 - 1) << 1;
+        int[] slotHashes = new int[slots];
+        int[] slotOffsets = new int[slots];
+        List<byte[]> pool = new ArrayList<>();
+        long offset = HEADER_SIZE + (long) slots * SLOT_SIZE;
+        for (int i = 0; i < count; i++) {
+            String key = keys.get(i);
+            byte[] keyBytes = bytes(key);
+            byte[] valueBytes = codec.encode(values.get(i));
+            int h = key.hashCode();
+            int index = h & (slots - 1);
+            while (slotOffsets[index] != 0) index = (index + 1) & (slots - 1);
+            if (offset > Integer.MAX_VALUE) throw new IOException("Dictionary file is too large");
+            slotHashes[index] = h;
+            slotOffsets[index] = (int) offset;
+            pool.add(keyBytes);
+            pool.add(valueBytes);
+            offset += 2 * Integer.BYTES + keyBytes.length + valueBytes.length;
+        }
+        if (offset > Integer.MAX_VALUE) throw new IOException("Dictionary file is too large");
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(count);
+            out.writeInt(slots);
+            for (int i = 0; i < slots; i++) {
+                out.writeInt(slotHashes[i]);
+                out.writeInt(slotOffsets[i]);
+            }
+            for (byte[] bytes : pool) {
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Открывает файл словаря, построенный методом {@link #build}.
+     * @param file  Файл словаря
+     * @param codec Способ чтения словарных статей (тот же, что и при построении)
+     * @throws IOException при ошибке чтения
+     */
+    public static <V> MappedDictionary<V> open(Path file, Codec<V> codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new MappedDictionary<>(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), codec);
+        }
+    }
+
+    /**
+     * Поиск словарной статьи по ключу.
+     * @param word  Ключ
+     * @return      Смещение статьи в файле или -1, если такого ключа нет.
+     */
+    private int find(String word) {
+        int h = word.hashCode();
+        for (int index = h & mask; ; index = (index + 1) & mask) {
+            int slot = HEADER_SIZE + index * SLOT_SIZE;
+            int offset = buffer.getInt(slot + Integer.BYTES);
+            if (offset == 0) return -1;
+            if (buffer.getInt(slot) == h && keyEquals(word, offset + Integer.BYTES, buffer.getInt(offset))) {
+                return offset;
+            }
+        }
+    }
+
+    /**
+     * Сравнение строки с байтами ключа в файле (см. {@link #bytes(String)})
+     * без декодирования их в новую строку.
+     */
+    private boolean keyEquals(String word, int position, int length) {
+        int end = position + length;
+        int i = 0;
+        while (position < end) {
+            int b = buffer.get(position++) & 0xFF;
+            int c;
+            if (b < 0x80) {
+                c = b;
+            } else if (b < 0xE0) {
+                c = ((b & 0x1F) << 6) | (buffer.get(position++) & 0x3F);
+            } else if (b < 0xF0) {
+                c = ((b & 0x0F) << 12) | ((buffer.get(position++) & 0x3F) << 6) | (buffer.get(position++) & 0x3F);
+            } else {
+                // Символ вне основной плоскости - в строке ему соответствуют два char.
+                int cp = ((b & 0x07) << 18) | ((buffer.get(position++) & 0x3F) << 12)
+                        | ((buffer.get(position++) & 0x3F) << 6) | (buffer.get(position++) & 0x3F);
+                if (i + 1 >= word.length() || word.charAt(i) != Character.highSurrogate(cp)
+                        || word.charAt(i + 1) != Character.lowSurrogate(cp)) return false;
+                i += 2;
+                continue;
+            }
+            if (i >= word.length() || word.charAt(i++) != c) return false;
+        }
+        return i == word.length();
+    }
+
+    private V value(int offset) {
+        int keyLength = buffer.getInt(offset);
+        int valuePosition = offset + Integer.BYTES + keyLength;
+        int valueLength = buffer.getInt(valuePosition);
+        ByteBuffer value = buffer.duplicate();
+        value.limit(valuePosition + Integer.BYTES + valueLength).position(valuePosition + Integer.BYTES);
+        return codec.decode(value);
+    }
+
+    /**
+     * Восстанавливает ключ по байтам в файле; обратное преобразование к {@link #bytes(String)}.
+     */
+    private String key(int offset) {
+        int position = offset + Integer.BYTES;
+        int end = position + buffer.getInt(offset);
+        StringBuilder word = new StringBuilder(end - position);
+        while (position < end) {
+            int b = buffer.get(position++) & 0xFF;
+            if (b < 0x80) {
+                word.append((char) b);
+            } else if (b < 0xE0) {
+                word.append((char) (((b & 0x1F) << 6) | (buffer.get(position++) & 0x3F)));
+            } else if (b < 0xF0) {
+                word.append((char) (((b & 0x0F) << 12) | ((buffer.get(position++) & 0x3F) << 6)
+                        | (buffer.get(position++) & 0x3F)));
+            } else {
+                word.appendCodePoint(((b & 0x07) << 18) | ((buffer.get(position++) & 0x3F) << 12)
+                        | ((buffer.get(position++) & 0x3F) << 6) | (buffer.get(position++) & 0x3F));
+            }
+        }
+        return word.toString();
+    }
+
+    /**
+     * Байты ключа в файле - UTF-8, в котором непарные суррогаты, как и остальные
+     * символы основной плоскости, кодируются тремя байтами (WTF-8, как в RadixTreeMap).
+     * String.getBytes заменяет такие символы на '?', и в файл попадал бы другой ключ,
+     * чем тот, чей хеш-код записан в индекс.
+     */
+    private static byte[] bytes(String key) {
+        int length = 0;
+        for (int i = 0; i < key.length(); ) {
+            int cp = key.codePointAt(i);
+            i += Character.charCount(cp);
+            length += cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+        }
+        byte[] k = new byte[length];
+        int pos = 0;
+        for (int i = 0; i < key.length(); ) {
+            int cp = key.codePointAt(i);
+            i += Character.charCount(cp);
+            if (cp < 0x80) {
+                k[pos++] = (byte) cp;
+            } else if (cp < 0x800) {
+                k[pos++] = (byte) (0xC0 | cp >> 6);
+                k[pos++] = (byte) (0x80 | cp & 0x3F);
+            } else if (cp < 0x10000) {
+                k[pos++] = (byte) (0xE0 | cp >> 12);
+                k[pos++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                k[pos++] = (byte) (0x80 | cp & 0x3F);
+            } else {
+                k[pos++] = (byte) (0xF0 | cp >> 18);
+                k[pos++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                k[pos++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                k[pos++] = (byte) (0x80 | cp & 0x3F);
+            }
+        }
+        return k;
+    }
+
+    /**
+     * Поиск значения по ключу.
+     * @param word  Ключ
+     * @return      Значение, связанное с ключом в случае, если ключ имеется.
+     *              Выдает null, если такого ключа нет.
+     */
+    public V get(String word) {
+        if (word == null) return null;
+        int offset = find(word);
+        return offset < 0 ? null : value(offset);
+    }
+
+    /**
+     * Проверяет, есть ли ключ в словаре.
+     */
+    public boolean containsKey(String word) {
+        return word != null && find(word) >= 0;
+    }
+
+    /**
+     * Выдает количество слов в словаре
+     * @return
+     */
+    public int size() { return dictSize; }
+
+    /**
+     * Проверяет, является ли словарь пустым.
+     * @return
+     */
+    public boolean isEmpty() { return dictSize == 0; }
+
+    /**
+     * Выдает итератор всех ключей в словаре.
+     * @return
+     */
+    public Iterator<String> keys() {
+        return new Iterator<String>() {
+            IndexIterator ii = new IndexIterator();
+
+            public boolean hasNext() {
+                return ii.hasNext();
+            }
+
+            public String next() {
+                return key(ii.next());
+            }
+        };
+    }
+
+    /**
+     * Выдает итератор всех словарных статей в словаре.
+     * @return
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<V>() {
+            IndexIterator ii = new IndexIterator();
+
+            public boolean hasNext() {
+                return ii.hasNext();
+            }
+
+            public V next() {
+                return value(ii.next());
+            }
+        };
+    }
+
+    /**
+     * Итератор смещений словарных статей по непустым ячейкам индекса.
+     */
+    private class IndexIterator {
+        int index = nextOccupied(0);
+
+        boolean hasNext() {
+            return index <= mask;
+        }
+
+        int next() {
+            if (index > mask) throw new NoSuchElementException();
+            int offset = buffer.getInt(HEADER_SIZE + index * SLOT_SIZE + Integer.BYTES);
+            index = nextOccupied(index + 1);
+            return offset;
+        }
+
+        private int nextOccupied(int from) {
+            while (from <= mask && buffer.getInt(HEADER_SIZE + from * SLOT_SIZE + Integer.BYTES) == 0) from++;
+            return from;
+        }
+    }
+}
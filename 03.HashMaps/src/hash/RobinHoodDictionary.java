@@ -0,0 +1,237 @@
+package hash;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Словарь с тем же набором операций, что и {@link Dictionary}, но на основе
+ * хеш-таблицы с открытой адресацией.
+ * Ключи, их хеш-коды и словарные статьи хранятся в трех параллельных массивах,
+ * поэтому при поиске не нужно переходить по ссылкам между элементами списков,
+ * а при добавлении не создаются новые объекты.
+ * Коллизии разрешаются линейным пробированием по методу Robin Hood: при вставке
+ * элемент, ушедший от своей "домашней" ячейки дальше, вытесняет элемент, ушедший
+ * меньше. При удалении следующие элементы цепочки сдвигаются на одну ячейку назад,
+ * так что отметки об удаленных элементах не нужны.
+ * @param <V> тип словарых статей.
+ */
+public class RobinHoodDictionary<V> implements Iterable<V> {
+    final static double rate = 0.75;    // Коэффициент заполненности таблицы.
+
+    String[] keys = new String[16];     // Ключи; null - пустая ячейка.
+    int[] hashes = new int[16];         // Хеш-коды ключей.
+    Object[] values = new Object[16];   // Словарные статьи.
+    int mask = 15;      // Длина таблицы минус 1 (длина - степень двойки).
+    int dictSize = 0;   // Количество элементов в словаре.
+
+    /**
+     * Вычисление хеш-функции по заданной строке.
+     * Старшие биты кода перемешиваются с младшими, так как индекс берется по младшим битам.
+     * @param s Исходная строка.
+     * @return  Хеш-код.
+     */
+    private static int hash(String s) {
+        int h = s.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Расстояние от ячейки index до домашней ячейки элемента с хеш-кодом hash.
+     */
+    private int distance(int hash, int index) {
+        return (index - hash) & mask;
+    }
+
+    /**
+     * Поиск индекса ячейки с заданным ключом.
+     * @return Индекс ячейки или -1, если ключа нет в словаре.
+     */
+    private int find(String word) {
+        int h = hash(word);
+        for (int index = h & mask, dist = 0; ; index = (index + 1) & mask, dist++) {
+            String key = keys[index];
+            // Элемент с ключом word не мог уйти от домашней ячейки дальше, чем элемент в этой ячейке.
+            if (key == null || distance(hashes[index], index) < dist) return -1;
+            if (hashes[index] == h && key.equals(word)) return index;
+        }
+    }
+
+    /**
+     * Поиск значения по ключу.
+     * @param word  Ключ
+     * @return      Значение, связанное с ключом в случае, если ключ имеется.
+     *              Выдает null, если такого ключа нет.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(String word) {
+        if (word == null) return null;
+        int index = find(word);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /**
+     * Заносит новую пару из ключа и значения или заменяет имеющееся значение.
+     * @param word  Ключ
+     * @param value Новое значение
+     * @return      Значение, которое было ранее связано с заданным ключом, или null.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(String word, V value) {
+        if (word == null || value == null) {
+            throw new IllegalArgumentException("Null key or value");
+        }
+        int index = find(word);
+        if (index >= 0) {
+            V oldValue = (V) values[index];
+            values[index] = value;
+            return oldValue;
+        }
+        if ((dictSize + 1) > rate * (mask + 1)) rehash();
+        insert(word, hash(word), value);
+        dictSize++;
+        return null;
+    }
+
+    /**
+     * Удаляет из таблицы пару с заданным ключом.
+     * @param word  Ключ
+     * @return      Значение, которое было связано ранее с удаляемым ключом
+     *              или null, если ранее в таблице не было этого ключа.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(String word) {
+        if (word == null) return null;
+        int index = find(word);
+        if (index < 0) return null;
+        V oldValue = (V) values[index];
+        // Сдвигаем назад следующие элементы, пока не встретится пустая ячейка
+        // или элемент, стоящий в своей домашней ячейке.
+        int next = (index + 1) & mask;
+        while (keys[next] != null && distance(hashes[next], next) > 0) {
+            keys[index] = keys[next];
+            hashes[index] = hashes[next];
+            values[index] = values[next];
+            index = next;
+            next = (next + 1) & mask;
+        }
+        keys[index] = null;
+        values[index] = null;
+        dictSize--;
+        return oldValue;
+    }
+
+    /**
+     * Выдает количество слов в словаре
+     * @return
+     */
+    public int size() { return dictSize; }
+
+    /**
+     * Проверяет, является ли словарь пустым.
+     * @return
+     */
+    public boolean isEmpty() { return dictSize == 0; }
+
+    /**
+     * Выдает итератор всех ключей в словаре.
+     * @return
+     */
+    public Iterator<String> keys() {
+        return new Iterator<String>() {
+            TableIterator ti = new TableIterator();
+
+            public boolean hasNext() {
+                return ti.hasNext();
+            }
+
+            public String next() {
+                return keys[ti.next()];
+            }
+        };
+    }
+
+    /**
+     * Выдает итератор всех словарных статей в словаре.
+     * @return
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<V>() {
+            TableIterator ti = new TableIterator();
+
+            public boolean hasNext() {
+                return ti.hasNext();
+            }
+
+            @SuppressWarnings("unchecked")
+            public V next() {
+                return (V) values[ti.next()];
+            }
+        };
+    }
+
+    /**
+     * Итератор индексов непустых ячеек таблицы.
+     */
+    private class TableIterator {
+        int index = nextOccupied(0);
+
+        boolean hasNext() {
+            return index <= mask;
+        }
+
+        int next() {
+            if (index > mask) throw new NoSuchElementException();
+            int current = index;
+            index = nextOccupied(index + 1);
+            return current;
+        }
+
+        private int nextOccupied(int from) {
+            while (from <= mask && keys[from] == null) from++;
+            return from;
+        }
+    }
+
+    /**
+     * Вставка элемента, которого заведомо нет в таблице.
+     */
+    private void insert(String key, int hash, Object value) {
+        int index = hash & mask;
+        for (int dist = 0; ; index = (index + 1) & mask, dist++) {
+            if (keys[index] == null) {
+                keys[index] = key;
+                hashes[index] = hash;
+                values[index] = value;
+                return;
+            }
+            int existing = distance(hashes[index], index);
+            if (existing < dist) {
+                // Вытесняем "более богатый" элемент и продолжаем вставку уже для него.
+                String k = keys[index]; keys[index] = key; key = k;
+                int h = hashes[index]; hashes[index] = hash; hash = h;
+                Object v = values[index]; values[index] = value; value = v;
+                dist = existing;
+            }
+        }
+    }
+
+    /**
+     * Функция перехеширования вызывается каждый раз, когда количество слов в словаре
+     * становится критически большим в соответствии с заданным критерием.
+     * Размер таблицы увеличивается в два раза.
+     */
+    private void rehash() {
+        String[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        Object[] oldValues = values;
+        int size = (mask + 1) << 1;
+        keys = new String[size];
+        hashes = new int[size];
+        values = new Object[size];
+        mask = size - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) insert(oldKeys[i], oldHashes[i], oldValues[i]);
+        }
+    }
+}
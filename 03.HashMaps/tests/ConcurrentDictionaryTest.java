@@ -0,0 +1,85 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentDictionaryTest {
+
+    @Test
+    void testPutGetRemove() {
+        ConcurrentDictionary<Integer> dict = new ConcurrentDictionary<>(4);
+        assertTrue(dict.isEmpty());
+        assertNull(dict.put("one", 1));
+        assertEquals(1, (int) dict.put("one", 11));
+        assertNull(dict.putIfAbsent("two", 2));
+        assertEquals(2, (int) dict.putIfAbsent("two", 22));
+        assertEquals(11, (int) dict.get("one"));
+        assertFalse(dict.remove("two", 22));
+        assertTrue(dict.remove("two", 2));
+        assertEquals(1, dict.size());
+        assertThrows(NullPointerException.class, () -> dict.put(null, 1));
+        assertThrows(NullPointerException.class, () -> dict.put("three", null));
+    }
+
+    @Test
+    void testConcurrentPutRemoveSize() throws InterruptedException {
+        final int threads = 8, keys = 20000;
+        ConcurrentDictionary<Integer> dict = new ConcurrentDictionary<>(4);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicLong badSizes = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int base = t * keys;
+            writers.add(new Thread(() -> {
+                // Каждый поток добавляет свои ключи, удаляет нечетные и снова добавляет
+                // каждый четвертый; кроме того, все потоки изменяют общие ключи.
+                for (int i = 0; i < keys; i++) dict.put("key" + (base + i), base + i);
+                for (int i = 1; i < keys; i += 2) {
+                    Integer removed = dict.remove("key" + (base + i));
+                    if (removed == null || removed != base + i) errors.incrementAndGet();
+                }
+                for (int i = 1; i < keys; i += 4) {
+                    if (dict.putIfAbsent("key" + (base + i), -(base + i)) != null) errors.incrementAndGet();
+                }
+                for (int i = 0; i < 1000; i++) {
+                    dict.put("shared" + (i % 100), i);
+                    dict.remove("shared" + ((i + 50) % 100));
+                }
+            }));
+        }
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                int size = dict.size();
+                if (size < 0 || size > threads * keys + 100) badSizes.incrementAndGet();
+            }
+        });
+        reader.start();
+        for (Thread t : writers) t.start();
+        for (Thread t : writers) t.join();
+        done.set(true);
+        reader.join();
+        assertEquals(0, errors.get());
+        assertEquals(0, badSizes.get());
+
+        Map<String, Integer> copy = new HashMap<>();
+        for (Map.Entry<String, Integer> e : dict.entrySet()) assertNull(copy.put(e.getKey(), e.getValue()));
+        assertEquals(dict.size(), copy.size());
+        int shared = 0;
+        for (String key : copy.keySet()) if (key.startsWith("shared")) shared++;
+        assertEquals(threads * (keys / 2 + keys / 4), copy.size() - shared);
+        for (int t = 0; t < threads; t++) {
+            int base = t * keys;
+            for (int i = 0; i < keys; i++) {
+                Integer expected = i % 2 == 0 ? (Integer) (base + i) : i % 4 == 1 ? (Integer) (-(base + i)) : null;
+                assertEquals(expected, dict.get("key" + (base + i)));
+            }
+        }
+    }
+}
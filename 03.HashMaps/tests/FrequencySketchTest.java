@@ -0,0 +1,39 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrequencySketchTest {
+
+    @Test
+    void testIncrementAndSaturation() {
+        FrequencySketch sketch = new FrequencySketch(1000);
+        assertEquals(0, sketch.frequency(42));
+        for (int i = 1; i <= 15; i++) {
+            sketch.increment(42);
+            assertTrue(sketch.frequency(42) >= i, "Frequency underestimated");
+        }
+        // Счетчики 4-битовые: частота не превышает 15.
+        for (int i = 0; i < 10; i++) sketch.increment(42);
+        assertEquals(15, sketch.frequency(42));
+        sketch.increment(43);
+        assertTrue(sketch.frequency(43) >= 1);
+    }
+
+    @Test
+    void testAging() {
+        // Для емкости 1000 счетчики делятся пополам после 10000 увеличений.
+        FrequencySketch sketch = new FrequencySketch(1000);
+        for (int i = 0; i < 15; i++) sketch.increment(-1);
+        assertEquals(15, sketch.frequency(-1));
+        int step = 0;
+        while (sketch.frequency(-1) == 15) {
+            assertTrue(++step <= 10000, "Counters were not halved");
+            sketch.increment(step);
+        }
+        assertEquals(7, sketch.frequency(-1));
+        // Накопленная частота других ключей тоже уменьшилась.
+        int total = 0;
+        for (int hash = 1; hash <= 100; hash++) total += sketch.frequency(hash);
+        assertTrue(total < 100 * 7, "Other counters were not halved: " + total);
+    }
+}
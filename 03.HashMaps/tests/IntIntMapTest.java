@@ -0,0 +1,141 @@
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntIntMapTest {
+
+    private static int tableLength(IntIntMap map) throws ReflectiveOperationException {
+        Field keys = IntIntMap.class.getDeclaredField("keys");
+        keys.setAccessible(true);
+        return ((int[]) keys.get(map)).length;
+    }
+
+    /**
+     * Первый ненулевой ключ (начиная с from), домашняя ячейка которого в таблице
+     * заданной длины равна home.
+     */
+    private static int keyWithHome(int home, int length, int from) throws ReflectiveOperationException {
+        Method mix = IntIntMap.class.getDeclaredMethod("mix", int.class);
+        mix.setAccessible(true);
+        for (int key = from; ; key++) {
+            if (key != 0 && ((int) mix.invoke(null, key) & (length - 1)) == home) return key;
+        }
+    }
+
+    @Test
+    void testZeroKey() {
+        IntIntMap map = new IntIntMap();
+        map.defaultValue(-1);
+        assertFalse(map.containsKey(0));
+        assertEquals(-1, map.get(0));
+        assertEquals(-1, map.put(0, 10));
+        assertTrue(map.containsKey(0));
+        assertEquals(10, map.get(0));
+        assertEquals(1, map.size());
+        assertEquals(10, map.put(0, 20));
+        assertEquals(1, map.size());
+        assertEquals(20, map.remove(0));
+        assertEquals(-1, map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertTrue(map.isEmpty());
+        map.put(0, 1);
+        map.clear();
+        assertFalse(map.containsKey(0));
+        assertEquals(-1, map.getOrDefault(0, -1));
+    }
+
+    @Test
+    void testRandomOperations() {
+        // Небольшой диапазон ключей: длинные цепочки, переход через конец таблицы
+        // и удаление со сдвигом (shiftKeys) встречаются постоянно.
+        Random random = new Random(1);
+        IntIntMap map = new IntIntMap(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int step = 0; step < 300000; step++) {
+            int key = random.nextInt(2000) - 1000;
+            switch (random.nextInt(4)) {
+            case 0:
+            case 1:
+                Integer old = expected.put(key, step);
+                assertEquals(old == null ? 0 : old, map.put(key, step));
+                break;
+            case 2:
+                old = expected.remove(key);
+                assertEquals(old == null ? 0 : old, map.remove(key));
+                break;
+            default:
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+                assertEquals(expected.getOrDefault(key, 0), (Integer) map.get(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (Map.Entry<Integer, Integer> e : expected.entrySet()) {
+            assertEquals((int) e.getValue(), map.get(e.getKey()));
+        }
+    }
+
+    @Test
+    void testRemoveWrapsAround() throws ReflectiveOperationException {
+        // Цепочка переходит через конец таблицы: после удаления ключа из последней ячейки
+        // ключ с домашней ячейкой 0 должен остаться на месте, а ключ с домашней
+        // ячейкой в конце таблицы - сдвинуться назад через границу.
+        IntIntMap map = new IntIntMap();
+        int length = tableLength(map);
+        int last = keyWithHome(length - 1, length, 1);
+        int first = keyWithHome(0, length, 1);
+        map.put(last, 1);
+        map.put(first, 2);
+        assertEquals(1, map.remove(last));
+        assertEquals(2, map.get(first));
+        assertTrue(map.containsKey(first));
+
+        int last2 = keyWithHome(length - 1, length, last + 1);
+        map.clear();
+        map.put(last, 1);
+        map.put(last2, 2);
+        map.put(first, 3);
+        assertEquals(1, map.remove(last));
+        assertEquals(2, map.get(last2));
+        assertEquals(3, map.get(first));
+        assertEquals(2, map.remove(last2));
+        assertEquals(3, map.get(first));
+        assertEquals(1, map.size());
+        assertEquals(length, tableLength(map));
+    }
+
+    @Test
+    void testPresized() throws ReflectiveOperationException {
+        IntIntMap map = new IntIntMap(1000);
+        int length = tableLength(map);
+        for (int i = 1; i <= 1000; i++) map.put(i * 7919, i);
+        assertEquals(length, tableLength(map), "Presized map was rehashed");
+        map.put(-1, -1);
+        for (int i = 1001; i <= 2000; i++) map.put(i * 7919, i);
+        assertTrue(tableLength(map) > length, "Map did not grow");
+        assertEquals(2001, map.size());
+        for (int i = 1; i <= 2000; i++) assertEquals(i, map.get(i * 7919));
+        assertEquals(-1, map.get(-1));
+        assertThrows(IllegalArgumentException.class, () -> new IntIntMap(-1));
+    }
+
+    @Test
+    void testForEach() {
+        IntIntMap map = new IntIntMap();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = -50; i <= 50; i++) {
+            map.put(i, i * i);
+            expected.put(i, i * i);
+        }
+        map.remove(7);
+        expected.remove(7);
+        Map<Integer, Integer> seen = new HashMap<>();
+        map.forEach((k, v) -> assertNull(seen.put(k, v), "Key " + k + " visited twice"));
+        assertEquals(expected, seen);
+    }
+}
@@ -0,0 +1,100 @@
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongObjectMapTest {
+
+    private static Object[] values(LongObjectMap<?> map) throws ReflectiveOperationException {
+        Field values = LongObjectMap.class.getDeclaredField("values");
+        values.setAccessible(true);
+        return (Object[]) values.get(map);
+    }
+
+    /**
+     * Число ссылок на значения в таблице - должно совпадать с числом пар
+     * (не считая пары с ключом 0): удаленные значения не должны удерживаться.
+     */
+    private static int references(LongObjectMap<?> map) throws ReflectiveOperationException {
+        int count = 0;
+        for (Object value : values(map)) {
+            if (value != null) count++;
+        }
+        return count;
+    }
+
+    @Test
+    void testZeroKey() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        assertFalse(map.containsKey(0));
+        assertNull(map.get(0));
+        assertNull(map.put(0, "zero"));
+        assertEquals("zero", map.get(0));
+        assertEquals(1, map.size());
+        assertEquals("zero", map.put(0, "null"));
+        assertEquals("null", map.remove(0));
+        assertNull(map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testRandomOperations() throws ReflectiveOperationException {
+        Random random = new Random(1);
+        LongObjectMap<Integer> map = new LongObjectMap<>(4);
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int step = 0; step < 300000; step++) {
+            // Ключи различаются и в старших битах.
+            long key = (random.nextInt(2000) - 1000) * 0x100000001L;
+            switch (random.nextInt(4)) {
+            case 0:
+            case 1:
+                assertEquals(expected.put(key, step), map.put(key, step));
+                break;
+            case 2:
+                assertEquals(expected.remove(key), map.remove(key));
+                break;
+            default:
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+                assertEquals(expected.get(key), map.get(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (Map.Entry<Long, Integer> e : expected.entrySet()) {
+            assertEquals(e.getValue(), map.get(e.getKey()));
+        }
+        assertEquals(expected.size() - (expected.containsKey(0L) ? 1 : 0), references(map));
+    }
+
+    @Test
+    void testRemoveAndClearReleaseValues() throws ReflectiveOperationException {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        for (long i = 1; i <= 100; i++) map.put(i, "value" + i);
+        for (long i = 1; i <= 100; i += 2) assertEquals("value" + i, map.remove(i));
+        assertEquals(50, references(map));
+        map.put(0, "zero");
+        map.clear();
+        assertEquals(0, references(map));
+        assertTrue(map.isEmpty());
+        assertNull(map.get(0));
+        assertNull(map.get(2));
+    }
+
+    @Test
+    void testPresizedAndForEach() throws ReflectiveOperationException {
+        LongObjectMap<Long> map = new LongObjectMap<>(1000);
+        int length = values(map).length;
+        for (long i = 0; i < 1000; i++) map.put(i << 40, i);
+        assertEquals(length, values(map).length, "Presized map was rehashed");
+        for (long i = 1000; i < 3000; i++) map.put(i << 40, i);
+        assertTrue(values(map).length > length, "Map did not grow");
+        Map<Long, Long> seen = new HashMap<>();
+        map.forEach((k, v) -> assertNull(seen.put(k, v), "Key " + k + " visited twice"));
+        assertEquals(3000, seen.size());
+        for (long i = 0; i < 3000; i++) assertEquals(i, (long) seen.get(i << 40));
+    }
+}
@@ -0,0 +1,65 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RadixTreeMapTest {
+
+    @Test
+    void testUnpairedSurrogates() {
+        RadixTreeMap<Integer> map = new RadixTreeMap<>();
+        assertNull(map.put("?", 1));
+        assertNull(map.put("\uD800", 2));
+        assertEquals(2, map.size());
+        assertEquals(1, (int) map.get("?"));
+        assertEquals(2, (int) map.get("\uD800"));
+        assertEquals(2, map.entrySet().size());
+        int count = 0;
+        for (Map.Entry<String, Integer> ignored : map.entrySet()) count++;
+        assertEquals(2, count);
+        assertEquals(2, (int) map.remove("\uD800"));
+        assertEquals(1, (int) map.get("?"));
+        assertNull(map.get("\uD800"));
+    }
+
+    @Test
+    void testRandomKeysAgainstTreeMap() {
+        final char[] alphabet = { 'a', 'b', '?', '\u00E9', '\uD800', '\uDC00', '\uD83D', '\uDE00', '\uFFFF' };
+        Random random = new Random(7);
+        RadixTreeMap<Integer> map = new RadixTreeMap<>();
+        // Порядок ключей дерева - порядок кодовых точек.
+        TreeMap<String, Integer> expected = new TreeMap<>(RadixTreeMapTest::compareCodePoints);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder key = new StringBuilder();
+            for (int n = random.nextInt(5); n > 0; n--) key.append(alphabet[random.nextInt(alphabet.length)]);
+            String k = key.toString();
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(k), map.remove(k));
+            } else {
+                assertEquals(expected.put(k, i), map.put(k, i));
+            }
+            assertEquals(expected.get(k), map.get(k));
+        }
+        assertEquals(expected.size(), map.size());
+        List<String> keys = new ArrayList<>(map.keySet());
+        assertEquals(new ArrayList<>(expected.keySet()), keys);
+        assertEquals(new HashMap<>(expected), new HashMap<>(map));
+    }
+
+    private static int compareCodePoints(String s1, String s2) {
+        int i = 0, j = 0;
+        while (i < s1.length() && j < s2.length()) {
+            int c1 = s1.codePointAt(i), c2 = s2.codePointAt(j);
+            if (c1 != c2) return Integer.compare(c1, c2);
+            i += Character.charCount(c1);
+            j += Character.charCount(c2);
+        }
+        return Integer.compare(s1.length() - i, s2.length() - j);
+    }
+}
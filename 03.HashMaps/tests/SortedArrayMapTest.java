@@ -0,0 +1,65 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedArrayMapTest {
+
+    @Test
+    void testEntrySetValue() {
+        SortedArrayMap<String, Integer> map = new SortedArrayMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+        for (Map.Entry<String, Integer> e : map.entrySet()) {
+            assertEquals(e.getValue(), e.setValue(e.getValue() * 10));
+        }
+        assertEquals(10, (int) map.get("a"));
+        assertEquals(20, (int) map.get("b"));
+        assertEquals(30, (int) map.get("c"));
+    }
+
+    @Test
+    void testSetValueAfterIteratorRemove() {
+        SortedArrayMap<String, Integer> map = new SortedArrayMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        Iterator<Map.Entry<String, Integer>> it = map.entrySet().iterator();
+        Map.Entry<String, Integer> a = it.next();
+        it.remove();
+        assertThrows(IllegalStateException.class, () -> a.setValue(99));
+        assertEquals(1, map.size());
+        assertEquals(2, (int) map.get("b"));
+    }
+
+    @Test
+    void testSetValueOfEarlierEntryAfterRemove() {
+        SortedArrayMap<String, Integer> map = new SortedArrayMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+        Iterator<Map.Entry<String, Integer>> it = map.entrySet().iterator();
+        Map.Entry<String, Integer> a = it.next();
+        it.next();
+        it.remove();
+        assertEquals(1, (int) a.setValue(11));
+        Map.Entry<String, Integer> c = it.next();
+        assertEquals(3, (int) c.setValue(33));
+        assertEquals(2, map.size());
+        assertEquals(11, (int) map.get("a"));
+        assertEquals(33, (int) map.get("c"));
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    void testFrozen() {
+        SortedArrayMap<String, Integer> map = new SortedArrayMap<>();
+        map.put("a", 1);
+        map.freeze();
+        Map.Entry<String, Integer> e = map.entrySet().iterator().next();
+        assertThrows(UnsupportedOperationException.class, () -> e.setValue(2));
+        assertThrows(UnsupportedOperationException.class, () -> map.put("b", 2));
+    }
+}
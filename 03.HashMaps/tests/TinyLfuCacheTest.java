@@ -0,0 +1,139 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TinyLfuCacheTest {
+
+    @Test
+    void testIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TinyLfuCache<Integer>(0));
+        assertThrows(IllegalArgumentException.class, () -> new TinyLfuCache<Integer>(10, -1, () -> 0));
+        TinyLfuCache<Integer> cache = new TinyLfuCache<>(10);
+        assertThrows(IllegalArgumentException.class, () -> cache.put(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> cache.put("key", null));
+    }
+
+    @Test
+    void testCounters() {
+        TinyLfuCache<Integer> cache = new TinyLfuCache<>(10);
+        assertEquals(1.0, cache.hitRate());
+        assertNull(cache.get("a"));
+        assertNull(cache.put("a", 1));
+        assertEquals(1, (int) cache.get("a"));
+        assertEquals(1, (int) cache.put("a", 2));
+        assertEquals(2, (int) cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(2, cache.hitCount());
+        assertEquals(2, cache.missCount());
+        assertEquals(0.5, cache.hitRate(), 1e-9);
+        assertEquals(2, (int) cache.remove("a"));
+        assertNull(cache.remove("a"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.evictionCount());
+        assertEquals(0, cache.expirationCount());
+    }
+
+    @Test
+    void testExpireAfterWrite() {
+        long[] now = { 0 };
+        TinyLfuCache<String> cache = new TinyLfuCache<>(10, 100, () -> now[0]);
+        cache.put("a", "a");
+        now[0] = 50;
+        cache.put("b", "b");
+        now[0] = 99;
+        assertEquals("a", cache.get("a"));
+        now[0] = 100;
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.expirationCount());
+        assertEquals(1, cache.size());
+        // Чтение не продлевает жизнь элемента, запись - продлевает.
+        now[0] = 120;
+        assertEquals("b", cache.get("b"));
+        assertEquals("b", cache.put("b", "b2"));
+        now[0] = 219;
+        assertEquals("b2", cache.get("b"));
+        now[0] = 220;
+        assertNull(cache.get("b"));
+        assertEquals(2, cache.expirationCount());
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.evictionCount());
+        // Устаревшие элементы удаляются и при записи других ключей.
+        for (int i = 0; i < 5; i++) cache.put("k" + i, "v");
+        now[0] = 1000;
+        cache.put("fresh", "v");
+        assertEquals(1, cache.size());
+        assertEquals(7, cache.expirationCount());
+    }
+
+    @Test
+    void testSizeBoundUnderChurn() {
+        long[] now = { 0 };
+        TinyLfuCache<Integer> cache = new TinyLfuCache<>(100, 5000, () -> now[0]);
+        Random random = new Random(1);
+        long inserted = 0, removed = 0, gets = 0;
+        for (int step = 0; step < 100000; step++) {
+            now[0] = step;
+            String key = "key" + random.nextInt(random.nextBoolean() ? 150 : 10000);
+            int op = random.nextInt(10);
+            if (op < 6) {
+                gets++;
+                if (cache.get(key) == null) {
+                    assertNull(cache.put(key, step));
+                    inserted++;
+                }
+            } else if (op < 9) {
+                if (cache.put(key, step) == null) inserted++;
+            } else if (cache.remove(key) != null) {
+                removed++;
+            }
+            assertTrue(cache.size() <= 100, "Size " + cache.size() + " exceeds maximum");
+            assertEquals(inserted - removed - cache.evictionCount() - cache.expirationCount(), cache.size());
+        }
+        assertTrue(cache.evictionCount() > 0);
+        assertTrue(cache.expirationCount() > 0);
+        assertEquals(gets, cache.hitCount() + cache.missCount());
+    }
+
+    @Test
+    void testMaximumSizeOne() {
+        TinyLfuCache<Integer> cache = new TinyLfuCache<>(1);
+        for (int i = 0; i < 100; i++) {
+            cache.put("key" + i, i);
+            assertEquals(1, cache.size());
+        }
+        assertEquals(99, cache.evictionCount());
+        int present = 0;
+        for (int i = 0; i < 100; i++) {
+            if (cache.get("key" + i) != null) present++;
+        }
+        assertEquals(1, present);
+        assertTrue(cache.remove("missing") == null);
+        cache.put("last", -1);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testFrequentKeysSurviveScan() {
+        // Часто используемых ключей больше, чем помещается в защищенный сегмент,
+        // так что часть из них остается в испытательном сегменте: без сравнения
+        // частот их вытеснял бы поток ключей, к которым обращаются по одному разу.
+        TinyLfuCache<Integer> cache = new TinyLfuCache<>(100);
+        int scan = 0;
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 90; i++) {
+                if (cache.get("hot" + i) == null) cache.put("hot" + i, i);
+            }
+            for (int i = 0; i < 100; i++, scan++) {
+                if (cache.get("scan" + scan) == null) cache.put("scan" + scan, scan);
+            }
+        }
+        int hot = 0;
+        for (int i = 0; i < 90; i++) {
+            if (cache.get("hot" + i) != null) hot++;
+        }
+        // Оценка частоты приближенная, поэтому допускается вытеснение нескольких ключей.
+        assertTrue(hot >= 80, "Only " + hot + " frequent keys survived");
+    }
+}
@@ -0,0 +1,62 @@
+package hash;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DictionaryTest {
+
+    /**
+     * Заполняет словарь с постепенным перехешированием так, чтобы перенос был не закончен.
+     */
+    private static Dictionary<Integer> rehashing() {
+        Dictionary<Integer> dict = new Dictionary<>(true);
+        int i = 0;
+        while (dict.oldTable == null || dict.size() < 1000) dict.put("word" + i, i++);
+        assertNotNull(dict.oldTable, "Rehash is not in progress");
+        return dict;
+    }
+
+    @Test
+    void testPutGetRemoveDuringRehash() {
+        Dictionary<Integer> dict = new Dictionary<>(true);
+        for (int i = 0; i < 5000; i++) assertNull(dict.put("word" + i, i));
+        assertEquals(5000, dict.size());
+        for (int i = 0; i < 5000; i++) assertEquals(i, (int) dict.get("word" + i));
+        for (int i = 0; i < 5000; i += 2) assertEquals(i, (int) dict.remove("word" + i));
+        assertEquals(2500, dict.size());
+        for (int i = 0; i < 5000; i++) assertEquals(i % 2 == 0 ? null : (Integer) i, dict.get("word" + i));
+    }
+
+    @Test
+    void testReadWhileIteratingDuringRehash() {
+        Dictionary<Integer> dict = rehashing();
+        Set<String> seen = new HashSet<>();
+        int count = 0;
+        for (Iterator<String> keys = dict.keys(); keys.hasNext(); count++) {
+            String key = keys.next();
+            assertNotNull(dict.get(key));
+            seen.add(key);
+        }
+        assertEquals(dict.size(), count);
+        assertEquals(dict.size(), seen.size());
+        assertNotNull(dict.oldTable, "Reads must not move buckets");
+    }
+
+    @Test
+    void testValuesDuringRehash() {
+        Dictionary<Integer> dict = rehashing();
+        long sum = 0;
+        int count = 0;
+        for (int value : dict) {
+            sum += value;
+            count++;
+        }
+        assertEquals(dict.size(), count);
+        assertEquals((long) count * (count - 1) / 2, sum);
+    }
+}
@@ -0,0 +1,56 @@
+package hash;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedDictionaryTest {
+
+    @Test
+    void testBuildDuringRehash() throws IOException {
+        Dictionary<Integer> source = new Dictionary<>(true);
+        int n = 0;
+        while (source.oldTable == null || source.size() < 1000) source.put("word" + n, n++);
+        Path file = Files.createTempFile("dict", ".dict");
+        try {
+            MappedDictionary.build(source, file, MappedDictionary.INTEGER);
+            MappedDictionary<Integer> dict = MappedDictionary.open(file, MappedDictionary.INTEGER);
+            assertEquals(n, dict.size());
+            Set<String> keys = new HashSet<>();
+            for (Iterator<String> it = dict.keys(); it.hasNext(); ) keys.add(it.next());
+            assertEquals(n, keys.size());
+            for (int i = 0; i < n; i++) assertEquals(i, (int) dict.get("word" + i));
+            assertNull(dict.get("word" + n));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testSurrogateKeys() throws IOException {
+        String[] words = { "?", "\uD800", "x\uDC00", "\uDBFF\uD800", "a\uD83D\uDE00b", "ключ", "" };
+        Dictionary<Integer> source = new Dictionary<>();
+        for (int i = 0; i < words.length; i++) source.put(words[i], i);
+        Path file = Files.createTempFile("dict", ".dict");
+        try {
+            MappedDictionary.build(source, file, MappedDictionary.INTEGER);
+            MappedDictionary<Integer> dict = MappedDictionary.open(file, MappedDictionary.INTEGER);
+            assertEquals(words.length, dict.size());
+            for (int i = 0; i < words.length; i++) assertEquals(i, (int) dict.get(words[i]), words[i]);
+            assertNull(dict.get("\uDC00"));
+            Set<String> keys = new HashSet<>();
+            for (Iterator<String> it = dict.keys(); it.hasNext(); ) keys.add(it.next());
+            assertEquals(new HashSet<>(Arrays.asList(words)), keys);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
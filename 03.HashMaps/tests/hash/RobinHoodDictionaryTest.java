@@ -0,0 +1,135 @@
+package hash;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RobinHoodDictionaryTest {
+
+    /**
+     * Проверяет инварианты таблицы: между домашней ячейкой элемента и его ячейкой
+     * нет пустых ячеек, и расстояние до домашней ячейки при переходе к следующей
+     * ячейке растет не больше, чем на 1 (иначе вставка должна была вытеснить элемент).
+     */
+    private static void checkTable(RobinHoodDictionary<?> dict) {
+        int count = 0;
+        for (int index = 0; index <= dict.mask; index++) {
+            if (dict.keys[index] == null) {
+                assertNull(dict.values[index], "Value in an empty cell " + index);
+                continue;
+            }
+            count++;
+            int home = dict.hashes[index] & dict.mask;
+            for (int i = home; i != index; i = (i + 1) & dict.mask) {
+                assertNotNull(dict.keys[i], "Hole in the probe chain at " + i);
+            }
+            int next = (index + 1) & dict.mask;
+            if (dict.keys[next] != null) {
+                int dist = (index - dict.hashes[index]) & dict.mask;
+                int nextDist = (next - dict.hashes[next]) & dict.mask;
+                assertTrue(nextDist <= dist + 1, "Robin Hood order broken at " + next);
+            }
+        }
+        assertEquals(dict.size(), count);
+    }
+
+    @Test
+    void testRandomOperations() {
+        Random random = new Random(1);
+        RobinHoodDictionary<Integer> dict = new RobinHoodDictionary<>();
+        Map<String, Integer> expected = new HashMap<>();
+        for (int step = 0; step < 200000; step++) {
+            // Ключей немного больше, чем элементов в словаре: часть операций
+            // находит ключ, часть - нет; размер таблицы растет от 16 ячеек.
+            String key = "k" + random.nextInt(step < 100000 ? 5000 : 500);
+            int op = random.nextInt(3);
+            if (op == 0) {
+                assertEquals(expected.put(key, step), dict.put(key, step));
+            } else if (op == 1) {
+                assertEquals(expected.remove(key), dict.remove(key));
+            } else {
+                assertEquals(expected.get(key), dict.get(key));
+            }
+            assertEquals(expected.size(), dict.size());
+            if (step % 10000 == 0) checkTable(dict);
+        }
+        checkTable(dict);
+        for (Map.Entry<String, Integer> e : expected.entrySet()) {
+            assertEquals(e.getValue(), dict.get(e.getKey()));
+        }
+    }
+
+    @Test
+    void testCollidingKeys() {
+        // "Aa" и "BB" имеют одинаковый hashCode, как и все строки из этих блоков.
+        String[] blocks = { "Aa", "BB" };
+        Map<String, Integer> expected = new HashMap<>();
+        RobinHoodDictionary<Integer> dict = new RobinHoodDictionary<>();
+        for (int i = 0; i < 256; i++) {
+            StringBuilder key = new StringBuilder();
+            for (int bit = 0; bit < 8; bit++) key.append(blocks[(i >> bit) & 1]);
+            expected.put(key.toString(), i);
+            assertNull(dict.put(key.toString(), i));
+        }
+        checkTable(dict);
+        for (Map.Entry<String, Integer> e : expected.entrySet()) {
+            assertEquals(e.getValue(), dict.get(e.getKey()));
+        }
+        // Удаление из середины длинной цепочки сдвигает хвост назад.
+        int removed = 0;
+        for (Iterator<Map.Entry<String, Integer>> it = expected.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Integer> e = it.next();
+            if (e.getValue() % 3 == 0) {
+                assertEquals(e.getValue(), dict.remove(e.getKey()));
+                it.remove();
+                removed++;
+            }
+        }
+        checkTable(dict);
+        assertEquals(256 - removed, dict.size());
+        for (Map.Entry<String, Integer> e : expected.entrySet()) {
+            assertEquals(e.getValue(), dict.get(e.getKey()));
+        }
+        assertNull(dict.get("AaAaAaAaAaAaAaAaAa"));
+    }
+
+    @Test
+    void testKeysAndIterator() {
+        RobinHoodDictionary<Integer> dict = new RobinHoodDictionary<>();
+        assertTrue(dict.isEmpty());
+        assertFalse(dict.keys().hasNext());
+        assertFalse(dict.iterator().hasNext());
+        for (int i = 0; i < 1000; i++) dict.put("word" + i, i);
+        for (int i = 0; i < 1000; i += 2) dict.remove("word" + i);
+        Set<String> keys = new HashSet<>();
+        for (Iterator<String> it = dict.keys(); it.hasNext(); ) assertTrue(keys.add(it.next()));
+        Set<Integer> values = new HashSet<>();
+        for (Integer value : dict) assertTrue(values.add(value));
+        assertEquals(500, keys.size());
+        assertEquals(500, values.size());
+        for (int i = 1; i < 1000; i += 2) {
+            assertTrue(keys.contains("word" + i), "Missing key word" + i);
+            assertTrue(values.contains(i), "Missing value " + i);
+        }
+        Iterator<String> it = dict.keys();
+        while (it.hasNext()) it.next();
+        assertThrows(NoSuchElementException.class, it::next);
+    }
+
+    @Test
+    void testNulls() {
+        RobinHoodDictionary<Integer> dict = new RobinHoodDictionary<>();
+        assertThrows(IllegalArgumentException.class, () -> dict.put(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> dict.put("key", null));
+        assertNull(dict.get(null));
+        assertNull(dict.remove(null));
+    }
+}
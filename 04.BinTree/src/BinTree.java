@@ -6,6 +6,8 @@ import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import combinators.Combinators;
+
 /**
  * Простое двоичное дерево с итерацией. Поддерживаются операции:
  * - iterate(action) Внутренняя итерация дерева
@@ -13,15 +15,18 @@ import java.util.stream.StreamSupport;
  * - stackIterator() Выдает внешний итератор дерева, построенный на основе стека
  * - iteratorsIterator() Выдает внешний итератор дерева, построенный на основе
  *                       операций над итераторами
+ * - iterateMorris(action) Внутренняя итерация дерева без рекурсии и стека
+ * - preorderIterator() Выдает внешний итератор дерева в прямом порядке,
+ *                       построенный на основе родительских ссылок
  * @param <T> Тип элементов дерева
  */
 class BinTree<T> implements Iterable<T> {
 	/**
 	 * Узел дерева содержит ссылки на левое и правое поддеревья и на
-	 * родительский узел.
+	 * родительский узел. Класс доступен в пакете, чтобы тесты могли строить деревья.
 	 * @param <T>
 	 */
-	private static class Node<T> {
+	static class Node<T> {
 		T info;
 		Node<T> left;
 		Node<T> right;
@@ -92,7 +97,7 @@ class BinTree<T> implements Iterable<T> {
 	 * Конструктор дерева с заданным корнем. For testing only!
 	 * @param node Корень дерева
 	 */
-	private BinTree(Node<T> node) {
+	BinTree(Node<T> node) {
 		root = node;
 	}
 
@@ -118,6 +123,68 @@ class BinTree<T> implements Iterable<T> {
 		}
 	}
 
+	/**
+	 * Внутренний итератор дерева по алгоритму Морриса. В отличие от {@link #iterate(Action)}
+	 * не использует рекурсию и дополнительную память, поэтому пригоден для сколь угодно
+	 * глубоких (вырожденных) деревьев.
+	 * <p>
+	 * Перед спуском в левое поддерево правая ссылка самого правого его узла
+	 * (предшественника) временно направляется на текущий узел; по этой ссылке
+	 * обход возвращается из левого поддерева, после чего она снова обнуляется.
+	 * К концу обхода дерево восстанавливается, даже если действие выдало исключение
+	 * (в этом случае обход доводится до конца без выполнения действия).
+	 * Во время обхода дерево нельзя использовать из других потоков.
+	 *
+	 * @param action Действие, выполняемое с узлом.
+	 */
+	public void iterateMorris(Action<T> action) {
+		Throwable failure = null;
+		Node<T> current = root;
+		while (current != null) {
+			Node<T> visit = null;
+			if (current.left == null) {
+				visit = current;
+				current = current.right;
+			} else {
+				Node<T> pred = predecessor(current);
+				if (pred.right == null) {
+					// Первый приход в узел: прокладываем обратную ссылку и спускаемся влево.
+					pred.right = current;
+					current = current.left;
+				} else {
+					// Возврат из левого поддерева: обратная ссылка больше не нужна.
+					pred.right = null;
+					visit = current;
+					current = current.right;
+				}
+			}
+			if (visit != null && failure == null) {
+				try {
+					action.accept(visit.info);
+				} catch (RuntimeException | Error e) {
+					failure = e;
+				}
+			}
+		}
+		if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+		if (failure instanceof Error) throw (Error) failure;
+	}
+
+	/**
+	 * Самый правый узел левого поддерева - предшественник узла в симметричном порядке.
+	 * Если правая ссылка предшественника уже указывает на узел (обратная ссылка
+	 * алгоритма Морриса), выдается этот предшественник.
+	 * @param node Узел, имеющий левое поддерево
+	 * @return Предшественник узла
+	 */
+	private static <T> Node<T> predecessor(Node<T> node) {
+		Node<T> pred = node.left;
+		while (pred.right != null && pred.right != node) {
+			pred = pred.right;
+		}
+		return pred;
+	}
+
 	/**
 	 * Вспомогательная функция, реализующая создание внешнего итератора
 	 * дерева на основе выполнения операций над итераторами.
@@ -269,6 +336,73 @@ class BinTree<T> implements Iterable<T> {
 		}
 	}
 	
+	/**
+	 * Реализация внешнего итератора дерева в прямом порядке (узел, затем левое
+	 * и правое поддеревья). Как и {@link BinTree.TreeIterator}, переходит к следующему
+	 * узлу по ссылкам на родительские узлы, поэтому не использует стек, не создает
+	 * объектов во время итерации и не изменяет дерево.
+	 * 
+	 * @param <T> Тип итерируемых элементов.
+	 */
+	private static class PreorderTreeIterator<T> implements Iterator<T> {
+		/* Очередной узел в порядке итерации */
+		private Node<T> nextNode;
+
+		/**
+		 * Конструктор
+		 * @param root Корень итерируемого дерева
+		 */
+		public PreorderTreeIterator(Node<T> root) {
+			nextNode = root;
+		}
+
+		/**
+		 * Функция поиска следующего узла в процессе итерации.
+		 * @param node Предыдущий узел
+		 * @return Следующий за предыдущим узел
+		 */
+		private Node<T> nextNode(Node<T> node) {
+			if (node.left != null) {
+				return node.left;
+			}
+			if (node.right != null) {
+				return node.right;
+			}
+			// Поднимаемся до узла, из левого поддерева которого пришли
+			// и у которого есть правое поддерево
+			Node<T> pred = node,
+					next = node.parent;
+			while (next != null && (next.left != pred || next.right == null)) {
+				pred = next;
+				next = next.parent;
+			}
+			return next == null ? null : next.right;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextNode != null;
+		}
+
+		@Override
+		public T next() {
+			if (nextNode == null) {
+				throw new NoSuchElementException();
+			}
+			T res = nextNode.info;
+			nextNode = nextNode(nextNode);
+			return res;
+		}
+
+		@Override
+		/**
+		 * Удаление узлов в процессе итерации не поддерживается.
+		 */
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
 	/**
 	 * Реализация внешнего итератора для параллельной обработки дерева.
 	 * Использует средства Java 8.
@@ -373,6 +507,16 @@ class BinTree<T> implements Iterable<T> {
 		return iterator(root);
 	}
 	
+	/**
+	 * Реализация внешнего итератора в прямом порядке: узел, затем левое
+	 * и правое поддеревья.
+	 * 
+	 * @return	Итератор на основе прохода по родительским ссылкам
+	 */
+	public Iterator<T> preorderIterator() {
+		return new PreorderTreeIterator<T>(root);
+	}
+
 	@Override
 	public Spliterator<T> spliterator() {
 		Stack<Node<T>> stack = new Stack<>();
@@ -435,12 +579,42 @@ class BinTree<T> implements Iterable<T> {
 		}
 		System.out.println();
 		
+		// Обход по алгоритму Морриса (внутренний итератор)
+		tree.iterateMorris(item -> System.out.print(" " + item));
+		System.out.println();
+
+		// Внешний итератор в прямом порядке (на основе родительских ссылок)
+		for (Iterator<Integer> it = tree.preorderIterator(); it.hasNext(); ) {
+			System.out.print(" " + it.next());
+		}
+		System.out.println();
+
+		// Вырожденное дерево (длинная левая ветвь) обходится без переполнения стека
+		Node<Integer> deepRoot = new Node<Integer>(0);
+		Node<Integer> deepNode = deepRoot;
+		for (int i = 1; i < 1000000; i++) {
+			deepNode = deepNode.addLeft(i);
+		}
+		final long[] sum = { 0 };
+		new BinTree<Integer>(deepRoot).iterateMorris(item -> sum[0] += item);
+		System.out.println(" " + sum[0]);
+
 		// Запускаем параллельный итератор всех узлов, больших единицы (на основе
 		// операций с потоками - Java 8)
 		tree.stream()
 		    .filter(x -> x > 1)
 		    .forEach(x -> System.out.format(" %d", x));
 		System.out.println();
+
+		// Первые пять пар соседних элементов дерева
+		// (на основе операций над разделяемыми итераторами)
+		Spliterator<Integer> pairs = Combinators.zip(
+				tree.spliterator(),
+				Combinators.filter(tree.spliterator(), x -> x > 1),
+				(x, y) -> x * 10 + y);
+		StreamSupport.stream(Combinators.limit(pairs, 5), true)
+		    .forEachOrdered(x -> System.out.format(" %d", x));
+		System.out.println();
 	}
 
 }
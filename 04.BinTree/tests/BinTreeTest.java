@@ -0,0 +1,247 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinTreeTest {
+    private static final int DEEP = 1000000;
+
+    /**
+     * Снимок ссылок всех узлов дерева: после обхода каждая ссылка
+     * должна указывать на тот же самый узел, что и до него.
+     */
+    private static class Links {
+        final List<BinTree.Node<Integer>> nodes = new ArrayList<>();
+        final List<BinTree.Node<Integer>> lefts = new ArrayList<>();
+        final List<BinTree.Node<Integer>> rights = new ArrayList<>();
+        final List<BinTree.Node<Integer>> parents = new ArrayList<>();
+
+        Links(BinTree.Node<Integer> root) {
+            // Без рекурсии: деревья в тестах бывают очень глубокими.
+            Deque<BinTree.Node<Integer>> stack = new ArrayDeque<>();
+            if (root != null) stack.push(root);
+            while (!stack.isEmpty()) {
+                BinTree.Node<Integer> node = stack.pop();
+                nodes.add(node);
+                lefts.add(node.left);
+                rights.add(node.right);
+                parents.add(node.parent);
+                if (node.right != null) stack.push(node.right);
+                if (node.left != null) stack.push(node.left);
+            }
+        }
+
+        void assertRestored() {
+            for (int i = 0; i < nodes.size(); i++) {
+                BinTree.Node<Integer> node = nodes.get(i);
+                assertSame(lefts.get(i), node.left, "Left link of " + node.info);
+                assertSame(rights.get(i), node.right, "Right link of " + node.info);
+                assertSame(parents.get(i), node.parent, "Parent link of " + node.info);
+            }
+        }
+    }
+
+    /**
+     * Дерево 5(3(2(1),4),9(7(6,8),10)) из примера в {@link BinTree#main}.
+     */
+    private static BinTree.Node<Integer> sample() {
+        BinTree.Node<Integer> root = new BinTree.Node<>(5);
+        BinTree.Node<Integer> n3 = root.addLeft(3);
+        BinTree.Node<Integer> n9 = root.addRight(9);
+        n3.addLeft(2).addLeft(1);
+        n3.addRight(4);
+        BinTree.Node<Integer> n7 = n9.addLeft(7);
+        n7.addLeft(6);
+        n7.addRight(8);
+        n9.addRight(10);
+        return root;
+    }
+
+    /**
+     * Цепочка из n узлов 0, 1, ..., n - 1, в которой каждый следующий узел -
+     * левый (left == true) или правый сын предыдущего.
+     */
+    private static BinTree.Node<Integer> chain(int n, boolean left) {
+        BinTree.Node<Integer> root = new BinTree.Node<>(0);
+        BinTree.Node<Integer> node = root;
+        for (int i = 1; i < n; i++) node = left ? node.addLeft(i) : node.addRight(i);
+        return root;
+    }
+
+    /**
+     * Зигзаг: сыновья по очереди левые и правые.
+     */
+    private static BinTree.Node<Integer> zigzag(int n) {
+        BinTree.Node<Integer> root = new BinTree.Node<>(0);
+        BinTree.Node<Integer> node = root;
+        for (int i = 1; i < n; i++) node = i % 2 == 0 ? node.addLeft(i) : node.addRight(i);
+        return root;
+    }
+
+    /**
+     * Несбалансированное дерево поиска из случайных ключей, вставленных без балансировки.
+     */
+    private static BinTree.Node<Integer> random(int n, long seed) {
+        Random random = new Random(seed);
+        BinTree.Node<Integer> root = new BinTree.Node<>(random.nextInt(1000));
+        for (int i = 1; i < n; i++) {
+            int key = random.nextInt(1000);
+            BinTree.Node<Integer> node = root;
+            while (true) {
+                if (key < node.info) {
+                    if (node.left == null) { node.addLeft(key); break; }
+                    node = node.left;
+                } else {
+                    if (node.right == null) { node.addRight(key); break; }
+                    node = node.right;
+                }
+            }
+        }
+        return root;
+    }
+
+    private static List<BinTree.Node<Integer>> trees() {
+        List<BinTree.Node<Integer>> trees = new ArrayList<>(Arrays.asList(
+                null, new BinTree.Node<>(42), sample(),
+                chain(100, true), chain(100, false), zigzag(101)));
+        for (int seed = 0; seed < 20; seed++) trees.add(random(1 + seed * 37, seed));
+        return trees;
+    }
+
+    private static void preorder(BinTree.Node<Integer> node, List<Integer> out) {
+        if (node != null) {
+            out.add(node.info);
+            preorder(node.left, out);
+            preorder(node.right, out);
+        }
+    }
+
+    private static List<Integer> inorder(BinTree<Integer> tree) {
+        List<Integer> out = new ArrayList<>();
+        tree.iterate(out::add);
+        return out;
+    }
+
+    @Test
+    void testMorrisOrder() {
+        List<Integer> out = new ArrayList<>();
+        new BinTree<>(sample()).iterateMorris(out::add);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), out);
+
+        for (BinTree.Node<Integer> root : trees()) {
+            Links links = new Links(root);
+            BinTree<Integer> tree = new BinTree<>(root);
+            out.clear();
+            tree.iterateMorris(out::add);
+            assertEquals(inorder(tree), out);
+            links.assertRestored();
+        }
+    }
+
+    @Test
+    void testMorrisRestoresLinksOnException() {
+        for (BinTree.Node<Integer> root : trees()) {
+            Links links = new Links(root);
+            BinTree<Integer> tree = new BinTree<>(root);
+            List<Integer> expected = inorder(tree);
+            // Исключение на первом, среднем и последнем элементах, а также Error.
+            for (int stop : new int[] { 0, expected.size() / 2, expected.size() - 1 }) {
+                if (stop < 0 || stop >= expected.size()) continue;
+                for (boolean error : new boolean[] { false, true }) {
+                    Throwable thrown = error ? new Error("stop") : new IllegalStateException("stop");
+                    List<Integer> out = new ArrayList<>();
+                    int[] calls = { 0 };
+                    Throwable caught = assertThrows(Throwable.class, () -> tree.iterateMorris(item -> {
+                        if (calls[0]++ == stop) {
+                            if (thrown instanceof Error) throw (Error) thrown;
+                            throw (RuntimeException) thrown;
+                        }
+                        out.add(item);
+                    }));
+                    assertSame(thrown, caught, "Exception must be rethrown as is");
+                    // После исключения действие больше не выполняется.
+                    assertEquals(stop + 1, calls[0]);
+                    assertEquals(expected.subList(0, stop), out);
+                    links.assertRestored();
+                    // Восстановленное дерево обходится полностью.
+                    out.clear();
+                    tree.iterateMorris(out::add);
+                    assertEquals(expected, out);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testPreorderIterator() {
+        List<Integer> out = new ArrayList<>();
+        new BinTree<>(sample()).preorderIterator().forEachRemaining(out::add);
+        assertEquals(Arrays.asList(5, 3, 2, 1, 4, 9, 7, 6, 8, 10), out);
+
+        for (BinTree.Node<Integer> root : trees()) {
+            Links links = new Links(root);
+            List<Integer> expected = new ArrayList<>();
+            preorder(root, expected);
+            Iterator<Integer> iterator = new BinTree<>(root).preorderIterator();
+            out.clear();
+            while (iterator.hasNext()) out.add(iterator.next());
+            assertEquals(expected, out);
+            assertFalse(iterator.hasNext());
+            assertThrows(NoSuchElementException.class, iterator::next);
+            links.assertRestored();
+        }
+        assertFalse(new BinTree<Integer>().preorderIterator().hasNext());
+        assertThrows(UnsupportedOperationException.class,
+                () -> new BinTree<>(sample()).preorderIterator().remove());
+    }
+
+    @Test
+    void testDeepLeftSkewedTree() {
+        BinTree.Node<Integer> root = chain(DEEP, true);
+        Links links = new Links(root);
+        BinTree<Integer> tree = new BinTree<>(root);
+
+        // В симметричном порядке левая цепочка проходится снизу вверх.
+        long[] sum = { 0 };
+        int[] expected = { DEEP - 1 };
+        tree.iterateMorris(item -> {
+            assertEquals(expected[0]--, (int) item);
+            sum[0] += item;
+        });
+        assertEquals(-1, expected[0]);
+        assertEquals((long) DEEP * (DEEP - 1) / 2, sum[0]);
+        links.assertRestored();
+
+        int[] count = { 0 };
+        assertThrows(IllegalStateException.class, () -> tree.iterateMorris(item -> {
+            if (++count[0] == DEEP / 2) throw new IllegalStateException();
+        }));
+        links.assertRestored();
+
+        // Прямой порядок: сверху вниз без рекурсии и стека.
+        Iterator<Integer> iterator = tree.preorderIterator();
+        for (int i = 0; i < DEEP; i++) assertEquals(i, (int) iterator.next());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void testDeepRightSkewedTree() {
+        BinTree.Node<Integer> root = chain(DEEP, false);
+        BinTree<Integer> tree = new BinTree<>(root);
+        int[] expected = { 0 };
+        tree.iterateMorris(item -> assertEquals(expected[0]++, (int) item));
+        assertEquals(DEEP, expected[0]);
+
+        Iterator<Integer> iterator = tree.preorderIterator();
+        for (int i = 0; i < DEEP; i++) assertEquals(i, (int) iterator.next());
+        assertFalse(iterator.hasNext());
+    }
+}
@@ -0,0 +1,24 @@
+package bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Запуск измерений. Аргумент командной строки - регулярное выражение,
+ * выбирающее тесты (по умолчанию запускаются все). Профилировщик GC
+ * добавляет к результатам скорость выделения памяти (gc.alloc.rate.norm -
+ * число байтов на одну операцию), так что рост выделения памяти виден
+ * так же, как и рост времени работы.
+ */
+public class Main {
+	public static void main(String[] args) throws RunnerException {
+		Options options = new OptionsBuilder()
+				.include(args.length > 0 ? args[0] : "bench\\..*")
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+}
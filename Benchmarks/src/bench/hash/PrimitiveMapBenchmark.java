@@ -0,0 +1,127 @@
+package bench.hash;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Сравнение отображений с примитивными ключами IntIntMap и LongObjectMap
+ * со стандартными HashMap&lt;Integer, Integer&gt; и HashMap&lt;Long, Integer&gt;.
+ * Тесты put* заполняют новое отображение (заданного заранее размера, если presized),
+ * тесты get* ищут все ключи в отображении, заполненном при подготовке.
+ * Значения создаются заранее, так что упаковка в HashMap касается только ключей;
+ * разница в выделении памяти видна в gc.alloc.rate.norm (см. {@link bench.Main}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PrimitiveMapBenchmark {
+	@Param({ "1000", "1000000" })
+	int size;
+
+	@Param({ "false", "true" })
+	boolean presized;
+
+	private int[] intKeys;
+	private long[] longKeys;
+	private Integer[] values;
+
+	private Object intIntMap;
+	private Map<Integer, Integer> integerHashMap;
+	private Object longObjectMap;
+	private Map<Long, Integer> longHashMap;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(1);
+		intKeys = new int[size];
+		longKeys = new long[size];
+		values = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			intKeys[i] = random.nextInt();
+			longKeys[i] = random.nextLong();
+			values[i] = i;
+		}
+		intIntMap = putIntIntMap();
+		integerHashMap = putIntegerHashMap();
+		longObjectMap = putLongObjectMap();
+		longHashMap = putLongHashMap();
+	}
+
+	private <K> Map<K, Integer> newHashMap() {
+		// Емкость HashMap задается с учетом коэффициента заполнения 0.75.
+		return presized ? new HashMap<>(size / 3 * 4 + 4) : new HashMap<>();
+	}
+
+	@Benchmark
+	public Object putIntIntMap() {
+		Object map = presized ? PrimitiveMaps.newIntIntMap(size) : PrimitiveMaps.newIntIntMap();
+		for (int i = 0; i < size; i++) PrimitiveMaps.put(map, intKeys[i], i);
+		return map;
+	}
+
+	@Benchmark
+	public Map<Integer, Integer> putIntegerHashMap() {
+		Map<Integer, Integer> map = newHashMap();
+		for (int i = 0; i < size; i++) map.put(intKeys[i], values[i]);
+		return map;
+	}
+
+	@Benchmark
+	public Object putLongObjectMap() {
+		Object map = presized ? PrimitiveMaps.newLongObjectMap(size) : PrimitiveMaps.newLongObjectMap();
+		for (int i = 0; i < size; i++) PrimitiveMaps.put(map, longKeys[i], values[i]);
+		return map;
+	}
+
+	@Benchmark
+	public Map<Long, Integer> putLongHashMap() {
+		Map<Long, Integer> map = newHashMap();
+		for (int i = 0; i < size; i++) map.put(longKeys[i], values[i]);
+		return map;
+	}
+
+	@Benchmark
+	public long getIntIntMap() {
+		long sum = 0;
+		for (int i = 0; i < size; i++) sum += PrimitiveMaps.get(intIntMap, intKeys[i]);
+		return sum;
+	}
+
+	@Benchmark
+	public long getIntegerHashMap() {
+		long sum = 0;
+		for (int i = 0; i < size; i++) sum += integerHashMap.get(intKeys[i]);
+		return sum;
+	}
+
+	@Benchmark
+	public long getLongObjectMap() {
+		long sum = 0;
+		for (int i = 0; i < size; i++) sum += (Integer) PrimitiveMaps.get(longObjectMap, longKeys[i]);
+		return sum;
+	}
+
+	@Benchmark
+	public long getLongHashMap() {
+		long sum = 0;
+		for (int i = 0; i < size; i++) sum += longHashMap.get(longKeys[i]);
+		return sum;
+	}
+}
@@ -0,0 +1,137 @@
+package bench.hash;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Доступ к отображениям IntIntMap и LongObjectMap из модуля 03.HashMaps.
+ * Как и сортировки (см. {@link bench.sorts.Sorts}), эти классы объявлены в пакете
+ * по умолчанию, поэтому из именованного пакета к ним можно обратиться только
+ * через MethodHandle. Типы ссылок приведены к Object, чтобы вызывать их
+ * через invokeExact: вызов через статическую константу JIT-компилятор встраивает
+ * так же, как и прямой вызов, без упаковки аргументов.
+ */
+public final class PrimitiveMaps {
+	private static final MethodHandle NEW_INT_INT_MAP = constructor("IntIntMap",
+			MethodType.methodType(void.class), MethodType.methodType(Object.class));
+	private static final MethodHandle NEW_INT_INT_MAP_SIZED = constructor("IntIntMap",
+			MethodType.methodType(void.class, int.class), MethodType.methodType(Object.class, int.class));
+	private static final MethodHandle INT_PUT = method("IntIntMap", "put",
+			MethodType.methodType(int.class, int.class, int.class),
+			MethodType.methodType(int.class, Object.class, int.class, int.class));
+	private static final MethodHandle INT_GET = method("IntIntMap", "get",
+			MethodType.methodType(int.class, int.class),
+			MethodType.methodType(int.class, Object.class, int.class));
+
+	private static final MethodHandle NEW_LONG_OBJECT_MAP = constructor("LongObjectMap",
+			MethodType.methodType(void.class), MethodType.methodType(Object.class));
+	private static final MethodHandle NEW_LONG_OBJECT_MAP_SIZED = constructor("LongObjectMap",
+			MethodType.methodType(void.class, int.class), MethodType.methodType(Object.class, int.class));
+	private static final MethodHandle LONG_PUT = method("LongObjectMap", "put",
+			MethodType.methodType(Object.class, long.class, Object.class),
+			MethodType.methodType(Object.class, Object.class, long.class, Object.class));
+	private static final MethodHandle LONG_GET = method("LongObjectMap", "get",
+			MethodType.methodType(Object.class, long.class),
+			MethodType.methodType(Object.class, Object.class, long.class));
+
+	private PrimitiveMaps() {}
+
+	/**
+	 * Новое отображение IntIntMap с размером таблицы по умолчанию.
+	 */
+	public static Object newIntIntMap() {
+		try {
+			return (Object) NEW_INT_INT_MAP.invokeExact();
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 * Новое отображение IntIntMap, в которое можно занести expected пар без перехеширования.
+	 */
+	public static Object newIntIntMap(int expected) {
+		try {
+			return (Object) NEW_INT_INT_MAP_SIZED.invokeExact(expected);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	public static int put(Object intIntMap, int key, int value) {
+		try {
+			return (int) INT_PUT.invokeExact(intIntMap, key, value);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	public static int get(Object intIntMap, int key) {
+		try {
+			return (int) INT_GET.invokeExact(intIntMap, key);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 * Новое отображение LongObjectMap с размером таблицы по умолчанию.
+	 */
+	public static Object newLongObjectMap() {
+		try {
+			return (Object) NEW_LONG_OBJECT_MAP.invokeExact();
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 * Новое отображение LongObjectMap, в которое можно занести expected пар без перехеширования.
+	 */
+	public static Object newLongObjectMap(int expected) {
+		try {
+			return (Object) NEW_LONG_OBJECT_MAP_SIZED.invokeExact(expected);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	public static Object put(Object longObjectMap, long key, Object value) {
+		try {
+			return (Object) LONG_PUT.invokeExact(longObjectMap, key, value);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	public static Object get(Object longObjectMap, long key) {
+		try {
+			return (Object) LONG_GET.invokeExact(longObjectMap, key);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	private static RuntimeException rethrow(Throwable e) {
+		if (e instanceof RuntimeException) throw (RuntimeException) e;
+		if (e instanceof Error) throw (Error) e;
+		return new IllegalStateException(e);
+	}
+
+	private static MethodHandle constructor(String className, MethodType type, MethodType erased) {
+		try {
+			return MethodHandles.publicLookup().findConstructor(Class.forName(className), type).asType(erased);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Constructor not found: " + className + type, e);
+		}
+	}
+
+	private static MethodHandle method(String className, String methodName, MethodType type, MethodType erased) {
+		try {
+			return MethodHandles.publicLookup().findVirtual(Class.forName(className), methodName, type).asType(erased);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Map method not found: " + className + "." + methodName, e);
+		}
+	}
+}
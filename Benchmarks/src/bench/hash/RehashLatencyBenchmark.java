@@ -0,0 +1,63 @@
+package bench.hash;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hash.Dictionary;
+
+/**
+ * Распределение времени одной операции put в растущий словарь.
+ * В режиме SampleTime JMH выдает процентили (p0.99, p0.999, ...), в которых
+ * видны задержки на перехеширование: при перестройке таблицы целиком они
+ * растут с размером словаря, при постепенном перехешировании - нет.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgs = { "-Xms2g", "-Xmx2g" })
+public class RehashLatencyBenchmark {
+    // Число разных ключей; после их исчерпания словарь создается заново.
+    private static final int KEYS = 1 << 22;
+
+    @Param({ "false", "true" })
+    boolean incremental;
+
+    private String[] keys;
+    private Dictionary<Integer> dictionary;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUpKeys() {
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) keys[i] = "word" + i;
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        dictionary = new Dictionary<>(incremental);
+        next = 0;
+    }
+
+    @Benchmark
+    public Integer put() {
+        if (next == KEYS) {
+            dictionary = new Dictionary<>(incremental);
+            next = 0;
+        }
+        return dictionary.put(keys[next], next++);
+    }
+}
@@ -0,0 +1,128 @@
+package bench.queues;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import queues.LinkedQueue;
+import queues.SpscArrayQueue;
+
+/**
+ * Пропускная способность передачи элементов от одного потока другому:
+ * SpscArrayQueue (поэлементно и пачками) против LinkedQueue, защищенной
+ * синхронизацией. Результат группы - суммарное число успешных и
+ * неуспешных операций производителя и потребителя; число переданных
+ * элементов показывает счетчик производителя (offer).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SpscQueueBenchmark {
+    private static final int CAPACITY = 1024;
+    private static final int BATCH = 64;
+    private static final Integer ELEMENT = 42;
+
+    @State(Scope.Group)
+    public static class Spsc {
+        SpscArrayQueue<Integer> queue;
+
+        @Setup
+        public void setUp() {
+            queue = new SpscArrayQueue<>(CAPACITY);
+        }
+    }
+
+    /**
+     * LinkedQueue с синхронизацией. Длина очереди ограничена той же емкостью,
+     * иначе при более быстром производителе очередь росла бы без предела.
+     */
+    @State(Scope.Group)
+    public static class Synchronized {
+        final LinkedQueue<Integer> queue = new LinkedQueue<>();
+        int size;
+
+        boolean offer(Integer e) {
+            synchronized (queue) {
+                if (size == CAPACITY) return false;
+                queue.enqueue(e);
+                size++;
+                return true;
+            }
+        }
+
+        Integer poll() {
+            synchronized (queue) {
+                if (size == 0) return null;
+                size--;
+                return queue.dequeue();
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Sink {
+        Consumer<Integer> consumer;
+
+        @Setup
+        public void setUp(Blackhole bh) {
+            consumer = bh::consume;
+        }
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public boolean spscOffer(Spsc s) {
+        return s.queue.offer(ELEMENT);
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public Integer spscPoll(Spsc s) {
+        return s.queue.poll();
+    }
+
+    @Benchmark
+    @Group("spscDrain")
+    @GroupThreads(1)
+    public boolean spscDrainOffer(Spsc s) {
+        return s.queue.offer(ELEMENT);
+    }
+
+    @Benchmark
+    @Group("spscDrain")
+    @GroupThreads(1)
+    public int spscDrain(Spsc s, Sink sink) {
+        return s.queue.drain(sink.consumer, BATCH);
+    }
+
+    @Benchmark
+    @Group("synchronizedLinked")
+    @GroupThreads(1)
+    public boolean linkedOffer(Synchronized s) {
+        return s.offer(ELEMENT);
+    }
+
+    @Benchmark
+    @Group("synchronizedLinked")
+    @GroupThreads(1)
+    public Integer linkedPoll(Synchronized s) {
+        return s.poll();
+    }
+}
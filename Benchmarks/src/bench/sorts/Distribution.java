@@ -0,0 +1,80 @@
+package bench.sorts;
+
+import java.util.Random;
+
+/**
+ * Распределения входных данных для измерения скорости сортировок.
+ */
+public enum Distribution {
+	/** Случайные числа из диапазона, в 10 раз большего длины массива. */
+	RANDOM {
+		@Override
+		int value(int i, int length, Random rnd) {
+			return rnd.nextInt(10 * length);
+		}
+	},
+	/** Уже упорядоченный массив. */
+	SORTED {
+		@Override
+		int value(int i, int length, Random rnd) {
+			return i;
+		}
+	},
+	/** Массив, упорядоченный в обратном порядке. */
+	REVERSED {
+		@Override
+		int value(int i, int length, Random rnd) {
+			return length - i;
+		}
+	},
+	/** Случайные числа, среди которых всего несколько различных. */
+	FEW_UNIQUE {
+		@Override
+		int value(int i, int length, Random rnd) {
+			return rnd.nextInt(8);
+		}
+	},
+	/** Последовательность возрастающих участков одинаковой длины. */
+	SAWTOOTH {
+		@Override
+		int value(int i, int length, Random rnd) {
+			return i % TOOTH;
+		}
+	};
+
+	// Длина одного "зуба" в распределении SAWTOOTH.
+	private static final int TOOTH = 64;
+
+	/**
+	 * Значение i-го элемента массива заданной длины.
+	 */
+	abstract int value(int i, int length, Random rnd);
+
+	/**
+	 * Создает массив целых чисел с данным распределением.
+	 * Генератор инициализируется постоянным значением, так что
+	 * все запуски измеряют одни и те же данные.
+	 * @param length Длина массива
+	 */
+	public int[] ints(int length) {
+		Random rnd = new Random(length);
+		int[] array = new int[length];
+		for (int i = 0; i < length; ++i) {
+			array[i] = value(i, length, rnd);
+		}
+		return array;
+	}
+
+	/**
+	 * Создает массив упакованных целых чисел с данным распределением.
+	 * @param length Длина массива
+	 */
+	public Integer[] boxed(int length) {
+		int[] values = ints(length);
+		Integer[] array = new Integer[length];
+		for (int i = 0; i < length; ++i) {
+			array[i] = values[i];
+		}
+		return array;
+	}
+}
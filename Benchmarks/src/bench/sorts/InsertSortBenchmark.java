@@ -0,0 +1,60 @@
+package bench.sorts;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Сортировка простыми вставками в сравнении с сортировкой слиянием на
+ * коротких массивах, где квадратичная сортировка еще может выигрывать.
+ * По этим результатам подбирается порог перехода к сортировке вставками.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InsertSortBenchmark {
+	@Param({ "8", "32", "128", "1024", "8192" })
+	int length;
+
+	@Param
+	Distribution distribution;
+
+	private Integer[] boxed;
+
+	@Setup
+	public void setUp() {
+		boxed = distribution.boxed(length);
+	}
+
+	@Benchmark
+	public Integer[] copy() {
+		return boxed.clone();
+	}
+
+	@Benchmark
+	public Integer[] insertSort() {
+		Integer[] array = boxed.clone();
+		Sorts.insertSort(array);
+		return array;
+	}
+
+	@Benchmark
+	public Integer[] mergeSort() {
+		Integer[] array = boxed.clone();
+		Sorts.mergeSort(array);
+		return array;
+	}
+}
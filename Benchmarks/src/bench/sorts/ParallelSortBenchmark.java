@@ -0,0 +1,66 @@
+package bench.sorts;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Сравнение двух параллельных сортировок - слиянием и выборкой -
+ * в пулах с разным числом потоков.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ParallelSortBenchmark {
+	@Param({ "1", "4", "16", "64" })
+	int threads;
+
+	@Param({ "1000000", "10000000" })
+	int length;
+
+	@Param({ "RANDOM", "FEW_UNIQUE" })
+	Distribution distribution;
+
+	private Integer[] boxed;
+	private ForkJoinPool pool;
+
+	@Setup
+	public void setUp() {
+		boxed = distribution.boxed(length);
+		pool = new ForkJoinPool(threads);
+	}
+
+	@TearDown
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public Integer[] parallelMergeSort() {
+		Integer[] array = boxed.clone();
+		Sorts.parallelMergeSort(array, pool);
+		return array;
+	}
+
+	@Benchmark
+	public Integer[] parallelSampleSort() {
+		Integer[] array = boxed.clone();
+		Sorts.parallelSampleSort(array, pool);
+		return array;
+	}
+}
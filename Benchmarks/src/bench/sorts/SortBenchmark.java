@@ -0,0 +1,90 @@
+package bench.sorts;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Сравнение сортировок со временем работы O(n log n).
+ * Каждый тест сортирует свежую копию исходного массива; стоимость
+ * копирования отдельно измеряет тест copy, ее можно вычесть из результатов.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SortBenchmark {
+	@Param({ "1000", "100000", "1000000" })
+	int length;
+
+	@Param
+	Distribution distribution;
+
+	private Integer[] boxed;
+	private int[] ints;
+
+	@Setup
+	public void setUp() {
+		boxed = distribution.boxed(length);
+		ints = distribution.ints(length);
+	}
+
+	@Benchmark
+	public Integer[] copy() {
+		return boxed.clone();
+	}
+
+	@Benchmark
+	public Integer[] mergeSort() {
+		Integer[] array = boxed.clone();
+		Sorts.mergeSort(array);
+		return array;
+	}
+
+	@Benchmark
+	public Integer[] adaptiveMergeSort() {
+		Integer[] array = boxed.clone();
+		Sorts.adaptiveMergeSort(array);
+		return array;
+	}
+
+	@Benchmark
+	public Integer[] heapSort() {
+		Integer[] array = boxed.clone();
+		Sorts.heapSort(array);
+		return array;
+	}
+
+	@Benchmark
+	public Integer[] parallelMergeSort() {
+		Integer[] array = boxed.clone();
+		Sorts.parallelMergeSort(array);
+		return array;
+	}
+
+	@Benchmark
+	public int[] radixSort() {
+		int[] array = ints.clone();
+		Sorts.radixSort(array);
+		return array;
+	}
+
+	@Benchmark
+	public int[] countingSort() {
+		int[] array = ints.clone();
+		Sorts.countingSort(array);
+		return array;
+	}
+}
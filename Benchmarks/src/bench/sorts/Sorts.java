@@ -0,0 +1,108 @@
+package bench.sorts;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Доступ к сортировкам из модулей 01.ArraySorts и 09.Heap.
+ * Классы Sort, RadixSort и Heapsort объявлены в пакете по умолчанию,
+ * поэтому из именованного пакета (а JMH требует, чтобы тесты находились
+ * в именованном пакете) к ним можно обратиться только через MethodHandle.
+ * Вызов через статическую константу JIT-компилятор встраивает так же,
+ * как и прямой вызов, так что на результаты измерений он не влияет.
+ */
+public final class Sorts {
+	private static final MethodType OBJECT_SORT =
+			MethodType.methodType(void.class, Comparable[].class);
+	private static final MethodType INT_SORT =
+			MethodType.methodType(void.class, int[].class);
+
+	private static final MethodHandle INSERT_SORT = find("Sort", "insertSort", OBJECT_SORT);
+	private static final MethodHandle MERGE_SORT = find("Sort", "mergeSort", OBJECT_SORT);
+	private static final MethodHandle ADAPTIVE_MERGE_SORT = find("Sort", "adaptiveMergeSort", OBJECT_SORT);
+	private static final MethodHandle HEAP_SORT = find("Heapsort", "sort", OBJECT_SORT);
+	private static final MethodHandle PARALLEL_MERGE_SORT = MethodHandles.insertArguments(
+			find("Sort", "parallelMergeSort",
+					MethodType.methodType(void.class, Object[].class, Comparator.class)),
+			1, Comparator.naturalOrder());
+	private static final MethodHandle PARALLEL_MERGE_SORT_IN_POOL = MethodHandles.insertArguments(
+			find("Sort", "parallelMergeSort", MethodType.methodType(void.class,
+					Object[].class, Comparator.class, int.class, ForkJoinPool.class)),
+			1, Comparator.naturalOrder(), 32);
+	private static final MethodHandle PARALLEL_SAMPLE_SORT_IN_POOL = MethodHandles.insertArguments(
+			find("Sort", "parallelSampleSort", MethodType.methodType(void.class,
+					Object[].class, Comparator.class, ForkJoinPool.class)),
+			1, Comparator.naturalOrder());
+	private static final MethodHandle RADIX_SORT = find("RadixSort", "sort", INT_SORT);
+	private static final MethodHandle COUNTING_SORT = find("RadixSort", "countingSort", INT_SORT);
+
+	private Sorts() {}
+
+	public static void insertSort(Integer[] array) {
+		invoke(INSERT_SORT, array);
+	}
+
+	public static void mergeSort(Integer[] array) {
+		invoke(MERGE_SORT, array);
+	}
+
+	public static void adaptiveMergeSort(Integer[] array) {
+		invoke(ADAPTIVE_MERGE_SORT, array);
+	}
+
+	public static void heapSort(Integer[] array) {
+		invoke(HEAP_SORT, array);
+	}
+
+	public static void parallelMergeSort(Integer[] array) {
+		invoke(PARALLEL_MERGE_SORT, array);
+	}
+
+	public static void parallelMergeSort(Integer[] array, ForkJoinPool pool) {
+		invoke(PARALLEL_MERGE_SORT_IN_POOL, array, pool);
+	}
+
+	public static void parallelSampleSort(Integer[] array, ForkJoinPool pool) {
+		invoke(PARALLEL_SAMPLE_SORT_IN_POOL, array, pool);
+	}
+
+	public static void radixSort(int[] array) {
+		invoke(RADIX_SORT, array);
+	}
+
+	public static void countingSort(int[] array) {
+		invoke(COUNTING_SORT, array);
+	}
+
+	private static void invoke(MethodHandle sort, Object array) {
+		try {
+			sort.invoke(array);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void invoke(MethodHandle sort, Object array, ForkJoinPool pool) {
+		try {
+			sort.invoke(array, pool);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static MethodHandle find(String className, String methodName, MethodType type) {
+		try {
+			return MethodHandles.publicLookup().findStatic(Class.forName(className), methodName, type);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(
+					"Sort method not found: " + className + "." + methodName, e);
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package bench.stacks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import stacks.EliminationStack;
+import stacks.LinkedStack;
+
+/**
+ * Пропускная способность общего стека при разном числе потоков:
+ * EliminationStack против LinkedStack, защищенного синхронизацией.
+ * Каждая операция - пара push и pop, поэтому размер стека не растет.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class StackBenchmark {
+    private static final Integer ELEMENT = 42;
+
+    @State(Scope.Benchmark)
+    public static class Elimination {
+        final EliminationStack<Integer> stack = new EliminationStack<>();
+
+        Integer pushPop() {
+            stack.push(ELEMENT);
+            return stack.pop();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Synchronized {
+        final LinkedStack<Integer> stack = new LinkedStack<>();
+
+        Integer pushPop() {
+            synchronized (stack) {
+                stack.push(ELEMENT);
+            }
+            synchronized (stack) {
+                return stack.pop();
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Integer elimination1(Elimination s) {
+        return s.pushPop();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer elimination4(Elimination s) {
+        return s.pushPop();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Integer elimination16(Elimination s) {
+        return s.pushPop();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Integer synchronized1(Synchronized s) {
+        return s.pushPop();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer synchronized4(Synchronized s) {
+        return s.pushPop();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Integer synchronized16(Synchronized s) {
+        return s.pushPop();
+    }
+}
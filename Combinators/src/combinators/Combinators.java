@@ -0,0 +1,461 @@
+package combinators;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Операции над разделяемыми итераторами ({@link Spliterator}), которые можно
+ * использовать в параллельных потоках (StreamSupport.stream(spliterator, true)):
+ * - concat(s1, s2), concat(list) - соединение разделяемых итераторов
+ * - flatMap(s, mapper) - соединение итераторов, полученных из элементов
+ * - filter(s, predicate) - отбор элементов
+ * - map(s, mapper) - преобразование элементов
+ * - limit(s, n) - первые n элементов
+ * - zip(s1, s2, zipper) - попарное соединение элементов двух итераторов.
+ * Все операции "ленивые": элементы исходных итераторов выбираются только
+ * по мере продвижения результата. Результат делится на части там, где делятся
+ * исходные итераторы, и сохраняет признаки SIZED и SUBSIZED, если размер
+ * результата по-прежнему известен точно.
+ * Модуль используется модулями 03.HashMaps и 04.BinTree.
+ */
+public abstract class Combinators {
+    /**
+     * Соединение двух разделяемых итераторов.
+     * При разделении первой частью становится первый итератор.
+     * @param first  Первый итератор
+     * @param second Второй итератор
+     * @return Итератор, выдающий сначала все элементы первого итератора,
+     *         а потом все элементы второго.
+     */
+    public static <T> Spliterator<T> concat(Spliterator<T> first, Spliterator<T> second) {
+        return new ConcatSpliterator<>(first, second);
+    }
+
+    /**
+     * Соединение списка разделяемых итераторов. Итераторы соединяются
+     * "сбалансированным деревом", так что каждое разделение результата
+     * делит список пополам.
+     * @param parts Соединяемые итераторы
+     * @return Итератор, выдающий по очереди элементы всех итераторов списка.
+     */
+    public static <T> Spliterator<T> concat(List<Spliterator<T>> parts) {
+        return parts.isEmpty() ? Spliterators.<T>emptySpliterator() : concat(parts, 0, parts.size());
+    }
+
+    private static <T> Spliterator<T> concat(List<Spliterator<T>> parts, int from, int to) {
+        if (to - from == 1) return parts.get(from);
+        int middle = (from + to) >>> 1;
+        return concat(concat(parts, from, middle), concat(parts, middle, to));
+    }
+
+    /**
+     * Соединение итераторов, полученных из элементов исходного итератора.
+     * @param source Исходный итератор
+     * @param mapper Функция, выдающая итератор по элементу (null - пустой итератор)
+     * @return Итератор, выдающий по очереди элементы всех полученных итераторов.
+     */
+    public static <T, R> Spliterator<R> flatMap(Spliterator<T> source,
+            Function<? super T, ? extends Spliterator<R>> mapper) {
+        return new FlatMapSpliterator<>(source, mapper);
+    }
+
+    /**
+     * Отбор элементов итератора.
+     * @param source    Исходный итератор
+     * @param predicate Условие отбора
+     * @return Итератор, выдающий элементы, удовлетворяющие условию.
+     */
+    public static <T> Spliterator<T> filter(Spliterator<T> source, Predicate<? super T> predicate) {
+        return new FilterSpliterator<>(source, predicate);
+    }
+
+    /**
+     * Преобразование элементов итератора.
+     * @param source Исходный итератор
+     * @param mapper Функция преобразования
+     * @return Итератор, выдающий результаты применения функции к элементам.
+     */
+    public static <T, R> Spliterator<R> map(Spliterator<T> source, Function<? super T, ? extends R> mapper) {
+        return new MapSpliterator<>(source, mapper);
+    }
+
+    /**
+     * Первые элементы итератора. Результат делится на части,
+     * только если исходный итератор - SUBSIZED.
+     * @param source  Исходный итератор
+     * @param maxSize Наибольшее число элементов
+     * @return Итератор, выдающий не более maxSize первых элементов.
+     */
+    public static <T> Spliterator<T> limit(Spliterator<T> source, long maxSize) {
+        if (maxSize < 0) throw new IllegalArgumentException("Illegal size: " + maxSize);
+        return new LimitSpliterator<>(source, maxSize);
+    }
+
+    /**
+     * Попарное соединение элементов двух итераторов. Итерация заканчивается,
+     * когда заканчивается один из итераторов. Результат делится на части,
+     * только если оба итератора - SUBSIZED.
+     * @param first  Первый итератор
+     * @param second Второй итератор
+     * @param zipper Функция, соединяющая пару элементов
+     * @return Итератор, выдающий результаты применения функции
+     *         к элементам с одинаковыми номерами.
+     */
+    public static <A, B, R> Spliterator<R> zip(Spliterator<A> first, Spliterator<B> second,
+            BiFunction<? super A, ? super B, ? extends R> zipper) {
+        return new ZipSpliterator<>(first, second, zipper);
+    }
+
+    /**
+     * Сумма размеров; при переполнении - Long.MAX_VALUE ("неизвестно").
+     */
+    private static long addSizes(long size1, long size2) {
+        long sum = size1 + size2;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    /**
+     * Выбирает из итератора не более n очередных элементов в массив.
+     * @return Итератор выбранных элементов.
+     */
+    private static <T> Spliterator<T> take(Spliterator<T> source, long n) {
+        List<T> buffer = new ArrayList<>((int) Math.min(n, 1024));
+        while (buffer.size() < n && source.tryAdvance(buffer::add)) {}
+        return buffer.spliterator();
+    }
+
+    private static final class ConcatSpliterator<T> implements Spliterator<T> {
+        // Первый итератор; null, если он отделен или пройден.
+        private Spliterator<T> first;
+        private final Spliterator<T> second;
+        private int characteristics;
+
+        ConcatSpliterator(Spliterator<T> first, Spliterator<T> second) {
+            this.first = first;
+            this.second = second;
+            characteristics = first.characteristics() & second.characteristics() & ~(DISTINCT | SORTED);
+            if (addSizes(first.estimateSize(), second.estimateSize()) == Long.MAX_VALUE) {
+                characteristics &= ~(SIZED | SUBSIZED);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (first != null) {
+                if (first.tryAdvance(action)) return true;
+                first = null;
+            }
+            return second.tryAdvance(action);
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (first != null) {
+                first.forEachRemaining(action);
+                first = null;
+            }
+            second.forEachRemaining(action);
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (first == null) return second.trySplit();
+            Spliterator<T> prefix = first;
+            first = null;
+            characteristics = second.characteristics();
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return first == null ? second.estimateSize() : addSizes(first.estimateSize(), second.estimateSize());
+        }
+
+        @Override
+        public int characteristics() {
+            return characteristics;
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            if (first == null) return second.getComparator();
+            throw new IllegalStateException();
+        }
+    }
+
+    private static final class FlatMapSpliterator<T, R> implements Spliterator<R> {
+        private final Spliterator<T> source;
+        private final Function<? super T, ? extends Spliterator<R>> mapper;
+        // Итератор, полученный из последнего выбранного элемента.
+        private Spliterator<R> current;
+
+        FlatMapSpliterator(Spliterator<T> source, Function<? super T, ? extends Spliterator<R>> mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        /**
+         * Переход к итератору следующего элемента.
+         * @return false, если исходный итератор пройден.
+         */
+        private boolean advanceSource() {
+            return source.tryAdvance(item -> current = mapper.apply(item));
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            do {
+                if (current != null) {
+                    if (current.tryAdvance(action)) return true;
+                    current = null;
+                }
+            } while (advanceSource());
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super R> action) {
+            if (current != null) {
+                current.forEachRemaining(action);
+                current = null;
+            }
+            source.forEachRemaining(item -> {
+                Spliterator<R> part = mapper.apply(item);
+                if (part != null) part.forEachRemaining(action);
+            });
+        }
+
+        @Override
+        public Spliterator<R> trySplit() {
+            Spliterator<T> prefix = source.trySplit();
+            if (prefix != null) {
+                Spliterator<R> head = new FlatMapSpliterator<>(prefix, mapper);
+                // Начатый итератор предшествует всем элементам отделенной части.
+                if (current != null) {
+                    head = concat(current, head);
+                    current = null;
+                }
+                return head;
+            }
+            // Исходный итератор не делится: делим итератор очередного элемента.
+            if (current == null && !advanceSource()) return null;
+            return current == null ? null : current.trySplit();
+        }
+
+        @Override
+        public long estimateSize() {
+            // Размер неизвестен; в качестве оценки используется число оставшихся
+            // исходных элементов, чтобы результат делился так же, как исходный итератор.
+            return current == null ? source.estimateSize() : addSizes(source.estimateSize(), current.estimateSize());
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ORDERED;
+        }
+    }
+
+    private static final class FilterSpliterator<T> implements Spliterator<T> {
+        private final Spliterator<T> source;
+        private final Predicate<? super T> predicate;
+        // Последний выбранный из исходного итератора элемент.
+        private T item;
+
+        FilterSpliterator(Spliterator<T> source, Predicate<? super T> predicate) {
+            this.source = source;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (source.tryAdvance(element -> item = element)) {
+                T element = item;
+                item = null;
+                if (predicate.test(element)) {
+                    action.accept(element);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            source.forEachRemaining(element -> {
+                if (predicate.test(element)) action.accept(element);
+            });
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            Spliterator<T> prefix = source.trySplit();
+            return prefix == null ? null : new FilterSpliterator<>(prefix, predicate);
+        }
+
+        @Override
+        public long estimateSize() {
+            // Оценка сверху.
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~(SIZED | SUBSIZED);
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            return source.getComparator();
+        }
+    }
+
+    private static final class MapSpliterator<T, R> implements Spliterator<R> {
+        private final Spliterator<T> source;
+        private final Function<? super T, ? extends R> mapper;
+
+        MapSpliterator(Spliterator<T> source, Function<? super T, ? extends R> mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            return source.tryAdvance(item -> action.accept(mapper.apply(item)));
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super R> action) {
+            source.forEachRemaining(item -> action.accept(mapper.apply(item)));
+        }
+
+        @Override
+        public Spliterator<R> trySplit() {
+            Spliterator<T> prefix = source.trySplit();
+            return prefix == null ? null : new MapSpliterator<>(prefix, mapper);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~(DISTINCT | SORTED | NONNULL);
+        }
+    }
+
+    private static final class LimitSpliterator<T> implements Spliterator<T> {
+        private Spliterator<T> source;
+        // Сколько элементов еще можно выдать.
+        private long remaining;
+
+        LimitSpliterator(Spliterator<T> source, long remaining) {
+            this.source = source;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (remaining == 0 || !source.tryAdvance(action)) return false;
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if ((source.characteristics() & SUBSIZED) == 0) return null;
+            while (remaining > 0) {
+                Spliterator<T> prefix = source.trySplit();
+                if (prefix == null) return null;
+                long size = prefix.estimateSize();
+                if (size < remaining) {
+                    remaining -= size;
+                    return prefix;
+                }
+                // Все оставшиеся элементы - в отделенной части, остаток не нужен.
+                source = prefix;
+            }
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Math.min(source.estimateSize(), remaining);
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics();
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            return source.getComparator();
+        }
+    }
+
+    private static final class ZipSpliterator<A, B, R> implements Spliterator<R> {
+        private Spliterator<A> first;
+        private Spliterator<B> second;
+        private final BiFunction<? super A, ? super B, ? extends R> zipper;
+        // Последний выбранный из первого итератора элемент.
+        private A item;
+
+        ZipSpliterator(Spliterator<A> first, Spliterator<B> second,
+                BiFunction<? super A, ? super B, ? extends R> zipper) {
+            this.first = first;
+            this.second = second;
+            this.zipper = zipper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            if (!first.tryAdvance(element -> item = element)) return false;
+            A element = item;
+            item = null;
+            return second.tryAdvance(other -> action.accept(zipper.apply(element, other)));
+        }
+
+        @Override
+        public Spliterator<R> trySplit() {
+            if ((first.characteristics() & second.characteristics() & SUBSIZED) == 0) return null;
+            Spliterator<A> prefix1 = first.trySplit();
+            if (prefix1 == null) return null;
+            long size1 = prefix1.estimateSize();
+            Spliterator<B> prefix2 = second.trySplit();
+            long size2 = prefix2 == null ? 0 : prefix2.estimateSize();
+            // Итераторы могут разделиться в разных местах: тогда меньшая часть
+            // остается, а начало большей части копируется в массив.
+            if (prefix2 == null) {
+                prefix2 = take(second, size1);
+            } else if (size2 > size1) {
+                Spliterator<B> head = take(prefix2, size1);
+                second = concat(prefix2, second);
+                prefix2 = head;
+            } else if (size2 < size1) {
+                Spliterator<A> head = take(prefix1, size2);
+                first = concat(prefix1, first);
+                prefix1 = head;
+            }
+            return new ZipSpliterator<>(prefix1, prefix2, zipper);
+        }
+
+        @Override
+        public long estimateSize() {
+            return Math.min(first.estimateSize(), second.estimateSize());
+        }
+
+        @Override
+        public int characteristics() {
+            return first.characteristics() & second.characteristics() & (ORDERED | SIZED | SUBSIZED);
+        }
+    }
+}
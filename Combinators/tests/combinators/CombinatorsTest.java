@@ -0,0 +1,230 @@
+package combinators;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CombinatorsTest {
+    private static final int SIZE_FLAGS = Spliterator.SIZED | Spliterator.SUBSIZED;
+
+    private static List<Integer> range(int from, int to) {
+        return IntStream.range(from, to).boxed().collect(Collectors.toList());
+    }
+
+    /**
+     * Исходные списки: пустой, из одного элемента и длинные, чтобы параллельный
+     * поток действительно делил итераторы на части.
+     */
+    private static List<List<Integer>> sources() {
+        return Arrays.asList(range(0, 0), range(5, 6), range(0, 1000), range(-5000, 5000));
+    }
+
+    /**
+     * Разделяемый итератор без размера и без возможности деления.
+     */
+    private static Spliterator<Integer> unsized(List<Integer> list) {
+        return Spliterators.spliteratorUnknownSize(list.iterator(), Spliterator.ORDERED);
+    }
+
+    private static <T> List<T> parallel(Spliterator<T> spliterator) {
+        return StreamSupport.stream(spliterator, true).collect(Collectors.toList());
+    }
+
+    private static int sizeFlags(Spliterator<?> spliterator) {
+        return spliterator.characteristics() & SIZE_FLAGS;
+    }
+
+    /**
+     * Делит итератор рекурсивно до заданной глубины и проверяет, что части вместе
+     * выдают ожидаемые элементы по порядку, а части с признаком SIZED - ровно
+     * столько элементов, сколько сообщает estimateSize. У частей итератора
+     * с признаком SUBSIZED должны быть признаки SIZED и SUBSIZED.
+     */
+    private static <T> void checkSplits(Spliterator<T> spliterator, List<T> expected) {
+        List<T> actual = new ArrayList<>();
+        split(spliterator, 6, actual);
+        assertEquals(expected, actual);
+    }
+
+    private static <T> void split(Spliterator<T> spliterator, int depth, List<T> out) {
+        boolean subsized = spliterator.hasCharacteristics(Spliterator.SUBSIZED);
+        long size = spliterator.hasCharacteristics(Spliterator.SIZED) ? spliterator.getExactSizeIfKnown() : -1;
+        int start = out.size();
+        Spliterator<T> prefix = depth > 0 ? spliterator.trySplit() : null;
+        if (prefix != null) {
+            if (subsized) {
+                assertEquals(SIZE_FLAGS, sizeFlags(prefix), "Prefix of a SUBSIZED spliterator");
+                assertEquals(SIZE_FLAGS, sizeFlags(spliterator), "Suffix of a SUBSIZED spliterator");
+            }
+            split(prefix, depth - 1, out);
+            split(spliterator, depth - 1, out);
+        } else {
+            spliterator.forEachRemaining(out::add);
+        }
+        if (size >= 0) assertEquals(size, out.size() - start, "Wrong exact size");
+    }
+
+    @Test
+    void testConcat() {
+        for (List<Integer> a : sources()) {
+            for (List<Integer> b : sources()) {
+                List<Integer> expected = Stream.concat(a.parallelStream(), b.parallelStream())
+                        .collect(Collectors.toList());
+                assertEquals(expected, parallel(Combinators.concat(a.spliterator(), b.spliterator())));
+                Spliterator<Integer> s = Combinators.concat(a.spliterator(), b.spliterator());
+                Spliterator<Integer> reference = Stream.concat(a.parallelStream(), b.parallelStream()).spliterator();
+                assertEquals(sizeFlags(reference), sizeFlags(s));
+                assertEquals(reference.estimateSize(), s.estimateSize());
+                checkSplits(Combinators.concat(a.spliterator(), b.spliterator()), expected);
+
+                // Без размера у одного из итераторов размер соединения неизвестен.
+                s = Combinators.concat(a.spliterator(), unsized(b));
+                assertEquals(0, sizeFlags(s));
+                assertEquals(expected, parallel(s));
+            }
+        }
+    }
+
+    @Test
+    void testConcatList() {
+        List<List<Integer>> lists = new ArrayList<>();
+        for (int i = 0; i < 37; i++) lists.add(range(i * 100, i * 100 + i));
+        for (int n : new int[] { 0, 1, 2, 5, 37 }) {
+            List<Spliterator<Integer>> parts = new ArrayList<>();
+            for (List<Integer> list : lists.subList(0, n)) parts.add(list.spliterator());
+            List<Integer> expected = lists.subList(0, n).parallelStream()
+                    .flatMap(List::stream).collect(Collectors.toList());
+            Spliterator<Integer> s = Combinators.concat(parts);
+            assertEquals(SIZE_FLAGS, sizeFlags(s));
+            assertEquals(expected.size(), s.estimateSize());
+            assertEquals(expected, parallel(s));
+
+            parts.clear();
+            for (List<Integer> list : lists.subList(0, n)) parts.add(list.spliterator());
+            checkSplits(Combinators.concat(parts), expected);
+        }
+    }
+
+    @Test
+    void testFlatMap() {
+        List<List<Integer>> nested = new ArrayList<>();
+        for (int i = 0; i < 300; i++) nested.add(i % 7 == 0 ? null : range(i, i + i % 13));
+        List<Integer> expected = nested.parallelStream()
+                .flatMap(list -> list == null ? null : list.stream()).collect(Collectors.toList());
+        Spliterator<Integer> s = Combinators.flatMap(nested.spliterator(),
+                list -> list == null ? null : list.spliterator());
+        Spliterator<Integer> reference = nested.parallelStream()
+                .flatMap(list -> list == null ? null : list.stream()).spliterator();
+        assertEquals(sizeFlags(reference), sizeFlags(s));
+        assertEquals(expected, parallel(s));
+        checkSplits(Combinators.flatMap(nested.spliterator(), list -> list == null ? null : list.spliterator()),
+                expected);
+        // Исходный итератор не делится: делится уже начатый внутренний итератор.
+        List<List<Integer>> one = Collections.singletonList(range(0, 5000));
+        checkSplits(Combinators.flatMap(unsized(Arrays.asList(0)), x -> one.get(x).spliterator()), one.get(0));
+        assertEquals(Collections.emptyList(), parallel(Combinators.flatMap(
+                range(0, 0).spliterator(), x -> range(0, 10).spliterator())));
+    }
+
+    @Test
+    void testFilter() {
+        for (List<Integer> list : sources()) {
+            List<Integer> expected = list.parallelStream().filter(x -> x % 3 == 0).collect(Collectors.toList());
+            Spliterator<Integer> s = Combinators.filter(list.spliterator(), x -> x % 3 == 0);
+            Spliterator<Integer> reference = list.parallelStream().filter(x -> x % 3 == 0).spliterator();
+            assertEquals(sizeFlags(reference), sizeFlags(s));
+            assertTrue(s.estimateSize() >= expected.size());
+            assertEquals(expected, parallel(s));
+            checkSplits(Combinators.filter(list.spliterator(), x -> x % 3 == 0), expected);
+        }
+    }
+
+    @Test
+    void testMap() {
+        for (List<Integer> list : sources()) {
+            List<String> expected = list.parallelStream().map(x -> "#" + x).collect(Collectors.toList());
+            Spliterator<String> s = Combinators.map(list.spliterator(), x -> "#" + x);
+            Spliterator<String> reference = list.parallelStream().map(x -> "#" + x).spliterator();
+            assertEquals(sizeFlags(reference), sizeFlags(s));
+            assertEquals(reference.estimateSize(), s.estimateSize());
+            assertEquals(expected, parallel(s));
+            checkSplits(Combinators.map(list.spliterator(), x -> "#" + x), expected);
+        }
+    }
+
+    @Test
+    void testLimit() {
+        for (List<Integer> list : sources()) {
+            for (long n : new long[] { 0, 1, 10, list.size() - 1, list.size(), list.size() + 10L, Long.MAX_VALUE }) {
+                if (n < 0) continue;
+                List<Integer> expected = list.parallelStream().limit(n).collect(Collectors.toList());
+                // Размер результата известен точно: признаки SIZED и SUBSIZED сохраняются
+                // (поток java.util.stream после limit может их и не сообщать).
+                Spliterator<Integer> s = Combinators.limit(list.spliterator(), n);
+                assertEquals(SIZE_FLAGS, sizeFlags(s));
+                assertEquals(expected.size(), s.estimateSize());
+                assertEquals(expected, parallel(s));
+                checkSplits(Combinators.limit(list.spliterator(), n), expected);
+
+                s = Combinators.limit(unsized(list), n);
+                assertEquals(0, sizeFlags(s));
+                assertEquals(expected, parallel(s));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> Combinators.limit(range(0, 1).spliterator(), -1));
+    }
+
+    @Test
+    void testZip() {
+        // Итераторы делятся в разных местах: второй - соединение списков разной длины.
+        List<Integer> second = parallel(secondSpliterator(0));
+        for (List<Integer> first : sources()) {
+            int n = Math.min(first.size(), second.size());
+            List<String> expected = IntStream.range(0, n).parallel()
+                    .mapToObj(i -> first.get(i) + ":" + second.get(i)).collect(Collectors.toList());
+            Spliterator<String> reference = IntStream.range(0, n).parallel()
+                    .mapToObj(i -> first.get(i) + ":" + second.get(i)).spliterator();
+            for (int variant = 0; variant < 2; variant++) {
+                Spliterator<String> s = Combinators.zip(first.spliterator(), secondSpliterator(variant),
+                        (x, y) -> x + ":" + y);
+                assertEquals(sizeFlags(reference), sizeFlags(s));
+                assertEquals(reference.estimateSize(), s.estimateSize());
+                assertEquals(expected, parallel(s));
+                checkSplits(Combinators.zip(first.spliterator(), secondSpliterator(variant),
+                        (x, y) -> x + ":" + y), expected);
+            }
+            Spliterator<String> s = Combinators.zip(unsized(first), secondSpliterator(0), (x, y) -> x + ":" + y);
+            assertEquals(0, sizeFlags(s));
+            assertEquals(expected, parallel(s));
+            s = Combinators.zip(first.spliterator(), unsized(second), (x, y) -> x + ":" + y);
+            assertEquals(0, sizeFlags(s));
+            assertEquals(expected, parallel(s));
+        }
+    }
+
+    /**
+     * Элементы второго итератора для zip: 0 - один список, 1 - соединение списков
+     * разной длины (делится по границам списков).
+     */
+    private static Spliterator<Integer> secondSpliterator(int variant) {
+        List<Integer> all = new ArrayList<>();
+        List<Spliterator<Integer>> parts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            List<Integer> part = range(1000 * i, 1000 * i + i * i * 17);
+            all.addAll(part);
+            parts.add(part.spliterator());
+        }
+        return variant == 0 ? all.spliterator() : Combinators.concat(parts);
+    }
+}